@@ -14,10 +14,12 @@ import javax.annotation.Nonnull;
 public final class FiberId {
 	private final String domain;
 	private final String name;
+	private final int hash;
 
 	public FiberId(@Nonnull String domain, @Nonnull String name) {
 		this.domain = domain;
 		this.name = name;
+		this.hash = Objects.hash(domain, name);
 	}
 
 	public String getName() {
@@ -44,11 +46,11 @@ public final class FiberId {
 		}
 
 		FiberId fiberId = (FiberId) o;
-		return domain.equals(fiberId.domain) && name.equals(fiberId.name);
+		return hash == fiberId.hash && domain.equals(fiberId.domain) && name.equals(fiberId.name);
 	}
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(domain, name);
+		return hash;
 	}
 }
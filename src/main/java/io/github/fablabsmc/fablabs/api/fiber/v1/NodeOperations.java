@@ -5,9 +5,11 @@ import java.util.Iterator;
 import io.github.fablabsmc.fablabs.api.fiber.v1.exception.DuplicateChildException;
 import io.github.fablabsmc.fablabs.api.fiber.v1.exception.RuntimeFiberException;
 import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigBranch;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigLeaf;
 import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigNode;
 import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigTree;
 import io.github.fablabsmc.fablabs.api.fiber.v1.tree.Property;
+import io.github.fablabsmc.fablabs.impl.fiber.tree.ConfigLeafImpl;
 
 /**
  * Static utility class for operations on {@link ConfigNode} objects.
@@ -57,7 +59,26 @@ public class NodeOperations {
 		}
 	}
 
+	/**
+	 * Copies the value of a {@code Property} to another.
+	 *
+	 * <p>If both properties are leaves and the type of {@code to} is assignable from
+	 * the type of {@code from}, the value is copied without being checked again.
+	 *
+	 * @param from The property to read the value from.
+	 * @param to   The property to which the value is written.
+	 * @param <T>  The type of values held by both properties.
+	 */
 	public static <T> void copyValue(Property<T> from, Property<T> to) {
+		if (from instanceof ConfigLeaf && to instanceof ConfigLeafImpl) {
+			ConfigLeafImpl<T> leaf = (ConfigLeafImpl<T>) to;
+
+			if (leaf.getConfigType().isAssignableFrom(((ConfigLeaf<T>) from).getConfigType())) {
+				leaf.setValidatedValue(from.getValue());
+				return;
+			}
+		}
+
 		to.setValue(from.getValue());
 	}
 }
@@ -12,6 +12,7 @@ import io.github.fablabsmc.fablabs.api.fiber.v1.exception.FiberException;
 import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.derived.ConfigType;
 import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigBranch;
 import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigTree;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ListenerDispatcher;
 import io.github.fablabsmc.fablabs.impl.fiber.annotation.AnnotatedSettingsBuilderImpl;
 
 /**
@@ -55,6 +56,59 @@ public interface AnnotatedSettings {
 	 */
 	<P> void applyToNode(ConfigTree mergeTo, P pojo) throws FiberException;
 
+	/**
+	 * Creates a typed view of the leaves of a config tree, implementing the given interface.
+	 *
+	 * <p>Each abstract method of {@code viewInterface} must be either a getter or a setter.
+	 * A getter takes no parameter, and is named {@code getName}, {@code isName} or {@code name}.
+	 * A setter takes a single parameter, returns {@code void} or {@code boolean}, and is named {@code setName}.
+	 * The name of the mirrored leaf is derived from {@code name} using the naming convention of these settings,
+	 * or the one specified by {@link Settings @Settings} on the interface, and the leaf's type
+	 * from the method's return or parameter type using the registered type mappings and constraint annotations,
+	 * as for fields of POJOs. Boolean setters return the result of {@link io.github.fablabsmc.fablabs.api.fiber.v1.tree.Property#setValue(Object)}.
+	 *
+	 * <p>The returned view is an instance of a class generated once per interface, whose methods
+	 * directly invoke the {@linkplain io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigLeaf#getValueHandle() value handles}
+	 * of the viewed leaves, with no reflection or boxing of arguments. Default methods are left as is.
+	 * Views register no listener on the tree.
+	 *
+	 * <p>The default implementation delegates to {@link #DEFAULT_SETTINGS}, using its naming convention and type mappings.
+	 *
+	 * @param viewInterface a public interface
+	 * @param tree          the tree holding the mirrored leaves
+	 * @param <V>           the type of the view
+	 * @return a view of {@code tree}
+	 * @throws FiberException if {@code viewInterface} is not a public interface, if one of its methods is
+	 *                        neither a getter nor a setter, or if a leaf is missing or has the wrong type
+	 */
+	default <V> V makeView(Class<V> viewInterface, ConfigTree tree) throws FiberException {
+		return DEFAULT_SETTINGS.makeView(viewInterface, tree);
+	}
+
+	/**
+	 * Creates immutable snapshots of a config tree, as instances of a settings class.
+	 *
+	 * <p>Unlike the POJO used to {@linkplain #applyToNode(ConfigTree, Object) create} a tree,
+	 * whose fields are updated one by one as the tree changes, snapshots are new instances of the settings class,
+	 * created after each change and published atomically. See {@link SettingsSnapshot} for the consistency
+	 * of snapshots taken while the tree is written concurrently. Settings and groups are matched
+	 * to the nodes of {@code tree} the same way {@link #applyToNode(ConfigTree, Object)} creates them.
+	 * The settings class, and the class of each group, must have a no-arg constructor.
+	 *
+	 * <p>The default implementation delegates to {@link #DEFAULT_SETTINGS}, using its naming convention and type mappings.
+	 *
+	 * @param pojo an instance of the settings class, used to find settings and groups
+	 * @param tree the tree to take snapshots of
+	 * @param <P>  the type of the settings class
+	 * @return a snapshot source publishing new instances until {@linkplain SettingsSnapshot#close() closed}
+	 * @throws FiberException if a setting or group has no matching node in {@code tree},
+	 *                        or a class cannot be instantiated
+	 * @throws IllegalArgumentException if {@code tree} does not {@linkplain ConfigBranch#addSubtreeListener(io.github.fablabsmc.fablabs.api.fiber.v1.tree.SubtreeListener) support subtree listeners}
+	 */
+	default <P> SettingsSnapshot<P> makeSnapshot(P pojo, ConfigBranch tree) throws FiberException {
+		return DEFAULT_SETTINGS.makeSnapshot(pojo, tree);
+	}
+
 	interface Builder {
 		AnnotatedSettings.Builder apply(Consumer<AnnotatedSettings.Builder> configuration);
 
@@ -75,6 +129,27 @@ public interface AnnotatedSettings {
 
 		AnnotatedSettings.Builder collectMembersWith(MemberCollector collector);
 
+		/**
+		 * Specifies how methods and fields annotated with {@link Listener} are called.
+		 *
+		 * <p>All listeners for a given setting are dispatched together, in declaration order.
+		 * The setting field itself is always updated synchronously, before listeners are dispatched.
+		 * By default, listeners are called {@linkplain ListenerDispatcher#synchronous() synchronously}.
+		 *
+		 * <p>The default implementation accepts the {@linkplain ListenerDispatcher#synchronous() synchronous} dispatcher,
+		 * which is already the default policy, and throws an {@link UnsupportedOperationException} for any other.
+		 *
+		 * @param dispatcher the dispatch policy for listeners
+		 * @return {@code this}, for chaining
+		 * @throws UnsupportedOperationException if this builder only supports synchronous listeners
+		 *                                       and {@code dispatcher} is another policy
+		 */
+		default AnnotatedSettings.Builder dispatchListenersWith(ListenerDispatcher dispatcher) {
+			if (dispatcher == ListenerDispatcher.synchronous()) return this;
+
+			throw new UnsupportedOperationException("Listener dispatchers other than synchronous are not supported by " + this.getClass().getName());
+		}
+
 		/**
 		 * Registers a <em>type mapping</em> from a Java type to a {@link ConfigType}.
 		 * Fields of the given type in POJOs are mapped to nodes storing values of the
@@ -0,0 +1,35 @@
+package io.github.fablabsmc.fablabs.api.fiber.v1.annotation;
+
+/**
+ * A consistent, read-only copy of the values of a config tree, held in an instance of a settings class.
+ *
+ * <p>Every time the tree is changed, or once per {@linkplain io.github.fablabsmc.fablabs.api.fiber.v1.tree.ChangeBatch batch}
+ * of changes, a new instance of the settings class is created, filled with the current values of the tree,
+ * and published as the new {@linkplain #get() current snapshot}. Instances are never modified once published,
+ * so readers on any thread see all the values of a published snapshot, without locking.
+ *
+ * <p>Values are read from the tree one leaf at a time. A snapshot is read again if the
+ * {@linkplain io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigBranch#getVersion() version} of the tree changed meanwhile,
+ * but a write racing with the last read may still be published along with older values of other leaves,
+ * or a snapshot may be published after a bounded number of attempts under constant writes.
+ * Such a snapshot is always replaced once the listeners of the racing change are notified.
+ *
+ * @param <P> the type of the settings class
+ * @see AnnotatedSettings#makeSnapshot(Object, io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigBranch)
+ */
+public interface SettingsSnapshot<P> extends AutoCloseable {
+	/**
+	 * Returns the latest published snapshot.
+	 *
+	 * <p>The returned instance must not be modified.
+	 *
+	 * @return an instance of the settings class holding the current values of the tree
+	 */
+	P get();
+
+	/**
+	 * Stops publishing new snapshots. The last published snapshot stays available.
+	 */
+	@Override
+	void close();
+}
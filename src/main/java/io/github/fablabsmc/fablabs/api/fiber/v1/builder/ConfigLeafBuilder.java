@@ -15,6 +15,7 @@ import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.derived.ConfigType;
 import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigAttribute;
 import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigLeaf;
 import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigTree;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ListenerDispatcher;
 import io.github.fablabsmc.fablabs.impl.fiber.builder.ConfigNodeBuilder;
 import io.github.fablabsmc.fablabs.impl.fiber.tree.ConfigLeafImpl;
 
@@ -152,6 +153,21 @@ public class ConfigLeafBuilder<T, R> extends ConfigNodeBuilder {
 		return this;
 	}
 
+	/**
+	 * Adds a listener to the {@code ConfigLeaf}, called according to the given dispatch policy.
+	 *
+	 * <p>Values are converted to the runtime type in the thread changing the leaf's value,
+	 * then handed to the {@code dispatcher}.
+	 *
+	 * @param dispatcher the policy deciding how the listener is called
+	 * @param consumer   the listener
+	 * @return {@code this} builder
+	 * @see #withListener(BiConsumer)
+	 */
+	public ConfigLeafBuilder<T, R> withListener(ListenerDispatcher dispatcher, BiConsumer<R, R> consumer) {
+		return this.withListener(dispatcher.dispatch(consumer));
+	}
+
 	/**
 	 * Sets the default value.
 	 *
@@ -185,8 +201,9 @@ public class ConfigLeafBuilder<T, R> extends ConfigNodeBuilder {
 			throw new RuntimeFiberException("Default value '" + this.defaultValue + "' does not satisfy constraints on type " + this.type);
 		}
 
-		ConfigLeaf<T> built = new ConfigLeafImpl<>(Objects.requireNonNull(name, "Cannot build a value without a name"), type, comment, defaultValue, consumer);
-		built.getAttributes().putAll(this.attributes);
+		// the default value has just been validated, no need to check it again
+		ConfigLeaf<T> built = ConfigLeafImpl.createValidated(Objects.requireNonNull(name, "Cannot build a value without a name"), type, comment, defaultValue, consumer);
+		if (!this.attributes.isEmpty()) built.getAttributes().putAll(this.attributes);
 
 		if (parent != null) {
 			// We don't know what kind of evil collection we're about to add a node to.
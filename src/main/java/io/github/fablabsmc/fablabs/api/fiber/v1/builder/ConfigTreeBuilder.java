@@ -366,7 +366,8 @@ public class ConfigTreeBuilder extends ConfigNodeBuilder implements ConfigTree {
 	 * @see ConfigTypes
 	 */
 	public <R, S> ConfigTreeBuilder withValue(@Nonnull String name, @Nonnull ConfigType<R, S, ?> type, @Nullable R defaultValue) {
-		this.items.add(new ConfigLeafImpl<>(name, type.getSerializedType(), null, type.toSerializedType(defaultValue), (a, b) -> {
+		// toSerializedType already validates the converted value
+		this.items.add(ConfigLeafImpl.createValidated(name, type.getSerializedType(), null, type.toSerializedType(defaultValue), (a, b) -> {
 		}));
 		return this;
 	}
@@ -448,7 +449,7 @@ public class ConfigTreeBuilder extends ConfigNodeBuilder implements ConfigTree {
 	public ConfigBranch build() throws RuntimeFiberException {
 		try {
 			ConfigBranch built = new ConfigBranchImpl(this.name, this.comment, this.items, this.serializeSeparately);
-			built.getAttributes().putAll(this.attributes);
+			if (!this.attributes.isEmpty()) built.getAttributes().putAll(this.attributes);
 
 			if (this.parent != null) {
 				assert name != null;
@@ -0,0 +1,66 @@
+package io.github.fablabsmc.fablabs.api.fiber.v1.exception;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Thrown when one or more files of a {@link io.github.fablabsmc.fablabs.api.fiber.v1.serialization.BulkLoader}
+ * could not be loaded. Files that loaded successfully have still been applied to their trees.
+ *
+ * <p>Each failure is an {@link java.io.IOException}, a {@link ValueDeserializationException},
+ * or a {@link RuntimeException} thrown while parsing or applying the file.
+ * Failures are also attached to this exception as {@linkplain #getSuppressed() suppressed exceptions}.
+ */
+public class BulkLoadException extends FiberException {
+	private static final long serialVersionUID = 2L;
+
+	// paths are not serializable; the causes survive as suppressed exceptions
+	private final transient List<Failure> failures;
+
+	public BulkLoadException(List<Failure> failures) {
+		super("Failed to load " + failures.size() + " config file(s): " + failures);
+		this.failures = Collections.unmodifiableList(new ArrayList<>(failures));
+
+		for (Failure failure : this.failures) {
+			this.addSuppressed(failure.getException());
+		}
+	}
+
+	/**
+	 * The loads that failed, in the order they were added to the loader.
+	 * A file added several times has one entry per failed load.
+	 *
+	 * <p>This list is empty if this exception was deserialized.
+	 */
+	public List<Failure> getFailures() {
+		return this.failures != null ? this.failures : Collections.emptyList();
+	}
+
+	/**
+	 * A file that could not be loaded, along with the reason it could not be loaded.
+	 */
+	public static final class Failure {
+		private final Path path;
+		private final Exception exception;
+
+		public Failure(Path path, Exception exception) {
+			this.path = path;
+			this.exception = exception;
+		}
+
+		public Path getPath() {
+			return this.path;
+		}
+
+		public Exception getException() {
+			return this.exception;
+		}
+
+		@Override
+		public String toString() {
+			return this.path.toString();
+		}
+	}
+}
@@ -0,0 +1,569 @@
+package io.github.fablabsmc.fablabs.api.fiber.v1.schema;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.LongPredicate;
+import java.util.function.Predicate;
+
+import javax.annotation.Nonnull;
+
+import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.BooleanSerializableType;
+import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.DecimalSerializableType;
+import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.ListSerializableType;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigBranch;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigLeaf;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigTree;
+import io.github.fablabsmc.fablabs.impl.fiber.tree.ConfigLeafImpl;
+
+/**
+ * Stores the values of many instances of a {@link ConfigSchema} by column.
+ *
+ * <p>Each slot of the schema is a column, and each instance is a row. Boolean columns are stored as bit sets,
+ * and decimal columns as {@code long} arrays, as long as they only hold integers. Other columns, and decimal columns
+ * holding fractional or very large values, are stored as object arrays. Queries over a single column,
+ * such as {@linkplain #countTrue(ConfigSchema.Slot) counting} the instances with a setting enabled,
+ * scan one contiguous array. {@link #countIntegers(ConfigSchema.Slot, LongPredicate)} tests the values
+ * of {@code long} columns without boxing them.
+ *
+ * <p>Rows are accessed as {@link ConfigInstance}s through {@link #row(int)}. The whole store can be saved and loaded
+ * at once through a {@linkplain #toColumnTree() column tree}, in which each leaf holds a column as a list.
+ *
+ * <p>Column stores are not thread safe.
+ */
+public final class ConfigColumnStore {
+	private static final int INITIAL_CAPACITY = 16;
+
+	private final ConfigSchema schema;
+	private final Column<?>[] columns;
+	private final Map<Long, BiConsumer<?, ?>[]> listeners = new HashMap<>();
+	private int size;
+	private int capacity;
+
+	public ConfigColumnStore(ConfigSchema schema) {
+		this.schema = schema;
+		this.capacity = INITIAL_CAPACITY;
+		this.columns = new Column<?>[schema.getSlotCount()];
+
+		for (ConfigSchema.Slot<?> slot : schema.getSlots()) {
+			this.columns[slot.getIndex()] = createColumn(slot, this.capacity);
+		}
+	}
+
+	private static Column<?> createColumn(ConfigSchema.Slot<?> slot, int capacity) {
+		if (slot.getType() instanceof BooleanSerializableType) {
+			return new BooleanColumn(capacity);
+		} else if (slot.getType() instanceof DecimalSerializableType && LongColumn.fits((BigDecimal) slot.getDefaultValue())) {
+			return new LongColumn(capacity);
+		}
+
+		return new ObjectColumn<>(capacity);
+	}
+
+	public ConfigSchema getSchema() {
+		return this.schema;
+	}
+
+	/**
+	 * Returns the number of rows.
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Adds a row holding the default value of every slot.
+	 *
+	 * @return the index of the new row
+	 */
+	public int addRow() {
+		if (this.size == this.capacity) {
+			this.capacity *= 2;
+
+			for (Column<?> column : this.columns) {
+				column.grow(this.capacity);
+			}
+		}
+
+		int row = this.size++;
+
+		for (ConfigSchema.Slot<?> slot : this.schema.getSlots()) {
+			this.initialize(slot, row);
+		}
+
+		return row;
+	}
+
+	private <T> void initialize(ConfigSchema.Slot<T> slot, int row) {
+		this.columns[slot.getIndex()] = this.column(slot).set(row, slot.getDefaultValue());
+	}
+
+	/**
+	 * Removes a row, by moving the last row in its place.
+	 *
+	 * <p>The listeners of the removed row are discarded, and those of the last row follow it to its new index.
+	 * Views of the last row obtained through {@link #row(int)} are invalidated, while views of the removed row
+	 * now read and write the moved row.
+	 *
+	 * @param row the index of the row to remove
+	 * @throws IndexOutOfBoundsException if the row does not exist
+	 */
+	public void removeRow(int row) {
+		this.checkRow(row);
+		int last = --this.size;
+
+		for (Column<?> column : this.columns) {
+			if (row != last) column.move(last, row);
+			column.clear(last);
+		}
+
+		if (!this.listeners.isEmpty()) {
+			for (ConfigSchema.Slot<?> slot : this.schema.getSlots()) {
+				this.listeners.remove(key(row, slot));
+				BiConsumer<?, ?>[] moved = this.listeners.remove(key(last, slot));
+
+				if (moved != null && row != last) {
+					this.listeners.put(key(row, slot), moved);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns a view of a row, backed by this store.
+	 *
+	 * @param row the index of the row
+	 * @return an instance reading and writing the values of the row
+	 * @throws IndexOutOfBoundsException if the row does not exist
+	 */
+	public ConfigInstance row(int row) {
+		this.checkRow(row);
+		return new Row(row);
+	}
+
+	@Nonnull
+	public <T> T getValue(int row, ConfigSchema.Slot<T> slot) {
+		this.schema.checkSlot(slot);
+		this.checkRow(row);
+		return this.column(slot).get(row);
+	}
+
+	/**
+	 * Sets the value of a slot in a row, following the same rules as {@link ConfigInstance#setValue(ConfigSchema.Slot, Object)}.
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> boolean setValue(int row, ConfigSchema.Slot<T> slot, @Nonnull T value) {
+		this.schema.checkSlot(slot);
+		this.checkRow(row);
+		T corrected = slot.correct(value);
+
+		if (corrected == null) {
+			return false;
+		}
+
+		Column<T> column = this.column(slot);
+		T oldValue = column.get(row);
+
+		if (!Objects.equals(oldValue, corrected)) {
+			this.columns[slot.getIndex()] = column.set(row, corrected);
+			BiConsumer<?, ?>[] rowListeners = this.listeners.isEmpty() ? null : this.listeners.get(key(row, slot));
+
+			if (rowListeners != null) {
+				for (BiConsumer<?, ?> listener : rowListeners) {
+					((BiConsumer<T, T>) listener).accept(oldValue, corrected);
+				}
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Counts the rows in which a boolean slot is {@code true}.
+	 */
+	public int countTrue(ConfigSchema.Slot<Boolean> slot) {
+		this.schema.checkSlot(slot);
+		Column<Boolean> column = this.column(slot);
+
+		if (column instanceof BooleanColumn) {
+			return ((BooleanColumn) column).countTrue();
+		}
+
+		return this.count(slot, Boolean::booleanValue);
+	}
+
+	/**
+	 * Counts the rows in which a decimal slot holds an integer, within the range of {@code long}, that matches a predicate.
+	 *
+	 * <p>Values of integral columns are tested as they are stored, without creating any {@link BigDecimal}.
+	 * Fractional and very large values never match.
+	 */
+	public int countIntegers(ConfigSchema.Slot<BigDecimal> slot, LongPredicate predicate) {
+		this.schema.checkSlot(slot);
+		Column<BigDecimal> column = this.column(slot);
+
+		if (column instanceof LongColumn) {
+			return ((LongColumn) column).count(this.size, predicate);
+		}
+
+		return this.count(slot, value -> isLong(value) && predicate.test(value.longValue()));
+	}
+
+	private static boolean isLong(BigDecimal value) {
+		// 1.0 is an integer as well
+		return (value.scale() <= 0 || value.stripTrailingZeros().scale() <= 0) && value.toBigInteger().bitLength() < Long.SIZE;
+	}
+
+	/**
+	 * Counts the rows in which the value of a slot matches a predicate.
+	 */
+	public <T> int count(ConfigSchema.Slot<T> slot, Predicate<? super T> predicate) {
+		this.schema.checkSlot(slot);
+		Column<T> column = this.column(slot);
+		int count = 0;
+
+		for (int row = 0; row < this.size; row++) {
+			if (predicate.test(column.get(row))) count++;
+		}
+
+		return count;
+	}
+
+	/**
+	 * Creates a standalone tree with the shape of the schema, in which each leaf holds the values of
+	 * its slot in every row, as a list ordered by row.
+	 *
+	 * <p>Serializing the column tree saves the whole store at once.
+	 *
+	 * @return a new tree, which is not linked to this store
+	 */
+	public ConfigBranch toColumnTree() {
+		return this.schema.buildTree(new ConfigSchema.LeafFactory() {
+			@Override
+			public <T> ConfigLeaf<?> create(ConfigSchema.Slot<T> slot) {
+				return ConfigColumnStore.this.createColumnLeaf(slot);
+			}
+		});
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> ConfigLeaf<List<T>> createColumnLeaf(ConfigSchema.Slot<T> slot) {
+		Column<T> column = this.column(slot);
+		Object[] values = new Object[this.size];
+
+		for (int row = 0; row < values.length; row++) {
+			values[row] = column.get(row);
+		}
+
+		// stored values have already been validated against the element type
+		return ConfigLeafImpl.createValidated(slot.getName(), new ListSerializableType<>(slot.getType()), slot.getComment(), (List<T>) Arrays.asList(values), (oldValue, newValue) -> { });
+	}
+
+	/**
+	 * Replaces the content of this store with the columns of a tree.
+	 *
+	 * <p>The number of rows is the size of the longest column. Rows missing from shorter columns,
+	 * or from columns that are not in {@code tree}, hold the default value of the slot.
+	 *
+	 * @param tree a column tree, usually deserialized or created by {@link #toColumnTree()}
+	 */
+	public void loadColumnTree(ConfigTree tree) {
+		ConfigSchema.Slot<?>[] slots = this.schema.getSlots().toArray(new ConfigSchema.Slot<?>[0]);
+		List<?>[] columns = new List<?>[slots.length];
+		int rows = 0;
+
+		for (int i = 0; i < slots.length; i++) {
+			columns[i] = findColumn(tree, slots[i]);
+			rows = Math.max(rows, columns[i].size());
+		}
+
+		this.size = 0;
+		// the rows listened to are replaced
+		this.listeners.clear();
+
+		for (ConfigSchema.Slot<?> slot : slots) {
+			this.columns[slot.getIndex()] = createColumn(slot, this.capacity);
+		}
+
+		for (int row = 0; row < rows; row++) {
+			this.addRow();
+
+			for (int i = 0; i < slots.length; i++) {
+				this.loadValue(row, slots[i], columns[i]);
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> void loadValue(int row, ConfigSchema.Slot<T> slot, List<?> column) {
+		if (row < column.size()) {
+			this.setValue(row, slot, (T) column.get(row));
+		}
+	}
+
+	private static <T> List<T> findColumn(ConfigTree tree, ConfigSchema.Slot<T> slot) {
+		List<String> path = slot.getPath();
+		ConfigTree branch = tree;
+
+		for (int i = 0; i < path.size() - 1 && branch != null; i++) {
+			branch = branch.lookupBranch(path.get(i));
+		}
+
+		if (branch != null) {
+			ConfigLeaf<List<T>> leaf = branch.lookupLeaf(slot.getName(), new ListSerializableType<>(slot.getType()));
+			if (leaf != null) return leaf.getValue();
+		}
+
+		return Collections.emptyList();
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> Column<T> column(ConfigSchema.Slot<T> slot) {
+		return (Column<T>) this.columns[slot.getIndex()];
+	}
+
+	private void checkRow(int row) {
+		if (row < 0 || row >= this.size) throw new IndexOutOfBoundsException("Row: " + row + ", Size: " + this.size);
+	}
+
+	private static long key(int row, ConfigSchema.Slot<?> slot) {
+		return ((long) row << 32) | slot.getIndex();
+	}
+
+	private final class Row implements ConfigInstance {
+		private final int row;
+
+		Row(int row) {
+			this.row = row;
+		}
+
+		@Override
+		public ConfigSchema getSchema() {
+			return ConfigColumnStore.this.schema;
+		}
+
+		@Nonnull
+		@Override
+		public <T> T getValue(ConfigSchema.Slot<T> slot) {
+			return ConfigColumnStore.this.getValue(this.row, slot);
+		}
+
+		@Override
+		public <T> boolean setValue(ConfigSchema.Slot<T> slot, @Nonnull T value) {
+			return ConfigColumnStore.this.setValue(this.row, slot, value);
+		}
+
+		@Override
+		public <T> void addChangeListener(ConfigSchema.Slot<T> slot, BiConsumer<T, T> listener) {
+			ConfigColumnStore.this.schema.checkSlot(slot);
+			// copy on write, so that listeners can be (un)registered while being notified
+			ConfigColumnStore.this.listeners.merge(key(this.row, slot), new BiConsumer<?, ?>[] {listener}, (previous, added) -> {
+				BiConsumer<?, ?>[] copy = Arrays.copyOf(previous, previous.length + 1);
+				copy[previous.length] = listener;
+				return copy;
+			});
+		}
+
+		@Override
+		public <T> boolean removeChangeListener(ConfigSchema.Slot<T> slot, BiConsumer<T, T> listener) {
+			ConfigColumnStore.this.schema.checkSlot(slot);
+			long key = key(this.row, slot);
+			BiConsumer<?, ?>[] rowListeners = ConfigColumnStore.this.listeners.get(key);
+
+			if (rowListeners != null) {
+				for (int i = 0; i < rowListeners.length; i++) {
+					if (rowListeners[i].equals(listener)) {
+						BiConsumer<?, ?>[] copy = Arrays.copyOf(rowListeners, rowListeners.length - 1);
+						System.arraycopy(rowListeners, i + 1, copy, i, copy.length - i);
+
+						if (copy.length == 0) {
+							ConfigColumnStore.this.listeners.remove(key);
+						} else {
+							ConfigColumnStore.this.listeners.put(key, copy);
+						}
+
+						return true;
+					}
+				}
+			}
+
+			return false;
+		}
+	}
+
+	private abstract static class Column<T> {
+		abstract T get(int row);
+
+		/**
+		 * Sets the value of a row.
+		 *
+		 * @return the column now holding the value, which is a new column if this one cannot store it
+		 */
+		abstract Column<T> set(int row, T value);
+
+		/**
+		 * Copies the value of a row to another row of this column.
+		 */
+		abstract void move(int from, int to);
+
+		/**
+		 * Resets a row that is no longer used.
+		 */
+		abstract void clear(int row);
+
+		abstract void grow(int capacity);
+	}
+
+	private static final class BooleanColumn extends Column<Boolean> {
+		private long[] bits;
+
+		BooleanColumn(int capacity) {
+			this.bits = new long[(capacity + 63) >>> 6];
+		}
+
+		@Override
+		Boolean get(int row) {
+			return (this.bits[row >>> 6] & (1L << row)) != 0;
+		}
+
+		@Override
+		Column<Boolean> set(int row, Boolean value) {
+			if (value) {
+				this.bits[row >>> 6] |= 1L << row;
+			} else {
+				this.bits[row >>> 6] &= ~(1L << row);
+			}
+
+			return this;
+		}
+
+		@Override
+		void move(int from, int to) {
+			this.set(to, (this.bits[from >>> 6] & (1L << from)) != 0);
+		}
+
+		@Override
+		void clear(int row) {
+			// keeps bits past the last row unset
+			this.bits[row >>> 6] &= ~(1L << row);
+		}
+
+		@Override
+		void grow(int capacity) {
+			this.bits = Arrays.copyOf(this.bits, (capacity + 63) >>> 6);
+		}
+
+		int countTrue() {
+			// bits past the last row are never set
+			int count = 0;
+
+			for (long word : this.bits) {
+				count += Long.bitCount(word);
+			}
+
+			return count;
+		}
+	}
+
+	private static final class LongColumn extends Column<BigDecimal> {
+		private long[] values;
+
+		LongColumn(int capacity) {
+			this.values = new long[capacity];
+		}
+
+		/**
+		 * Returns {@code true} if a value can be stored as a {@code long}, and read back as an equal {@link BigDecimal}.
+		 */
+		static boolean fits(BigDecimal value) {
+			return value.scale() == 0 && value.unscaledValue().bitLength() < Long.SIZE;
+		}
+
+		@Override
+		BigDecimal get(int row) {
+			return BigDecimal.valueOf(this.values[row]);
+		}
+
+		@Override
+		Column<BigDecimal> set(int row, BigDecimal value) {
+			if (fits(value)) {
+				this.values[row] = value.longValueExact();
+				return this;
+			}
+
+			ObjectColumn<BigDecimal> promoted = new ObjectColumn<>(this.values.length);
+
+			for (int i = 0; i < this.values.length; i++) {
+				promoted.values[i] = BigDecimal.valueOf(this.values[i]);
+			}
+
+			return promoted.set(row, value);
+		}
+
+		@Override
+		void move(int from, int to) {
+			this.values[to] = this.values[from];
+		}
+
+		@Override
+		void clear(int row) {
+			this.values[row] = 0;
+		}
+
+		@Override
+		void grow(int capacity) {
+			this.values = Arrays.copyOf(this.values, capacity);
+		}
+
+		int count(int size, LongPredicate predicate) {
+			int count = 0;
+
+			for (int row = 0; row < size; row++) {
+				if (predicate.test(this.values[row])) count++;
+			}
+
+			return count;
+		}
+	}
+
+	private static final class ObjectColumn<T> extends Column<T> {
+		private Object[] values;
+
+		ObjectColumn(int capacity) {
+			this.values = new Object[capacity];
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		T get(int row) {
+			return (T) this.values[row];
+		}
+
+		@Override
+		Column<T> set(int row, T value) {
+			this.values[row] = value;
+			return this;
+		}
+
+		@Override
+		void move(int from, int to) {
+			this.values[to] = this.values[from];
+		}
+
+		@Override
+		void clear(int row) {
+			// lets removed values be reclaimed
+			this.values[row] = null;
+		}
+
+		@Override
+		void grow(int capacity) {
+			this.values = Arrays.copyOf(this.values, capacity);
+		}
+	}
+}
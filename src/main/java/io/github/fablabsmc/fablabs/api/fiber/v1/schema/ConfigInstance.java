@@ -0,0 +1,99 @@
+package io.github.fablabsmc.fablabs.api.fiber.v1.schema;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import javax.annotation.Nonnull;
+
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigBranch;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigLeaf;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigTree;
+
+/**
+ * The values of a single copy of a {@link ConfigSchema}.
+ *
+ * <p>Values are accessed by {@linkplain ConfigSchema.Slot slot}, and follow the same rules as
+ * the values of {@linkplain ConfigLeaf leaves}: they are checked against the slot's type, and
+ * setting a value equal to the current one does not notify listeners.
+ *
+ * @see ConfigSchema#newInstance()
+ */
+public interface ConfigInstance {
+	/**
+	 * Returns the schema this instance was created from.
+	 */
+	ConfigSchema getSchema();
+
+	/**
+	 * Returns the current value of a slot.
+	 *
+	 * @throws IllegalArgumentException if {@code slot} belongs to another schema
+	 */
+	@Nonnull
+	<T> T getValue(ConfigSchema.Slot<T> slot);
+
+	/**
+	 * Sets the value of a slot.
+	 *
+	 * @param slot  a slot of this instance's schema
+	 * @param value the new value
+	 * @return {@code true} if the value, or a corrected value, was set, {@code false} if it was rejected
+	 * @throws IllegalArgumentException if {@code slot} belongs to another schema
+	 * @see ConfigLeaf#setValue(Object)
+	 */
+	<T> boolean setValue(ConfigSchema.Slot<T> slot, @Nonnull T value);
+
+	/**
+	 * Registers a listener called when the value of a slot changes in this instance.
+	 *
+	 * @param slot     a slot of this instance's schema
+	 * @param listener a listener called with the old value as first argument and the new value as second argument
+	 */
+	<T> void addChangeListener(ConfigSchema.Slot<T> slot, BiConsumer<T, T> listener);
+
+	/**
+	 * Unregisters a listener previously {@linkplain #addChangeListener(ConfigSchema.Slot, BiConsumer) registered} to a slot.
+	 *
+	 * @return {@code true} if the listener was registered to the slot in this instance, {@code false} otherwise
+	 */
+	<T> boolean removeChangeListener(ConfigSchema.Slot<T> slot, BiConsumer<T, T> listener);
+
+	/**
+	 * Creates a standalone tree holding the current values of this instance.
+	 *
+	 * @see ConfigSchema#createTree(ConfigInstance)
+	 */
+	default ConfigBranch toTree() {
+		return this.getSchema().createTree(this);
+	}
+
+	/**
+	 * Sets the value of every slot that has a matching leaf in {@code tree}.
+	 *
+	 * <p>Slots without a leaf of the same path and type in {@code tree} keep their current value.
+	 *
+	 * @param tree a tree, usually deserialized or created by {@link #toTree()}
+	 */
+	default void load(ConfigTree tree) {
+		for (ConfigSchema.Slot<?> slot : this.getSchema().getSlots()) {
+			this.load(tree, slot);
+		}
+	}
+
+	/**
+	 * Copies the value of the leaf matching {@code slot} in {@code tree}, if any.
+	 */
+	default <T> void load(ConfigTree tree, ConfigSchema.Slot<T> slot) {
+		List<String> path = slot.getPath();
+		ConfigTree branch = tree;
+
+		for (int i = 0; i < path.size() - 1 && branch != null; i++) {
+			branch = branch.lookupBranch(path.get(i));
+		}
+
+		if (branch != null) {
+			ConfigLeaf<T> leaf = branch.lookupLeaf(slot.getName(), slot.getType());
+			if (leaf != null) this.setValue(slot, leaf.getValue());
+		}
+	}
+}
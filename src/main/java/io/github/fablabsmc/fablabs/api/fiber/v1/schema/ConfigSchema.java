@@ -0,0 +1,332 @@
+package io.github.fablabsmc.fablabs.api.fiber.v1.schema;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.SerializableType;
+import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.TypeCheckResult;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigBranch;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigLeaf;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigNode;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigTree;
+import io.github.fablabsmc.fablabs.impl.fiber.schema.ArrayConfigInstance;
+import io.github.fablabsmc.fablabs.impl.fiber.tree.ConfigBranchImpl;
+import io.github.fablabsmc.fablabs.impl.fiber.tree.ConfigLeafImpl;
+
+/**
+ * The shape of a config tree, compiled once and shared by any number of {@linkplain ConfigInstance instances}.
+ *
+ * <p>A schema holds everything that is the same for every copy of a tree: node names, comments,
+ * leaf types and default values. Each leaf of the compiled tree is assigned a {@linkplain Slot slot},
+ * and instances only store one value per slot. Creating an instance copies an array of default values,
+ * instead of building a full tree with its own nodes, name indices and attribute maps.
+ *
+ * <p>Instances can be turned into {@linkplain #createTree(ConfigInstance) standalone trees}, for example
+ * to be serialized, and {@linkplain ConfigInstance#load(ConfigTree) loaded} back from trees.
+ * Attributes of the compiled tree are not part of the schema.
+ *
+ * <pre>{@code
+ * ConfigSchema schema = ConfigSchema.compile(ConfigTree.builder()...build());
+ * ConfigSchema.Slot<Boolean> pvp = schema.slot(ConfigTypes.BOOLEAN.getSerializedType(), "pvp");
+ * ConfigInstance playerConfig = schema.newInstance();
+ * playerConfig.setValue(pvp, false);
+ * }</pre>
+ */
+public final class ConfigSchema {
+	private static final byte ENTER_BRANCH = 0;
+	private static final byte LEAF = 1;
+	private static final byte EXIT_BRANCH = 2;
+
+	// the compiled tree, flattened as in a serialization plan
+	private final byte[] ops;
+	private final String[] names;
+	private final String[] comments;
+	private final boolean[] separate;
+	private final Slot<?>[] slots;
+	private final Map<List<String>, Slot<?>> slotsByPath;
+	private final Object[] defaults;
+
+	private ConfigSchema(Compiler compiler) {
+		int size = compiler.ops.size();
+		this.ops = new byte[size];
+		this.separate = new boolean[size];
+
+		for (int i = 0; i < size; i++) {
+			this.ops[i] = compiler.ops.get(i);
+			this.separate[i] = compiler.separate.get(i);
+		}
+
+		this.names = compiler.names.toArray(new String[0]);
+		this.comments = compiler.comments.toArray(new String[0]);
+		this.slots = new Slot<?>[compiler.leaves.size()];
+		this.defaults = new Object[this.slots.length];
+		this.slotsByPath = new HashMap<>();
+
+		for (int i = 0; i < this.slots.length; i++) {
+			Slot<?> slot = this.createSlot(i, compiler.paths.get(i), compiler.leaves.get(i));
+			this.slots[i] = slot;
+			this.defaults[i] = slot.defaultValue;
+			this.slotsByPath.put(slot.path, slot);
+		}
+	}
+
+	private <T> Slot<T> createSlot(int index, List<String> path, ConfigLeaf<T> leaf) {
+		T defaultValue = leaf.getDefaultValue();
+		return new Slot<>(this, index, path, leaf.getConfigType(), defaultValue != null ? defaultValue : leaf.getValue(), leaf.getComment());
+	}
+
+	/**
+	 * Compiles the schema of a tree.
+	 *
+	 * <p>The tree is only read during compilation. Later changes to it do not affect the schema.
+	 *
+	 * @param prototype a tree with the shape, types and default values of every instance
+	 * @return the compiled schema
+	 */
+	public static ConfigSchema compile(ConfigTree prototype) {
+		Compiler compiler = new Compiler();
+
+		for (ConfigNode node : prototype.getItems()) {
+			compiler.compile(node, Collections.emptyList());
+		}
+
+		return new ConfigSchema(compiler);
+	}
+
+	/**
+	 * Returns the slot of a leaf, by path and type.
+	 *
+	 * @param type  the type of the leaf
+	 * @param first the name of the first node on the path to the leaf
+	 * @param more  the names of the following nodes on the path to the leaf
+	 * @return the slot, or {@code null} if there is no leaf with the given path and type
+	 */
+	@Nullable
+	@SuppressWarnings("unchecked")
+	public <T> Slot<T> slot(SerializableType<T> type, String first, String... more) {
+		List<String> path = new ArrayList<>(more.length + 1);
+		path.add(first);
+		path.addAll(Arrays.asList(more));
+		Slot<?> slot = this.slotsByPath.get(path);
+
+		if (slot != null && slot.type.equals(type)) {
+			return (Slot<T>) slot;
+		}
+
+		return null;
+	}
+
+	/**
+	 * Returns every slot of this schema, by index.
+	 */
+	public List<Slot<?>> getSlots() {
+		return Collections.unmodifiableList(Arrays.asList(this.slots));
+	}
+
+	/**
+	 * Returns the number of slots, which is the number of leaves of the compiled tree.
+	 */
+	public int getSlotCount() {
+		return this.slots.length;
+	}
+
+	/**
+	 * Creates an instance holding the default value of every slot.
+	 */
+	public ConfigInstance newInstance() {
+		return new ArrayConfigInstance(this, this.defaults.clone());
+	}
+
+	/**
+	 * Creates a standalone tree with the shape of this schema, holding the values of an instance.
+	 *
+	 * @param instance an instance of this schema
+	 * @return a new tree, which is not linked to {@code instance}
+	 */
+	public ConfigBranch createTree(ConfigInstance instance) {
+		this.checkInstance(instance);
+		return this.buildTree(new LeafFactory() {
+			@Override
+			public <T> ConfigLeaf<?> create(Slot<T> slot) {
+				ConfigLeafImpl<T> leaf = ConfigLeafImpl.createValidated(slot.getName(), slot.type, slot.comment, slot.defaultValue, (oldValue, newValue) -> { });
+				// instances only hold validated values
+				leaf.setValidatedValue(instance.getValue(slot));
+				return leaf;
+			}
+		});
+	}
+
+	/**
+	 * Creates a standalone tree with the shape of this schema, with leaves created by {@code leaves}.
+	 */
+	ConfigBranch buildTree(LeafFactory leaves) {
+		ConfigBranch root = new ConfigBranchImpl();
+		ConfigBranch[] stack = new ConfigBranch[this.ops.length + 1];
+		int depth = 0;
+		stack[0] = root;
+		int slot = 0;
+
+		for (int i = 0; i < this.ops.length; i++) {
+			switch (this.ops[i]) {
+			case ENTER_BRANCH:
+				ConfigBranch branch = new ConfigBranchImpl(this.names[i], this.comments[i], Collections.emptyList(), this.separate[i]);
+				stack[depth].getItems().add(branch);
+				stack[++depth] = branch;
+				break;
+			case LEAF:
+				stack[depth].getItems().add(leaves.create(this.slots[slot++]));
+				break;
+			default:
+				stack[depth--] = null;
+				break;
+			}
+		}
+
+		return root;
+	}
+
+	/**
+	 * Throws an {@link IllegalArgumentException} if {@code instance} was not created from this schema.
+	 */
+	public void checkInstance(ConfigInstance instance) {
+		if (instance.getSchema() != this) throw new IllegalArgumentException("Instance of another schema");
+	}
+
+	/**
+	 * Throws an {@link IllegalArgumentException} if {@code slot} does not belong to this schema.
+	 */
+	public void checkSlot(Slot<?> slot) {
+		if (slot.schema != this) throw new IllegalArgumentException("Slot " + slot + " belongs to another schema");
+	}
+
+	/**
+	 * The position of a leaf in a schema, and the parts of the leaf shared by every instance.
+	 *
+	 * @param <T> the type of the leaf's values
+	 */
+	public static final class Slot<T> {
+		private final ConfigSchema schema;
+		private final int index;
+		private final List<String> path;
+		private final SerializableType<T> type;
+		private final T defaultValue;
+		@Nullable
+		private final String comment;
+
+		Slot(ConfigSchema schema, int index, List<String> path, SerializableType<T> type, T defaultValue, @Nullable String comment) {
+			this.schema = schema;
+			this.index = index;
+			this.path = Collections.unmodifiableList(path);
+			this.type = type;
+			this.defaultValue = defaultValue;
+			this.comment = comment;
+		}
+
+		public ConfigSchema getSchema() {
+			return this.schema;
+		}
+
+		/**
+		 * Returns the index of this slot, between {@code 0} and the schema's {@linkplain ConfigSchema#getSlotCount() slot count}.
+		 */
+		public int getIndex() {
+			return this.index;
+		}
+
+		/**
+		 * Returns the names of the nodes on the path to this slot's leaf, ending with the leaf's name.
+		 */
+		public List<String> getPath() {
+			return this.path;
+		}
+
+		public String getName() {
+			return this.path.get(this.path.size() - 1);
+		}
+
+		public SerializableType<T> getType() {
+			return this.type;
+		}
+
+		@Nonnull
+		public T getDefaultValue() {
+			return this.defaultValue;
+		}
+
+		@Nullable
+		public String getComment() {
+			return this.comment;
+		}
+
+		/**
+		 * Checks a value against this slot's type, as {@link ConfigLeaf#setValue(Object)} does.
+		 *
+		 * @param value the value to check
+		 * @return {@code value} if it is accepted, a corrected value if one can be found, or {@code null}
+		 */
+		@Nullable
+		public T correct(@Nonnull T value) {
+			TypeCheckResult<T> result = this.type.test(Objects.requireNonNull(value));
+
+			if (result.hasPassed()) {
+				return value;
+			}
+
+			return result.getCorrectedValue().orElse(null);
+		}
+
+		@Override
+		public String toString() {
+			return "Slot<" + this.type + ">[" + this.index + "@'" + String.join(".", this.path) + "']";
+		}
+	}
+
+	interface LeafFactory {
+		<T> ConfigLeaf<?> create(Slot<T> slot);
+	}
+
+	private static final class Compiler {
+		final List<Byte> ops = new ArrayList<>();
+		final List<String> names = new ArrayList<>();
+		final List<String> comments = new ArrayList<>();
+		final List<Boolean> separate = new ArrayList<>();
+		final List<ConfigLeaf<?>> leaves = new ArrayList<>();
+		final List<List<String>> paths = new ArrayList<>();
+
+		void compile(ConfigNode node, List<String> parentPath) {
+			List<String> path = new ArrayList<>(parentPath);
+			path.add(node.getName());
+
+			if (node instanceof ConfigBranch) {
+				ConfigBranch branch = (ConfigBranch) node;
+				this.add(ENTER_BRANCH, branch.getName(), branch.getComment(), branch.isSerializedSeparately());
+
+				for (ConfigNode child : branch.getItems()) {
+					this.compile(child, path);
+				}
+
+				this.add(EXIT_BRANCH, branch.getName(), null, false);
+			} else if (node instanceof ConfigLeaf<?>) {
+				ConfigLeaf<?> leaf = (ConfigLeaf<?>) node;
+				this.add(LEAF, leaf.getName(), leaf.getComment(), false);
+				this.leaves.add(leaf);
+				this.paths.add(path);
+			}
+		}
+
+		private void add(byte op, String name, @Nullable String comment, boolean separate) {
+			this.ops.add(op);
+			this.names.add(name);
+			this.comments.add(comment);
+			this.separate.add(separate);
+		}
+	}
+}
@@ -22,6 +22,7 @@ public final class ListSerializableType<E> extends ParameterizedSerializableType
 	private final boolean unique;
 	private final int minSize;
 	private final int maxSize;
+	private final int hash;
 
 	public ListSerializableType(SerializableType<E> elementType) {
 		this(elementType, 0, Integer.MAX_VALUE, false);
@@ -29,10 +30,11 @@ public final class ListSerializableType<E> extends ParameterizedSerializableType
 
 	public ListSerializableType(SerializableType<E> elementType, int minSize, int maxSize, boolean unique) {
 		super(List.class, ListConstraintChecker.instance());
-		this.elementType = elementType;
+		this.elementType = intern(elementType);
 		this.minSize = minSize;
 		this.maxSize = maxSize;
 		this.unique = unique;
+		this.hash = Objects.hash(this.elementType, unique, minSize, maxSize);
 	}
 
 	public SerializableType<E> getElementType() {
@@ -94,7 +96,8 @@ public final class ListSerializableType<E> extends ParameterizedSerializableType
 		if (this == o) return true;
 		if (o == null || this.getClass() != o.getClass()) return false;
 		ListSerializableType<?> that = (ListSerializableType<?>) o;
-		return this.unique == that.unique
+		return this.hash == that.hash
+				&& this.unique == that.unique
 				&& this.minSize == that.minSize
 				&& this.maxSize == that.maxSize
 				&& Objects.equals(this.elementType, that.elementType);
@@ -102,7 +105,7 @@ public final class ListSerializableType<E> extends ParameterizedSerializableType
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(this.elementType, this.unique, this.minSize, this.maxSize);
+		return this.hash;
 	}
 
 	@Override
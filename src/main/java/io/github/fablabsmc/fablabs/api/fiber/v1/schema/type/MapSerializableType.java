@@ -22,6 +22,7 @@ public final class MapSerializableType<V> extends ParameterizedSerializableType<
 	private final SerializableType<V> valueType;
 	private final int minSize;
 	private final int maxSize;
+	private final int hash;
 
 	public MapSerializableType(SerializableType<V> valueType) {
 		this(StringSerializableType.DEFAULT_STRING, valueType);
@@ -33,10 +34,11 @@ public final class MapSerializableType<V> extends ParameterizedSerializableType<
 
 	public MapSerializableType(StringSerializableType keyType, SerializableType<V> valueType, int minSize, int maxSize) {
 		super(Map.class, MapConstraintChecker.instance());
-		this.keyType = keyType;
-		this.valueType = valueType;
+		this.keyType = intern(keyType);
+		this.valueType = intern(valueType);
 		this.minSize = minSize;
 		this.maxSize = maxSize;
+		this.hash = Objects.hash(this.keyType, this.valueType, minSize, maxSize);
 	}
 
 	public StringSerializableType getKeyType() {
@@ -102,14 +104,16 @@ public final class MapSerializableType<V> extends ParameterizedSerializableType<
 		if (this == o) return true;
 		if (o == null || this.getClass() != o.getClass()) return false;
 		MapSerializableType<?> that = (MapSerializableType<?>) o;
-		return this.minSize == that.minSize
+		return this.hash == that.hash
+				&& this.minSize == that.minSize
 				&& this.maxSize == that.maxSize
+				&& Objects.equals(this.keyType, that.keyType)
 				&& Objects.equals(this.valueType, that.valueType);
 	}
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(this.valueType, this.minSize, this.maxSize);
+		return this.hash;
 	}
 
 	@Override
@@ -1,6 +1,8 @@
 package io.github.fablabsmc.fablabs.api.fiber.v1.schema.type;
 
 import java.lang.reflect.ParameterizedType;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.StringJoiner;
@@ -18,11 +20,18 @@ import io.github.fablabsmc.fablabs.impl.fiber.constraint.RecordConstraintChecker
  */
 public final class RecordSerializableType extends ParameterizedSerializableType<Map<String, Object>> {
 	private final Map<String, SerializableType<?>> fields;
+	private final int hash;
 
 	public RecordSerializableType(Map<String, SerializableType<?>> fields) {
 		super(Map.class, RecordConstraintChecker.instance());
-		fields.keySet().forEach(Objects::requireNonNull);
-		this.fields = fields;
+		Map<String, SerializableType<?>> copy = new LinkedHashMap<>(fields.size());
+
+		for (Map.Entry<String, SerializableType<?>> field : fields.entrySet()) {
+			copy.put(Objects.requireNonNull(field.getKey()), intern(field.getValue()));
+		}
+
+		this.fields = Collections.unmodifiableMap(copy);
+		this.hash = copy.hashCode();
 	}
 
 	public Map<String, SerializableType<?>> getFields() {
@@ -86,11 +95,11 @@ public final class RecordSerializableType extends ParameterizedSerializableType<
 		if (this == o) return true;
 		if (o == null || this.getClass() != o.getClass()) return false;
 		RecordSerializableType that = (RecordSerializableType) o;
-		return Objects.equals(this.fields, that.fields);
+		return this.hash == that.hash && Objects.equals(this.fields, that.fields);
 	}
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(this.fields);
+		return this.hash;
 	}
 }
@@ -11,6 +11,7 @@ import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.derived.ConfigType;
 import io.github.fablabsmc.fablabs.api.fiber.v1.serialization.TypeSerializer;
 import io.github.fablabsmc.fablabs.api.fiber.v1.serialization.ValueSerializer;
 import io.github.fablabsmc.fablabs.impl.fiber.constraint.ConstraintChecker;
+import io.github.fablabsmc.fablabs.impl.fiber.schema.WeakInterner;
 
 /**
  * A data type that is convertible to a config primitive.
@@ -34,6 +35,8 @@ import io.github.fablabsmc.fablabs.impl.fiber.constraint.ConstraintChecker;
  * @see StringSerializableType
  */
 public abstract class SerializableType<T> {
+	private static final WeakInterner<SerializableType<?>> INTERNED = new WeakInterner<>();
+
 	private final Class<? super T> platformType;
 	private final ConstraintChecker<T, SerializableType<T>> checker;
 
@@ -43,6 +46,24 @@ public abstract class SerializableType<T> {
 		this.checker = (ConstraintChecker<T, SerializableType<T>>) checker;
 	}
 
+	/**
+	 * Returns a canonical representation for the given type.
+	 *
+	 * <p>For any two types {@code a} and {@code b}, {@code intern(a) == intern(b)}
+	 * if and only if {@code a.equals(b)}. Comparing interned types thus reduces to
+	 * an identity check. Canonical instances are only weakly held, and may be reclaimed
+	 * once they are no longer referenced elsewhere. Interning does not lock, so trees can be built concurrently.
+	 *
+	 * @param type the type to intern
+	 * @param <S>  the kind of type
+	 * @return a type equal to {@code type}, shared by every other interned equal type
+	 */
+	@SuppressWarnings("unchecked")
+	public static <S extends SerializableType<?>> S intern(S type) {
+		// equal types always share the same class
+		return (S) INTERNED.intern(type);
+	}
+
 	/**
 	 * The (erased) Java platform type used to represent values of this type.
 	 */
@@ -81,6 +102,8 @@ public abstract class SerializableType<T> {
 	 * @return {@code true} if properties of {@code this} type are assignable from values of {@code type}.
 	 */
 	public final boolean isAssignableFrom(SerializableType<?> type) {
+		if (this == type) return true;
+
 		if (this.getClass() != type.getClass()) {
 			return false;
 		}
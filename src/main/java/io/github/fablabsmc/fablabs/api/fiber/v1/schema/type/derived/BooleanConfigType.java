@@ -29,6 +29,11 @@ public final class BooleanConfigType<T> extends ConfigType<T, Boolean, BooleanSe
 		return this;
 	}
 
+	@Override
+	protected BooleanConfigType<T> withDeserializer(Function<Boolean, T> deserializer) {
+		return new BooleanConfigType<>(this.getRuntimeType(), deserializer, this.serializer);
+	}
+
 	@Override
 	public BooleanConfigType<T> constrain(ConstraintAnnotationProcessor<Annotation> processor, Annotation annotation, AnnotatedElement annotated) {
 		return processor.processBoolean(this, annotation, annotated);
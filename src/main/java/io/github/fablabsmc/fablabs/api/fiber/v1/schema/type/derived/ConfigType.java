@@ -9,6 +9,7 @@ import java.util.function.Function;
 import io.github.fablabsmc.fablabs.api.fiber.v1.annotation.processor.ConstraintAnnotationProcessor;
 import io.github.fablabsmc.fablabs.api.fiber.v1.exception.FiberConversionException;
 import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.SerializableType;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigLeaf;
 
 /**
  * A {@code ConfigType} contains serializable information describing
@@ -35,7 +36,7 @@ public abstract class ConfigType<R, S, T extends SerializableType<S>> {
 
 	ConfigType(T serializedType, Class<R> runtimeType, Function<S, R> deserializer, Function<R, S> serializer) {
 		this.runtimeType = runtimeType;
-		this.serializedType = serializedType;
+		this.serializedType = SerializableType.intern(serializedType);
 		this.deserializer = deserializer;
 		this.serializer = serializer;
 	}
@@ -67,6 +68,33 @@ public abstract class ConfigType<R, S, T extends SerializableType<S>> {
 	 */
 	public abstract ConfigType<R, S, T> withType(T newSpec);
 
+	/**
+	 * Returns a {@code ConfigType} that remembers up to {@code maxSize} of its most recent
+	 * serialized to runtime conversions.
+	 *
+	 * <p>Equal serialized values will map to the same runtime value instance, instead of
+	 * running the deserializer again. This is only suitable when runtime values are immutable,
+	 * and serialized values are not mutated after conversion. Types derived from the returned
+	 * type share its cache for the underlying conversion. Calling this method on a cached
+	 * type replaces the previous cache.
+	 *
+	 * @param maxSize the maximum amount of conversions to cache, must be positive
+	 * @return a {@code ConfigType} with the same serialized and runtime types, and a conversion cache
+	 * @throws IllegalArgumentException if {@code maxSize} is not positive
+	 */
+	public ConfigType<R, S, T> withConversionCache(int maxSize) {
+		return this.withDeserializer(ConversionCache.memoize(this.deserializer, maxSize));
+	}
+
+	/**
+	 * Creates a copy of this {@code ConfigType}, with the same serialized type, runtime type and serializer,
+	 * but a different deserializer.
+	 *
+	 * @param deserializer the deserializer of the copy
+	 * @return a copy of this type using {@code deserializer}
+	 */
+	protected abstract ConfigType<R, S, T> withDeserializer(Function<S, R> deserializer);
+
 	/**
 	 * Converts a runtime value from a client application to this {@code ConfigType}'s
 	 * serialized type.
@@ -116,6 +144,23 @@ public abstract class ConfigType<R, S, T extends SerializableType<S>> {
 		return Objects.requireNonNull(this.deserializer.apply(serializedValue));
 	}
 
+	/**
+	 * Converts directly a serialized value to this {@code ConfigType}'s runtime type, without
+	 * checking it against the serialized type's constraints first.
+	 *
+	 * <p>This method should only be used for values that are already known to be accepted by
+	 * {@linkplain #getSerializedType() this type's serialized type}, for example values taken
+	 * from a {@link ConfigLeaf} with an assignable type.
+	 * The result of converting any other value is unspecified.
+	 *
+	 * @param serializedValue the value to convert to runtime form
+	 * @return a runtime equivalent of the serialized value
+	 * @see #toRuntimeType(Object)
+	 */
+	public R toRuntimeTypeUnchecked(S serializedValue) {
+		return Objects.requireNonNull(this.deserializer.apply(Objects.requireNonNull(serializedValue)));
+	}
+
 	/**
 	 * The runtime type of values.
 	 */
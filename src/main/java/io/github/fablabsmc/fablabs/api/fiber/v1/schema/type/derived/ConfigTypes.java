@@ -212,7 +212,29 @@ public final class ConfigTypes {
 	 * @return A {@link ListConfigType} holding a {@code boolean[]}.
 	 */
 	public static <S> ListConfigType<boolean[], S> makeBooleanArray(ConfigType<Boolean, S, ?> elementType) {
-		return makeArray(boolean[].class, elementType);
+		return new ListConfigType<>(
+				new ListSerializableType<>(elementType.getSerializedType()),
+				boolean[].class,
+				l -> {
+					boolean[] arr = new boolean[l.size()];
+					int i = 0;
+
+					for (S s : l) {
+						arr[i++] = elementType.deserializer.apply(s);
+					}
+
+					return arr;
+				},
+				arr -> {
+					List<S> ret = new ArrayList<>(arr.length);
+
+					for (boolean e : arr) {
+						ret.add(elementType.toPlatformType(e));
+					}
+
+					return Collections.unmodifiableList(ret);
+				}
+		);
 	}
 
 	/**
@@ -229,7 +251,29 @@ public final class ConfigTypes {
 	 * @return A {@link ListConfigType} holding a {@code byte[]}.
 	 */
 	public static <S> ListConfigType<byte[], S> makeByteArray(ConfigType<Byte, S, ?> elementType) {
-		return makeArray(byte[].class, elementType);
+		return new ListConfigType<>(
+				new ListSerializableType<>(elementType.getSerializedType()),
+				byte[].class,
+				l -> {
+					byte[] arr = new byte[l.size()];
+					int i = 0;
+
+					for (S s : l) {
+						arr[i++] = elementType.deserializer.apply(s);
+					}
+
+					return arr;
+				},
+				arr -> {
+					List<S> ret = new ArrayList<>(arr.length);
+
+					for (byte e : arr) {
+						ret.add(elementType.toPlatformType(e));
+					}
+
+					return Collections.unmodifiableList(ret);
+				}
+		);
 	}
 
 	/**
@@ -246,7 +290,29 @@ public final class ConfigTypes {
 	 * @return A {@link ListConfigType} holding a {@code short[]}.
 	 */
 	public static <S> ListConfigType<short[], S> makeShortArray(ConfigType<Short, S, ?> elementType) {
-		return makeArray(short[].class, elementType);
+		return new ListConfigType<>(
+				new ListSerializableType<>(elementType.getSerializedType()),
+				short[].class,
+				l -> {
+					short[] arr = new short[l.size()];
+					int i = 0;
+
+					for (S s : l) {
+						arr[i++] = elementType.deserializer.apply(s);
+					}
+
+					return arr;
+				},
+				arr -> {
+					List<S> ret = new ArrayList<>(arr.length);
+
+					for (short e : arr) {
+						ret.add(elementType.toPlatformType(e));
+					}
+
+					return Collections.unmodifiableList(ret);
+				}
+		);
 	}
 
 	/**
@@ -263,7 +329,29 @@ public final class ConfigTypes {
 	 * @return A {@link ListConfigType} holding an {@code int[]}.
 	 */
 	public static <S> ListConfigType<int[], S> makeIntArray(ConfigType<Integer, S, ?> elementType) {
-		return makeArray(int[].class, elementType);
+		return new ListConfigType<>(
+				new ListSerializableType<>(elementType.getSerializedType()),
+				int[].class,
+				l -> {
+					int[] arr = new int[l.size()];
+					int i = 0;
+
+					for (S s : l) {
+						arr[i++] = elementType.deserializer.apply(s);
+					}
+
+					return arr;
+				},
+				arr -> {
+					List<S> ret = new ArrayList<>(arr.length);
+
+					for (int e : arr) {
+						ret.add(elementType.toPlatformType(e));
+					}
+
+					return Collections.unmodifiableList(ret);
+				}
+		);
 	}
 
 	/**
@@ -280,7 +368,29 @@ public final class ConfigTypes {
 	 * @return A {@link ListConfigType} holding a {@code long[]}.
 	 */
 	public static <S> ListConfigType<long[], S> makeLongArray(ConfigType<Long, S, ?> elementType) {
-		return makeArray(long[].class, elementType);
+		return new ListConfigType<>(
+				new ListSerializableType<>(elementType.getSerializedType()),
+				long[].class,
+				l -> {
+					long[] arr = new long[l.size()];
+					int i = 0;
+
+					for (S s : l) {
+						arr[i++] = elementType.deserializer.apply(s);
+					}
+
+					return arr;
+				},
+				arr -> {
+					List<S> ret = new ArrayList<>(arr.length);
+
+					for (long e : arr) {
+						ret.add(elementType.toPlatformType(e));
+					}
+
+					return Collections.unmodifiableList(ret);
+				}
+		);
 	}
 
 	/**
@@ -297,7 +407,29 @@ public final class ConfigTypes {
 	 * @return A {@link ListConfigType} holding a {@code float[]}.
 	 */
 	public static <S> ListConfigType<float[], S> makeFloatArray(ConfigType<Float, S, ?> elementType) {
-		return makeArray(float[].class, elementType);
+		return new ListConfigType<>(
+				new ListSerializableType<>(elementType.getSerializedType()),
+				float[].class,
+				l -> {
+					float[] arr = new float[l.size()];
+					int i = 0;
+
+					for (S s : l) {
+						arr[i++] = elementType.deserializer.apply(s);
+					}
+
+					return arr;
+				},
+				arr -> {
+					List<S> ret = new ArrayList<>(arr.length);
+
+					for (float e : arr) {
+						ret.add(elementType.toPlatformType(e));
+					}
+
+					return Collections.unmodifiableList(ret);
+				}
+		);
 	}
 
 	/**
@@ -314,7 +446,29 @@ public final class ConfigTypes {
 	 * @return A {@link ListConfigType} holding a {@code double[]}.
 	 */
 	public static <S> ListConfigType<double[], S> makeDoubleArray(ConfigType<Double, S, ?> elementType) {
-		return makeArray(double[].class, elementType);
+		return new ListConfigType<>(
+				new ListSerializableType<>(elementType.getSerializedType()),
+				double[].class,
+				l -> {
+					double[] arr = new double[l.size()];
+					int i = 0;
+
+					for (S s : l) {
+						arr[i++] = elementType.deserializer.apply(s);
+					}
+
+					return arr;
+				},
+				arr -> {
+					List<S> ret = new ArrayList<>(arr.length);
+
+					for (double e : arr) {
+						ret.add(elementType.toPlatformType(e));
+					}
+
+					return Collections.unmodifiableList(ret);
+				}
+		);
 	}
 
 	/**
@@ -331,7 +485,29 @@ public final class ConfigTypes {
 	 * @return A {@link ListConfigType} holding a {@code char[]}.
 	 */
 	public static <S> ListConfigType<char[], S> makeCharArray(ConfigType<Character, S, ?> elementType) {
-		return makeArray(char[].class, elementType);
+		return new ListConfigType<>(
+				new ListSerializableType<>(elementType.getSerializedType()),
+				char[].class,
+				l -> {
+					char[] arr = new char[l.size()];
+					int i = 0;
+
+					for (S s : l) {
+						arr[i++] = elementType.deserializer.apply(s);
+					}
+
+					return arr;
+				},
+				arr -> {
+					List<S> ret = new ArrayList<>(arr.length);
+
+					for (char e : arr) {
+						ret.add(elementType.toPlatformType(e));
+					}
+
+					return Collections.unmodifiableList(ret);
+				}
+		);
 	}
 
 	/**
@@ -356,41 +532,40 @@ public final class ConfigTypes {
 	}
 
 	/**
-	 * Creates a {@link ListConfigType} representing an array type.
+	 * Creates a {@link ListConfigType} representing an array of reference type.
 	 *
-	 * <p>This internal method is called by the eight primitive array specializations and the object array
-	 * specialization in order to provide a type-safe interface to this implementation.
+	 * <p>This internal method backs the object array specialization. Primitive arrays
+	 * are handled by dedicated loops, avoiding reflective element access.
 	 *
-	 * @param arrayType   The type of the array. This component type of the array must be either exactly the runtime
-	 *                    type of the element type, or the (un)boxed variant of the runtime type of the element type.
+	 * @param arrayType   The type of the array. This component type of the array must be exactly the
+	 *                    boxed runtime type of the element type.
 	 * @param elementType The element type of the result list type.
 	 * @param <S>         The backing serialized type.
-	 * @param <E>         The (possibly boxed) array component type.
-	 * @param <A>         The array type.
+	 * @param <E>         The boxed array component type.
 	 * @return A {@link ListConfigType} that holds an array of elements of the config type elementType.
 	 */
-	private static <E, S, A> ListConfigType<A, S> makeArray(Class<A> arrayType, ConfigType<E, S, ?> elementType) {
+	private static <E, S> ListConfigType<E[], S> makeArray(Class<E[]> arrayType, ConfigType<E, S, ?> elementType) {
 		@SuppressWarnings("unchecked") Class<E> componentType = (Class<E>) arrayType.getComponentType();
-		Class<E> boxedComponentType = TypeMagic.wrapPrimitive(componentType);
 		// assert that the unchecked cast above is in fact valid
-		assert boxedComponentType == TypeMagic.wrapPrimitive(elementType.getRuntimeType()) : "Array component type does not match element type modulo boxing";
+		assert componentType == TypeMagic.wrapPrimitive(elementType.getRuntimeType()) : "Array component type does not match element type modulo boxing";
 		return new ListConfigType<>(
 				new ListSerializableType<>(elementType.getSerializedType()),
 				arrayType,
 				l -> {
-					A arr = arrayType.cast(Array.newInstance(componentType, l.size()));
+					// elements have already been checked by the list-level serialized type
+					E[] arr = arrayType.cast(Array.newInstance(componentType, l.size()));
+					int i = 0;
 
-					for (int i = 0; i < Array.getLength(arr); i++) {
-						Array.set(arr, i, elementType.toRuntimeType(l.get(i)));
+					for (S s : l) {
+						arr[i++] = elementType.deserializer.apply(s);
 					}
 
 					return arr;
 				},
 				arr -> {
-					List<S> ret = new ArrayList<>(Array.getLength(arr));
+					List<S> ret = new ArrayList<>(arr.length);
 
-					for (int i = 0; i < Array.getLength(arr); i++) {
-						E e = boxedComponentType.cast(Array.get(arr, i));
+					for (E e : arr) {
 						ret.add(elementType.toPlatformType(e));
 					}
 
@@ -0,0 +1,72 @@
+package io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.derived;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A bounded, least-recently-used memo of a deserialization function.
+ *
+ * <p>Serialized values are used as keys based on their {@link Object#equals(Object)}
+ * semantics, and the same runtime value is returned for equal serialized values.
+ * This is only correct if neither serialized nor runtime values are mutated after conversion.
+ *
+ * @param <S> The serialized type.
+ * @param <R> The runtime type.
+ * @see ConfigType#withConversionCache(int)
+ */
+final class ConversionCache<S, R> implements Function<S, R> {
+	private final Function<S, R> deserializer;
+	private final Map<S, R> cache;
+
+	private ConversionCache(Function<S, R> deserializer, int maxSize) {
+		this.deserializer = deserializer;
+		this.cache = new LinkedHashMap<S, R>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<S, R> eldest) {
+				return this.size() > maxSize;
+			}
+		};
+	}
+
+	/**
+	 * Wraps a deserialization function in a new conversion cache.
+	 *
+	 * <p>If {@code deserializer} is itself a conversion cache, the underlying
+	 * function is wrapped instead, replacing the previous cache.
+	 *
+	 * @param deserializer the function to memoize
+	 * @param maxSize      the maximum number of conversions to remember
+	 * @return a memoized function equivalent to {@code deserializer}
+	 */
+	static <S, R> Function<S, R> memoize(Function<S, R> deserializer, int maxSize) {
+		if (maxSize <= 0) {
+			throw new IllegalArgumentException("Conversion cache size must be positive, was " + maxSize);
+		}
+
+		if (deserializer instanceof ConversionCache) {
+			deserializer = ((ConversionCache<S, R>) deserializer).deserializer;
+		}
+
+		return new ConversionCache<>(deserializer, maxSize);
+	}
+
+	@Override
+	public R apply(S serializedValue) {
+		synchronized (this.cache) {
+			R cached = this.cache.get(serializedValue);
+			if (cached != null) return cached;
+		}
+
+		// run the conversion outside of the lock, as it may be arbitrarily expensive
+		R runtimeValue = this.deserializer.apply(serializedValue);
+
+		if (runtimeValue != null) {
+			synchronized (this.cache) {
+				this.cache.put(serializedValue, runtimeValue);
+			}
+		}
+
+		return runtimeValue;
+	}
+}
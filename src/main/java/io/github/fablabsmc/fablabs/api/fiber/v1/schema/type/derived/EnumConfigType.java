@@ -33,6 +33,11 @@ public final class EnumConfigType<T> extends ConfigType<T, String, EnumSerializa
 		return new EnumConfigType<>(newSpec, this.getRuntimeType(), this.deserializer, this.serializer);
 	}
 
+	@Override
+	protected EnumConfigType<T> withDeserializer(Function<String, T> deserializer) {
+		return new EnumConfigType<>(this.getSerializedType(), this.getRuntimeType(), deserializer, this.serializer);
+	}
+
 	@Override
 	public EnumConfigType<T> constrain(ConstraintAnnotationProcessor<Annotation> processor, Annotation annotation, AnnotatedElement annotated) {
 		return processor.processEnum(this, annotation, annotated);
@@ -31,6 +31,11 @@ public final class ListConfigType<R, E> extends ConfigType<R, List<E>, ListSeria
 		return new ListConfigType<>(newSpec, this.getRuntimeType(), this.deserializer, this.serializer);
 	}
 
+	@Override
+	protected ListConfigType<R, E> withDeserializer(Function<List<E>, R> deserializer) {
+		return new ListConfigType<>(this.getSerializedType(), this.getRuntimeType(), deserializer, this.serializer);
+	}
+
 	@Override
 	public ListConfigType<R, E> constrain(ConstraintAnnotationProcessor<Annotation> processor, Annotation annotation, AnnotatedElement annotated) {
 		return processor.processList(this, annotation, annotated);
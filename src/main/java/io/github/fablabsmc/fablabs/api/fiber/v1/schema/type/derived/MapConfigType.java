@@ -32,6 +32,11 @@ public final class MapConfigType<R, V> extends ConfigType<R, Map<String, V>, Map
 		return new MapConfigType<>(newSpec, this.getRuntimeType(), this.deserializer, this.serializer);
 	}
 
+	@Override
+	protected MapConfigType<R, V> withDeserializer(Function<Map<String, V>, R> deserializer) {
+		return new MapConfigType<>(this.getSerializedType(), this.getRuntimeType(), deserializer, this.serializer);
+	}
+
 	/**
 	 * Creates a new {@link MapConfigType} with a minimum size constraint.
 	 */
@@ -30,6 +30,11 @@ public final class NumberConfigType<T> extends ConfigType<T, BigDecimal, Decimal
 		return new NumberConfigType<>(newSpec, this.getRuntimeType(), this.deserializer, this.serializer);
 	}
 
+	@Override
+	protected NumberConfigType<T> withDeserializer(Function<BigDecimal, T> deserializer) {
+		return new NumberConfigType<>(this.getSerializedType(), this.getRuntimeType(), deserializer, this.serializer);
+	}
+
 	@Override
 	public NumberConfigType<T> constrain(ConstraintAnnotationProcessor<Annotation> processor, Annotation annotation, AnnotatedElement annotated) {
 		return processor.processDecimal(this, annotation, annotated);
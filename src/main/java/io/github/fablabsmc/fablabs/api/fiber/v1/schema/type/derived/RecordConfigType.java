@@ -32,6 +32,11 @@ public final class RecordConfigType<R> extends ConfigType<R, Map<String, Object>
 		return new RecordConfigType<>(newSpec, this.getRuntimeType(), this.deserializer, this.serializer);
 	}
 
+	@Override
+	protected RecordConfigType<R> withDeserializer(Function<Map<String, Object>, R> deserializer) {
+		return new RecordConfigType<>(this.getSerializedType(), this.getRuntimeType(), deserializer, this.serializer);
+	}
+
 	@Override
 	public RecordConfigType<R> constrain(ConstraintAnnotationProcessor<Annotation> processor, Annotation annotation, AnnotatedElement annotated) {
 		return processor.processRecord(this, annotation, annotated);
@@ -30,6 +30,11 @@ public final class StringConfigType<T> extends ConfigType<T, String, StringSeria
 		return new StringConfigType<>(newSpec, this.getRuntimeType(), this.deserializer, this.serializer);
 	}
 
+	@Override
+	protected StringConfigType<T> withDeserializer(Function<String, T> deserializer) {
+		return new StringConfigType<>(this.getSerializedType(), this.getRuntimeType(), deserializer, this.serializer);
+	}
+
 	@Override
 	public StringConfigType<T> constrain(ConstraintAnnotationProcessor<Annotation> processor, Annotation annotation, AnnotatedElement annotated) {
 		return processor.processString(this, annotation, annotated);
@@ -0,0 +1,163 @@
+package io.github.fablabsmc.fablabs.api.fiber.v1.serialization;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.github.fablabsmc.fablabs.api.fiber.v1.exception.BulkLoadException;
+import io.github.fablabsmc.fablabs.api.fiber.v1.exception.ValueDeserializationException;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ChangeBatch;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigTree;
+
+/**
+ * Loads many independent config files at once.
+ *
+ * <p>Files are read and parsed in parallel. The parsed files are then applied to their trees
+ * one at a time in the calling thread, in the order they were {@linkplain #add(ConfigTree, Path, ValueSerializer) added},
+ * so that change listeners observe the same sequence of changes as with successive calls to
+ * {@link FiberSerialization#deserialize(ConfigTree, Path, ValueSerializer)}. All changes are applied within
+ * a single {@linkplain ChangeBatch change batch}.
+ *
+ * <pre>{@code
+ * new BulkLoader()
+ *     .add(clientTree, configDir.resolve("client.json5"), serializer)
+ *     .add(serverTree, configDir.resolve("server.json5"), serializer)
+ *     .load();
+ * }</pre>
+ */
+public final class BulkLoader {
+	private final List<Job<?, ?>> jobs = new ArrayList<>();
+
+	/**
+	 * Adds a file to load into a tree.
+	 *
+	 * @param tree the tree to deserialize into
+	 * @param path the file to read
+	 * @param ctx  the serializer for the file
+	 * @return {@code this}, for chaining
+	 */
+	public <A, T> BulkLoader add(ConfigTree tree, Path path, ValueSerializer<A, T> ctx) {
+		this.jobs.add(new Job<>(tree, path, ctx));
+		return this;
+	}
+
+	/**
+	 * Loads every added file, parsing them on a temporary pool with one thread per available processor.
+	 *
+	 * @throws BulkLoadException if one or more files could not be loaded
+	 * @see #load(Executor)
+	 */
+	public void load() throws BulkLoadException {
+		int threads = Math.min(this.jobs.size(), Runtime.getRuntime().availableProcessors());
+
+		if (threads <= 1) {
+			this.load(Runnable::run);
+			return;
+		}
+
+		AtomicInteger counter = new AtomicInteger();
+		ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+			Thread thread = new Thread(r, "Fiber bulk loader #" + counter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		try {
+			this.load(pool);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Loads every added file, parsing them on the given executor.
+	 *
+	 * <p>The executor bounds the parallelism of the parsing phase. Trees are only modified
+	 * in the calling thread, after the files they load from have been parsed.
+	 * Files that could be loaded are applied even if other files failed, including files whose parsing
+	 * or application threw a runtime exception.
+	 *
+	 * @param executor the executor parsing files
+	 * @throws BulkLoadException if one or more files could not be loaded
+	 */
+	public void load(Executor executor) throws BulkLoadException {
+		List<Parsed> parsed = new ArrayList<>(this.jobs.size());
+
+		for (Job<?, ?> job : this.jobs) {
+			parsed.add(job.schedule(executor));
+		}
+
+		List<BulkLoadException.Failure> failures = new ArrayList<>();
+
+		try (ChangeBatch batch = ChangeBatch.begin()) {
+			for (int i = 0; i < this.jobs.size(); i++) {
+				try {
+					parsed.get(i).apply();
+				} catch (IOException | ValueDeserializationException | RuntimeException e) {
+					// one bad file must not prevent the others from being applied
+					failures.add(new BulkLoadException.Failure(this.jobs.get(i).path, e));
+				}
+			}
+		}
+
+		if (!failures.isEmpty()) {
+			throw new BulkLoadException(failures);
+		}
+	}
+
+	@FunctionalInterface
+	private interface Parsed {
+		/**
+		 * Waits for the file to be parsed, then deserializes it into its tree.
+		 */
+		void apply() throws IOException, ValueDeserializationException;
+	}
+
+	private static final class Job<A, T> {
+		final ConfigTree tree;
+		final Path path;
+		final ValueSerializer<A, T> ctx;
+
+		Job(ConfigTree tree, Path path, ValueSerializer<A, T> ctx) {
+			this.tree = tree;
+			this.path = path;
+			this.ctx = ctx;
+		}
+
+		Parsed schedule(Executor executor) {
+			FutureTask<T> task = new FutureTask<>(() -> FiberSerialization.readTarget(this.path, this.ctx));
+			executor.execute(task);
+			return () -> this.apply(task);
+		}
+
+		private void apply(FutureTask<T> task) throws IOException, ValueDeserializationException {
+			T target;
+
+			try {
+				target = task.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IOException("Interrupted while loading " + this.path, e);
+			} catch (ExecutionException e) {
+				Throwable cause = e.getCause();
+
+				if (cause instanceof IOException) throw (IOException) cause;
+
+				if (cause instanceof ValueDeserializationException) throw (ValueDeserializationException) cause;
+
+				if (cause instanceof Error) throw (Error) cause;
+
+				throw (RuntimeException) cause;
+			}
+
+			FiberSerialization.deserializeTarget(this.tree, target, this.ctx);
+		}
+	}
+}
@@ -0,0 +1,368 @@
+package io.github.fablabsmc.fablabs.api.fiber.v1.serialization;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+import javax.annotation.Nullable;
+
+import io.github.fablabsmc.fablabs.api.fiber.v1.exception.ValueDeserializationException;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigBranch;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigLeaf;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.SubtreeListener;
+import io.github.fablabsmc.fablabs.impl.fiber.serialization.ByteBufferOutputStream;
+
+/**
+ * Persists a config tree as a snapshot file followed by an append-only journal of changes.
+ *
+ * <p>While a journal is open, every change to a leaf of its tree is appended to the journal
+ * file as a small record, instead of rewriting the whole snapshot. Each record holds the path
+ * to the leaf and its new value, serialized with the journal's {@link ValueSerializer}.
+ * Changes made within a {@linkplain io.github.fablabsmc.fablabs.api.fiber.v1.tree.ChangeBatch change batch}
+ * are appended in a single write.
+ *
+ * <p>Records are buffered in memory, and written to the journal file once enough of them accumulated.
+ * They are only guaranteed to be durable after the journal is {@linkplain #flush() flushed} or {@linkplain #close() closed}.
+ * An I/O failure while journaling a change does not fail the change itself: journaling stops, and the failure
+ * is thrown by the next call to {@link #flush()} or {@link #close()}, until a successful {@linkplain #compact() compaction}
+ * persists the whole tree again.
+ *
+ * <p>Once the journal grows past its compaction threshold, it is {@linkplain #compact() compacted}:
+ * a full snapshot is written to a temporary file, atomically moved over the previous snapshot,
+ * and the journal is emptied. Opening a journal loads the snapshot, then replays the journal.
+ * Records are checksummed, so that a record torn by a crash is detected and discarded
+ * along with everything after it.
+ *
+ * <pre>{@code
+ * try (ConfigJournal journal = ConfigJournal.open(tree, Paths.get("config.json5"), serializer)) {
+ *     // changes to tree are persisted as they happen
+ * }
+ * }</pre>
+ */
+public final class ConfigJournal implements Closeable {
+	/**
+	 * The default size in bytes past which the journal is compacted.
+	 */
+	public static final long DEFAULT_COMPACTION_THRESHOLD = 64 * 1024;
+	/**
+	 * The size of a record header: the length of the record's payload, followed by its CRC32.
+	 */
+	private static final int HEADER_SIZE = 8;
+	/**
+	 * The amount of buffered bytes past which records are written to the journal file.
+	 */
+	private static final int WRITE_THRESHOLD = 8 * 1024;
+
+	private final ConfigBranch tree;
+	private final Path snapshot;
+	private final Path journal;
+	private final Writer<?, ?> writer;
+	private final long compactionThreshold;
+	private final SubtreeListener listener = (branch, changed) -> this.append(changed);
+	private final FileChannel channel;
+	@Nullable
+	private IOException failure;
+
+	private ConfigJournal(ConfigBranch tree, Path snapshot, Writer<?, ?> writer, long compactionThreshold) throws IOException {
+		this.tree = tree;
+		this.snapshot = snapshot;
+		this.journal = snapshot.resolveSibling(snapshot.getFileName() + ".journal");
+		this.writer = writer;
+		this.compactionThreshold = compactionThreshold;
+		this.channel = FileChannel.open(this.journal, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+	}
+
+	/**
+	 * Opens a journal with the {@linkplain #DEFAULT_COMPACTION_THRESHOLD default compaction threshold}.
+	 *
+	 * @see #open(ConfigBranch, Path, ValueSerializer, long)
+	 */
+	public static <A, T> ConfigJournal open(ConfigBranch tree, Path snapshot, ValueSerializer<A, T> serializer) throws IOException, ValueDeserializationException {
+		return open(tree, snapshot, serializer, DEFAULT_COMPACTION_THRESHOLD);
+	}
+
+	/**
+	 * Loads a tree from its snapshot and journal, then starts journaling its changes.
+	 *
+	 * <p>The journal file is stored next to {@code snapshot}, with a {@code .journal} suffix.
+	 * If neither file exists, the tree keeps its current values.
+	 *
+	 * @param tree                the tree to load and persist
+	 * @param snapshot            the snapshot file
+	 * @param serializer          the serializer used for both the snapshot and the journal records
+	 * @param compactionThreshold the size in bytes past which the journal is compacted
+	 * @return an open journal, which must be {@linkplain #close() closed} to stop journaling
+	 * @throws IOException                   if the files cannot be read or created
+	 * @throws ValueDeserializationException if the snapshot or a complete journal record cannot be deserialized
+	 * @throws IllegalArgumentException      if {@code tree} does not {@linkplain ConfigBranch#addSubtreeListener(SubtreeListener) support subtree listeners}
+	 */
+	public static <A, T> ConfigJournal open(ConfigBranch tree, Path snapshot, ValueSerializer<A, T> serializer, long compactionThreshold) throws IOException, ValueDeserializationException {
+		if (compactionThreshold <= 0) throw new IllegalArgumentException("Compaction threshold must be positive, was " + compactionThreshold);
+
+		ConfigJournal journal = new ConfigJournal(tree, snapshot, new Writer<>(serializer), compactionThreshold);
+
+		try {
+			journal.load(serializer);
+
+			if (!tree.addSubtreeListener(journal.listener)) {
+				throw new IllegalArgumentException(tree + " does not support subtree listeners, its changes could not be journaled");
+			}
+		} catch (IOException | ValueDeserializationException | RuntimeException e) {
+			journal.channel.close();
+			throw e;
+		}
+
+		return journal;
+	}
+
+	private <A, T> void load(ValueSerializer<A, T> serializer) throws IOException, ValueDeserializationException {
+		if (Files.exists(this.snapshot)) {
+			// not mapped, as compaction replaces the snapshot
+			try (InputStream in = Files.newInputStream(this.snapshot)) {
+				FiberSerialization.deserialize(this.tree, in, serializer);
+			}
+		}
+
+		long size = this.channel.size();
+		ByteBuffer records = ByteBuffer.allocate((int) Math.min(size, Integer.MAX_VALUE));
+
+		while (records.hasRemaining()) {
+			if (this.channel.read(records, records.position()) < 0) break;
+		}
+
+		records.flip();
+		CRC32 crc = new CRC32();
+
+		while (records.remaining() >= HEADER_SIZE) {
+			int start = records.position();
+			int length = records.getInt();
+			int checksum = records.getInt();
+
+			if (length < 0 || length > records.remaining()) {
+				records.position(start);
+				break;
+			}
+
+			ByteBuffer payload = records.slice();
+			payload.limit(length);
+			crc.reset();
+			crc.update(payload.duplicate());
+
+			if ((int) crc.getValue() != checksum) {
+				records.position(start);
+				break;
+			}
+
+			FiberSerialization.deserialize(this.tree, payload, serializer);
+			records.position(start + HEADER_SIZE + length);
+		}
+
+		// drop a torn tail, so that new records are not appended after garbage
+		this.channel.truncate(records.position());
+		this.channel.position(records.position());
+
+		if (this.channel.size() >= this.compactionThreshold) {
+			this.compact();
+		}
+	}
+
+	/**
+	 * Writes a full snapshot of the tree, then empties the journal.
+	 *
+	 * <p>The snapshot is first written to a temporary file, which then replaces the previous snapshot.
+	 * A crash at any point leaves either the previous snapshot, or the new one, along with
+	 * a journal that is consistent with it. Buffered records are discarded, as the snapshot includes their changes.
+	 *
+	 * @throws IOException if the snapshot cannot be written
+	 */
+	public synchronized void compact() throws IOException {
+		Path temp = this.snapshot.resolveSibling(this.snapshot.getFileName() + ".tmp");
+
+		try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			this.writer.writeSnapshot(this.tree, out);
+			out.force(true);
+		}
+
+		try {
+			Files.move(temp, this.snapshot, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(temp, this.snapshot, StandardCopyOption.REPLACE_EXISTING);
+		}
+
+		// replaying records older than the snapshot is harmless, so a crash before this point loses nothing
+		this.writer.discard();
+		this.channel.truncate(0);
+		this.channel.force(true);
+		// the snapshot holds every change, including those that failed to be journaled
+		this.failure = null;
+	}
+
+	/**
+	 * Returns the current size of the journal, in bytes, including buffered records.
+	 */
+	public synchronized long getJournalSize() throws IOException {
+		return this.channel.size() + this.writer.pending();
+	}
+
+	/**
+	 * Writes buffered records to the journal file, and forces them to the storage device.
+	 *
+	 * @throws IOException if the records cannot be written, or if journaling an earlier change failed
+	 */
+	public synchronized void flush() throws IOException {
+		this.checkFailure();
+		this.writer.drainTo(this.channel);
+		this.channel.force(false);
+	}
+
+	private void checkFailure() throws IOException {
+		if (this.failure != null) {
+			throw new IOException("Failed to journal config changes to " + this.journal, this.failure);
+		}
+	}
+
+	private synchronized void append(Set<ConfigLeaf<?>> changed) {
+		if (!this.channel.isOpen() || this.failure != null) return;
+
+		try {
+			this.writer.writeRecords(this.tree, changed);
+
+			if (this.writer.pending() >= WRITE_THRESHOLD) {
+				this.writer.drainTo(this.channel);
+			}
+
+			if (this.getJournalSize() >= this.compactionThreshold) {
+				this.compact();
+			}
+		} catch (IOException e) {
+			// the change itself succeeded, the failure is reported by the next flush
+			this.failure = e;
+		}
+	}
+
+	/**
+	 * Stops journaling changes, {@linkplain #flush() flushes} buffered records and closes the journal file.
+	 *
+	 * <p>The journal is not compacted. Changes made after closing are not persisted.
+	 *
+	 * @throws IOException if the records cannot be written, or if journaling an earlier change failed
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		this.tree.removeSubtreeListener(this.listener);
+
+		try {
+			this.flush();
+		} finally {
+			this.channel.close();
+		}
+	}
+
+	/**
+	 * Serializes snapshots and records, capturing the serializer's type parameters.
+	 */
+	private static final class Writer<A, T> {
+		private final ValueSerializer<A, T> serializer;
+		private final CRC32 crc = new CRC32();
+		/**
+		 * Holds the records that were not written yet, reused so that journaling a change usually allocates no buffer.
+		 */
+		private ByteBuffer buffer = ByteBuffer.allocate(1024);
+
+		Writer(ValueSerializer<A, T> serializer) {
+			this.serializer = serializer;
+		}
+
+		void writeSnapshot(ConfigBranch tree, FileChannel out) throws IOException {
+			FiberSerialization.serialize(tree, out, this.serializer);
+		}
+
+		void writeRecords(ConfigBranch tree, Set<ConfigLeaf<?>> changed) throws IOException {
+			for (ConfigLeaf<?> leaf : changed) {
+				T record = this.makeRecord(tree, leaf);
+
+				if (record == null) continue;
+
+				this.buffer = ByteBufferOutputStream.ensureRemaining(this.buffer, HEADER_SIZE);
+				int start = this.buffer.position();
+				this.buffer.position(start + HEADER_SIZE);
+				this.buffer = this.serializer.writeTarget(record, this.buffer);
+				int end = this.buffer.position();
+
+				ByteBuffer payload = this.buffer.duplicate();
+				payload.position(start + HEADER_SIZE);
+				payload.limit(end);
+				this.crc.reset();
+				this.crc.update(payload);
+				this.buffer.putInt(start, end - start - HEADER_SIZE);
+				this.buffer.putInt(start + 4, (int) this.crc.getValue());
+			}
+		}
+
+		int pending() {
+			return this.buffer.position();
+		}
+
+		void drainTo(FileChannel out) throws IOException {
+			this.buffer.flip();
+
+			try {
+				while (this.buffer.hasRemaining()) {
+					out.write(this.buffer);
+				}
+			} finally {
+				// keeps whatever could not be written
+				this.buffer.compact();
+			}
+		}
+
+		void discard() {
+			this.buffer.clear();
+		}
+
+		/**
+		 * Creates a target holding only the value of {@code leaf}, nested under the names of its ancestors
+		 * up to {@code tree}, so that deserializing the target into {@code tree} updates only that leaf.
+		 *
+		 * @return the record, or {@code null} if {@code leaf} is no longer attached to {@code tree},
+		 * or is part of a branch that is {@linkplain ConfigBranch#isSerializedSeparately() serialized separately}
+		 */
+		private T makeRecord(ConfigBranch tree, ConfigLeaf<?> leaf) {
+			List<ConfigBranch> ancestors = new ArrayList<>();
+			ConfigBranch parent = leaf.getParent();
+
+			while (parent != tree) {
+				if (parent == null || parent.isSerializedSeparately()) return null;
+
+				ancestors.add(parent);
+				parent = parent.getParent();
+			}
+
+			T target = this.serializer.newTarget();
+			this.serializer.addElement(leaf.getName(), this.serializeValue(leaf), target, null);
+
+			for (ConfigBranch ancestor : ancestors) {
+				T outer = this.serializer.newTarget();
+				this.serializer.addSubElement(ancestor.getName(), target, outer, null);
+				target = outer;
+			}
+
+			return target;
+		}
+
+		private <V> A serializeValue(ConfigLeaf<V> leaf) {
+			return leaf.getConfigType().serializeValue(leaf.getValue(), this.serializer);
+		}
+	}
+}
@@ -3,11 +3,17 @@ package io.github.fablabsmc.fablabs.api.fiber.v1.serialization;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Objects;
 
 import io.github.fablabsmc.fablabs.api.fiber.v1.exception.ValueDeserializationException;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ChangeBatch;
 import io.github.fablabsmc.fablabs.api.fiber.v1.tree.Commentable;
 import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigBranch;
 import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigLeaf;
@@ -18,29 +24,121 @@ import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigTree;
  * Static class that houses Fiber's serialization and deserialization algorithms.
  */
 public final class FiberSerialization {
+	/**
+	 * The size in bytes from which files are memory-mapped rather than read into a heap buffer.
+	 * Mapping a file has a fixed cost that only pays off for large files.
+	 */
+	private static final long MAP_THRESHOLD = 1 << 20;
+
 	private FiberSerialization() {
 	}
 
 	public static <A, T> void serialize(ConfigTree tree, OutputStream out, ValueSerializer<A, T> ctx) throws IOException {
+		ctx.writeTarget(serializeTarget(tree, ctx), out);
+	}
+
+	/**
+	 * Serializes a tree to a channel.
+	 *
+	 * @see ValueSerializer#writeTarget(Object, WritableByteChannel)
+	 */
+	public static <A, T> void serialize(ConfigTree tree, WritableByteChannel out, ValueSerializer<A, T> ctx) throws IOException {
+		ctx.writeTarget(serializeTarget(tree, ctx), out);
+	}
+
+	/**
+	 * Serializes a tree into a buffer, starting at its position.
+	 *
+	 * <p>If {@code out} runs out of room, a larger buffer is allocated. The buffer holding
+	 * the serialized tree is returned, positioned after the last written byte, and may be reused
+	 * for later calls. When a larger buffer is allocated, {@code out} keeps its limit, and only holds
+	 * the bytes written before it ran out of room.
+	 *
+	 * @param tree the tree to serialize
+	 * @param out  the buffer to write into
+	 * @param ctx  the serializer
+	 * @return {@code out}, or a larger buffer if {@code out} did not have enough room
+	 * @see ValueSerializer#writeTarget(Object, ByteBuffer)
+	 */
+	public static <A, T> ByteBuffer serialize(ConfigTree tree, ByteBuffer out, ValueSerializer<A, T> ctx) throws IOException {
+		return ctx.writeTarget(serializeTarget(tree, ctx), out);
+	}
+
+	private static <A, T> T serializeTarget(ConfigTree tree, ValueSerializer<A, T> ctx) {
 		T target = ctx.newTarget();
 
 		for (ConfigNode node : tree.getItems()) {
 			serializeNode(node, target, ctx);
 		}
 
-		ctx.writeTarget(target, out);
+		return target;
 	}
 
 	public static <A, T> void deserialize(ConfigTree tree, InputStream in, ValueSerializer<A, T> ctx) throws IOException, ValueDeserializationException {
-		T target = ctx.readTarget(in);
+		deserializeTarget(tree, ctx.readTarget(in), ctx);
+	}
+
+	/**
+	 * Deserializes a tree from the remaining contents of a buffer.
+	 *
+	 * @see ValueSerializer#readTarget(ByteBuffer)
+	 */
+	public static <A, T> void deserialize(ConfigTree tree, ByteBuffer in, ValueSerializer<A, T> ctx) throws IOException, ValueDeserializationException {
+		deserializeTarget(tree, ctx.readTarget(in), ctx);
+	}
+
+	/**
+	 * Deserializes a tree from a file.
+	 *
+	 * <p>Large files are memory-mapped, and read by the serializer directly from the mapped buffer.
+	 * Smaller files are read into a single heap buffer, with no intermediate stream buffering.
+	 *
+	 * <p>On some platforms, notably Windows, a mapped file cannot be replaced until the mapping is garbage collected.
+	 * Large files that are saved by replacing them should be read through {@link #deserialize(ConfigTree, InputStream, ValueSerializer)}.
+	 *
+	 * @param tree the tree to deserialize into
+	 * @param path the file to read
+	 * @param ctx  the serializer
+	 * @see ValueSerializer#readTarget(ByteBuffer)
+	 */
+	public static <A, T> void deserialize(ConfigTree tree, Path path, ValueSerializer<A, T> ctx) throws IOException, ValueDeserializationException {
+		deserializeTarget(tree, readTarget(path, ctx), ctx);
+	}
 
-		for (Iterator<Map.Entry<String, A>> itr = ctx.elements(target); itr.hasNext(); ) {
-			Map.Entry<String, A> entry = itr.next();
-			ConfigNode node = tree.lookup(entry.getKey());
-			A elem = entry.getValue();
+	static <T> T readTarget(Path path, ValueSerializer<?, T> ctx) throws IOException, ValueDeserializationException {
+		ByteBuffer buffer;
 
-			if (node != null) {
-				deserializeNode(node, elem, ctx);
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			long size = channel.size();
+
+			if (size >= MAP_THRESHOLD) {
+				// the mapping stays valid once the channel is closed
+				buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			} else {
+				buffer = ByteBuffer.allocate((int) size);
+
+				while (buffer.hasRemaining()) {
+					if (channel.read(buffer) < 0) break;
+				}
+
+				buffer.flip();
+			}
+		}
+
+		return ctx.readTarget(buffer);
+	}
+
+	static <A, T> void deserializeTarget(ConfigTree tree, T target, ValueSerializer<A, T> ctx) throws ValueDeserializationException {
+		// subtree listeners get notified once for the whole load
+		try (ChangeBatch batch = ChangeBatch.begin()) {
+			for (Iterator<Map.Entry<String, A>> itr = ctx.elements(target); itr.hasNext(); ) {
+				Map.Entry<String, A> entry = itr.next();
+				ConfigNode node = tree.lookup(entry.getKey());
+				A elem = entry.getValue();
+
+				if (node != null) {
+					deserializeNode(node, elem, ctx);
+				}
 			}
 		}
 	}
@@ -0,0 +1,140 @@
+package io.github.fablabsmc.fablabs.api.fiber.v1.serialization;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigTree;
+
+/**
+ * A serializer for a single tree that is saved repeatedly.
+ *
+ * <p>The serialized target built by the first save, with its keys, comments and nesting,
+ * is kept between saves. Subsequent saves only serialize the leaves whose value changed
+ * since the previous save, and {@linkplain ValueSerializer#replaceElement(String, Object, Object) replace}
+ * them in the kept target. The output buffer is also reused between saves.
+ *
+ * <p>The target is rebuilt from scratch when nodes are added to or removed from the tree,
+ * when the underlying serializer cannot replace elements, or after a call to {@link #invalidate()}.
+ * The target is built with a {@link SerializationPlan}, so changes to branches of other implementations
+ * than Fiber's cannot be detected: trees holding such branches are serialized in full on every save.
+ * Leaf values are compared by identity, so values must not be mutated in place.
+ *
+ * @param <A> the type of serialized elements
+ * @param <T> the type of serialized targets
+ */
+public final class IncrementalSerializer<A, T> {
+	private static final int INITIAL_BUFFER_SIZE = 8192;
+
+	private final ConfigTree tree;
+	private final ValueSerializer<A, T> ctx;
+	private final List<LeafSlot<?>> slots = new ArrayList<>();
+	@Nullable
+	private SerializationPlan<A, T> plan;
+	@Nullable
+	private T target;
+	private ByteBuffer buffer = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+
+	public IncrementalSerializer(ConfigTree tree, ValueSerializer<A, T> ctx) {
+		this.tree = tree;
+		this.ctx = ctx;
+	}
+
+	/**
+	 * Serializes the tree to a stream.
+	 */
+	public synchronized void serialize(OutputStream out) throws IOException {
+		ByteBuffer rendered = this.render();
+		out.write(rendered.array(), rendered.arrayOffset() + rendered.position(), rendered.remaining());
+	}
+
+	/**
+	 * Serializes the tree to a channel.
+	 */
+	public synchronized void serialize(WritableByteChannel out) throws IOException {
+		ByteBuffer rendered = this.render();
+
+		while (rendered.hasRemaining()) {
+			out.write(rendered);
+		}
+	}
+
+	/**
+	 * Discards the kept target, so that the next save serializes the whole tree again.
+	 */
+	public synchronized void invalidate() {
+		this.plan = null;
+		this.target = null;
+		this.slots.clear();
+	}
+
+	private ByteBuffer render() throws IOException {
+		this.buffer.clear();
+		this.buffer = this.ctx.writeTarget(this.update(), this.buffer);
+		this.buffer.flip();
+		return this.buffer;
+	}
+
+	/**
+	 * Brings the kept target up to date with the tree.
+	 */
+	private T update() {
+		if (this.target != null && this.plan.isValid()) {
+			boolean patched = true;
+
+			for (LeafSlot<?> slot : this.slots) {
+				if (!slot.patch()) {
+					patched = false;
+					break;
+				}
+			}
+
+			if (patched) return this.target;
+		}
+
+		if (this.plan == null || !this.plan.isValid()) {
+			this.plan = SerializationPlan.compile(this.tree, this.ctx);
+		}
+
+		this.slots.clear();
+		this.target = this.plan.build((writer, parent) -> {
+			LeafSlot<?> slot = new LeafSlot<>(writer, parent);
+			this.slots.add(slot);
+			return slot.serialize();
+		});
+		return this.target;
+	}
+
+	private final class LeafSlot<V> {
+		private final SerializationPlan.LeafWriter<V, A> writer;
+		private final T parent;
+		@Nullable
+		private V lastValue;
+
+		LeafSlot(SerializationPlan.LeafWriter<V, A> writer, T parent) {
+			this.writer = writer;
+			this.parent = parent;
+		}
+
+		A serialize() {
+			this.lastValue = this.writer.leaf.getValue();
+			return this.writer.codec.encode(this.lastValue);
+		}
+
+		/**
+		 * Replaces the serialized value of this slot's leaf if it changed since the last save.
+		 *
+		 * @return {@code false} if the value changed and could not be replaced
+		 */
+		boolean patch() {
+			if (this.writer.leaf.getValue() == this.lastValue) return true;
+
+			return IncrementalSerializer.this.ctx.replaceElement(this.writer.leaf.getName(), this.serialize(), this.parent);
+		}
+	}
+}
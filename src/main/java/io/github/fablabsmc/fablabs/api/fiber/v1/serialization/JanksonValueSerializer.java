@@ -3,13 +3,21 @@ package io.github.fablabsmc.fablabs.api.fiber.v1.serialization;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.lang.ref.SoftReference;
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.WeakHashMap;
 
 import javax.annotation.Nullable;
 
@@ -28,6 +36,7 @@ import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.MapSerializableType;
 import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.RecordSerializableType;
 import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.SerializableType;
 import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.StringSerializableType;
+import io.github.fablabsmc.fablabs.impl.fiber.serialization.ByteBufferOutputStream;
 
 /**
  * {@link ValueSerializer} for Jankson.
@@ -35,6 +44,11 @@ import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.StringSerializableTy
 public class JanksonValueSerializer implements ValueSerializer<JsonElement, JsonObject> {
 	private final boolean minify;
 	private final Jankson jankson;
+	/**
+	 * Codecs for the types converted so far. Codecs refer to their type, so they are held softly:
+	 * otherwise, the weak keys would never be cleared, and every type ever converted would be kept.
+	 */
+	private final Map<SerializableType<?>, SoftReference<ValueCodec<?, JsonElement>>> codecs = Collections.synchronizedMap(new WeakHashMap<>());
 
 	public JanksonValueSerializer(boolean minify) {
 		this(minify, Jankson.builder().build());
@@ -115,96 +129,192 @@ public class JanksonValueSerializer implements ValueSerializer<JsonElement, Json
 
 	@Override
 	public <E> JsonElement serializeList(List<E> value, ListSerializableType<E> type) {
-		JsonArray arr = new JsonArray();
-
-		for (E e : value) {
-			arr.add(type.getElementType().serializeValue(e, this));
-		}
-
-		return arr;
+		return this.getCodec(type).encode(value);
 	}
 
 	@Override
 	public <E> List<E> deserializeList(JsonElement elem, ListSerializableType<E> type) throws ValueDeserializationException {
-		if (elem instanceof JsonArray) {
-			JsonArray arr = ((JsonArray) elem);
-			List<E> ls = new ArrayList<>(arr.size());
+		return this.getCodec(type).decode(elem);
+	}
 
-			for (JsonElement e : arr) {
-				ls.add(type.getElementType().deserializeValue(e, this));
-			}
+	@Override
+	public <V> JsonElement serializeMap(Map<String, V> value, MapSerializableType<V> type) {
+		return this.getCodec(type).encode(value);
+	}
 
-			return ls;
-		}
+	@Override
+	public <V> Map<String, V> deserializeMap(JsonElement elem, MapSerializableType<V> type) throws ValueDeserializationException {
+		return this.getCodec(type).decode(elem);
+	}
 
-		throw new ValueDeserializationException(elem, List.class, "JsonElement of wrong type");
+	@Override
+	public JsonElement serializeRecord(Map<String, Object> value, RecordSerializableType type) {
+		return this.getCodec(type).encode(value);
 	}
 
 	@Override
-	public <V> JsonElement serializeMap(Map<String, V> value, MapSerializableType<V> type) {
-		JsonObject obj = new JsonObject();
+	public Map<String, Object> deserializeRecord(JsonElement elem, RecordSerializableType type) throws ValueDeserializationException {
+		return this.getCodec(type).decode(elem);
+	}
 
-		for (Map.Entry<String, V> entry : value.entrySet()) {
-			obj.put(entry.getKey(), type.getValueType().serializeValue(entry.getValue(), this));
+	@Override
+	@SuppressWarnings("unchecked")
+	public <V> ValueCodec<V, JsonElement> getCodec(SerializableType<V> type) {
+		SoftReference<ValueCodec<?, JsonElement>> ref = this.codecs.get(type);
+		ValueCodec<V, JsonElement> codec = ref == null ? null : (ValueCodec<V, JsonElement>) ref.get();
+
+		if (codec == null) {
+			// made outside of the lock, as making a codec recursively gets the codecs of nested types
+			codec = this.makeCodec(type);
+			this.codecs.put(type, new SoftReference<>(codec));
 		}
 
-		return obj;
+		return codec;
 	}
 
-	@Override
-	public <V> Map<String, V> deserializeMap(JsonElement elem, MapSerializableType<V> type) throws ValueDeserializationException {
-		if (elem instanceof JsonObject) {
-			JsonObject obj = ((JsonObject) elem);
-			Map<String, V> map = new LinkedHashMap<>(obj.size());
+	@SuppressWarnings("unchecked")
+	private <V> ValueCodec<V, JsonElement> makeCodec(SerializableType<V> type) {
+		if (type instanceof ListSerializableType) {
+			return (ValueCodec<V, JsonElement>) this.makeListCodec((ListSerializableType<?>) type);
+		} else if (type instanceof MapSerializableType) {
+			return (ValueCodec<V, JsonElement>) this.makeMapCodec((MapSerializableType<?>) type);
+		} else if (type instanceof RecordSerializableType) {
+			return (ValueCodec<V, JsonElement>) this.makeRecordCodec((RecordSerializableType) type);
+		}
+
+		return ValueCodec.generic(type, this);
+	}
 
-			for (Map.Entry<String, JsonElement> entry : obj.entrySet()) {
-				map.put(entry.getKey(), type.getValueType().deserializeValue(entry.getValue(), this));
+	private <E> ValueCodec<List<E>, JsonElement> makeListCodec(ListSerializableType<E> type) {
+		ValueCodec<E, JsonElement> elementCodec = this.getCodec(type.getElementType());
+
+		return new ValueCodec<List<E>, JsonElement>() {
+			@Override
+			public JsonElement encode(List<E> value) {
+				JsonArray arr = new JsonArray();
+
+				for (E e : value) {
+					arr.add(elementCodec.encode(e));
+				}
+
+				return arr;
 			}
 
-			return map;
-		}
+			@Override
+			public List<E> decode(JsonElement elem) throws ValueDeserializationException {
+				if (elem instanceof JsonArray) {
+					JsonArray arr = ((JsonArray) elem);
+					List<E> ls = new ArrayList<>(arr.size());
+
+					for (JsonElement e : arr) {
+						ls.add(elementCodec.decode(e));
+					}
+
+					return ls;
+				}
 
-		throw new ValueDeserializationException(elem, Map.class, "JsonElement of wrong type");
+				throw new ValueDeserializationException(elem, List.class, "JsonElement of wrong type");
+			}
+		};
 	}
 
-	@Override
-	public JsonElement serializeRecord(Map<String, Object> value, RecordSerializableType type) {
-		JsonObject obj = new JsonObject();
+	private <V> ValueCodec<Map<String, V>, JsonElement> makeMapCodec(MapSerializableType<V> type) {
+		ValueCodec<V, JsonElement> valueCodec = this.getCodec(type.getValueType());
+
+		return new ValueCodec<Map<String, V>, JsonElement>() {
+			@Override
+			public JsonElement encode(Map<String, V> value) {
+				JsonObject obj = new JsonObject();
+
+				for (Map.Entry<String, V> entry : value.entrySet()) {
+					obj.put(entry.getKey(), valueCodec.encode(entry.getValue()));
+				}
+
+				return obj;
+			}
+
+			@Override
+			public Map<String, V> decode(JsonElement elem) throws ValueDeserializationException {
+				if (elem instanceof JsonObject) {
+					JsonObject obj = ((JsonObject) elem);
+					Map<String, V> map = new LinkedHashMap<>(obj.size());
+
+					for (Map.Entry<String, JsonElement> entry : obj.entrySet()) {
+						map.put(entry.getKey(), valueCodec.decode(entry.getValue()));
+					}
+
+					return map;
+				}
+
+				throw new ValueDeserializationException(elem, Map.class, "JsonElement of wrong type");
+			}
+		};
+	}
+
+	private ValueCodec<Map<String, Object>, JsonElement> makeRecordCodec(RecordSerializableType type) {
 		Map<String, SerializableType<?>> fields = type.getFields();
+		String[] names = new String[fields.size()];
+		FieldCodec<?>[] fieldCodecs = new FieldCodec<?>[fields.size()];
+		int i = 0;
 
 		for (Map.Entry<String, SerializableType<?>> entry : fields.entrySet()) {
-			Object fieldValue = value.get(entry.getKey());
-			obj.put(entry.getKey(), this.serializeRecordField(fieldValue, entry.getValue()));
+			names[i] = entry.getKey();
+			fieldCodecs[i] = this.makeFieldCodec(entry.getValue());
+			i++;
 		}
 
-		return obj;
-	}
+		return new ValueCodec<Map<String, Object>, JsonElement>() {
+			@Override
+			public JsonElement encode(Map<String, Object> value) {
+				JsonObject obj = new JsonObject();
 
-	private <T> JsonElement serializeRecordField(Object value, SerializableType<T> type) {
-		return type.serializeValue(type.cast(value), this);
-	}
+				for (int i = 0; i < names.length; i++) {
+					obj.put(names[i], fieldCodecs[i].encode(value.get(names[i])));
+				}
 
-	@Override
-	public Map<String, Object> deserializeRecord(JsonElement elem, RecordSerializableType type) throws ValueDeserializationException {
-		if (elem instanceof JsonObject) {
-			JsonObject obj = ((JsonObject) elem);
-			Map<String, Object> map = new LinkedHashMap<>(obj.size());
-			Map<String, SerializableType<?>> fields = type.getFields();
+				return obj;
+			}
+
+			@Override
+			public Map<String, Object> decode(JsonElement elem) throws ValueDeserializationException {
+				if (elem instanceof JsonObject) {
+					JsonObject obj = ((JsonObject) elem);
+					Map<String, Object> map = new LinkedHashMap<>(obj.size());
+
+					for (int i = 0; i < names.length; i++) {
+						JsonElement subElem = obj.get(names[i]);
+
+						if (subElem == null) {
+							throw new ValueDeserializationException(null, fieldCodecs[i].type.getErasedPlatformType(), "Record field is absent: " + names[i]);
+						}
 
-			for (Map.Entry<String, SerializableType<?>> entry : fields.entrySet()) {
-				JsonElement subElem = obj.get(entry.getKey());
+						map.put(names[i], fieldCodecs[i].codec.decode(subElem));
+					}
 
-				if (subElem == null) {
-					throw new ValueDeserializationException(null, entry.getValue().getErasedPlatformType(), "Record field is absent: " + entry.getKey());
+					return map;
 				}
 
-				map.put(entry.getKey(), entry.getValue().deserializeValue(subElem, this));
+				throw new ValueDeserializationException(elem, Map.class, "JsonElement of wrong type");
 			}
+		};
+	}
+
+	private <F> FieldCodec<F> makeFieldCodec(SerializableType<F> type) {
+		return new FieldCodec<>(type, this.getCodec(type));
+	}
 
-			return map;
+	private static final class FieldCodec<F> {
+		final SerializableType<F> type;
+		final ValueCodec<F, JsonElement> codec;
+
+		FieldCodec(SerializableType<F> type, ValueCodec<F, JsonElement> codec) {
+			this.type = type;
+			this.codec = codec;
 		}
 
-		throw new ValueDeserializationException(elem, Map.class, "JsonElement of wrong type");
+		JsonElement encode(Object value) {
+			return this.codec.encode(this.type.cast(value));
+		}
 	}
 
 	@Override
@@ -225,6 +335,13 @@ public class JanksonValueSerializer implements ValueSerializer<JsonElement, Json
 		}
 	}
 
+	@Override
+	public boolean replaceElement(String name, JsonElement elem, JsonObject target) {
+		// put keeps the entry's position and comment
+		target.put(name, elem);
+		return true;
+	}
+
 	@Override
 	public Iterator<Map.Entry<String, JsonElement>> elements(JsonObject target) {
 		return target.entrySet().iterator();
@@ -244,6 +361,39 @@ public class JanksonValueSerializer implements ValueSerializer<JsonElement, Json
 		out.write(target.toJson(!this.minify, !this.minify).getBytes(StandardCharsets.UTF_8));
 	}
 
+	@Override
+	public void writeTarget(JsonObject target, WritableByteChannel out) throws IOException {
+		ByteBuffer buffer = StandardCharsets.UTF_8.encode(target.toJson(!this.minify, !this.minify));
+
+		while (buffer.hasRemaining()) {
+			out.write(buffer);
+		}
+	}
+
+	@Override
+	public ByteBuffer writeTarget(JsonObject target, ByteBuffer out) throws IOException {
+		CharBuffer json = CharBuffer.wrap(target.toJson(!this.minify, !this.minify));
+		CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+		ByteBuffer buffer = out;
+
+		// encode straight into the caller's buffer, growing it only when it runs out of room
+		while (true) {
+			CoderResult result = encoder.encode(json, buffer, true);
+
+			if (result.isUnderflow()) break;
+
+			if (!result.isOverflow()) result.throwException();
+
+			buffer = ByteBufferOutputStream.ensureRemaining(buffer, Math.max(16, json.remaining()));
+		}
+
+		while (encoder.flush(buffer).isOverflow()) {
+			buffer = ByteBufferOutputStream.ensureRemaining(buffer, 16);
+		}
+
+		return buffer;
+	}
+
 	@Override
 	public JsonObject readTarget(InputStream in) throws ValueDeserializationException, IOException {
 		try {
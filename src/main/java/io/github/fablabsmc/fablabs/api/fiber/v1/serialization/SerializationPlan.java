@@ -0,0 +1,231 @@
+package io.github.fablabsmc.fablabs.api.fiber.v1.serialization;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import javax.annotation.Nullable;
+
+import io.github.fablabsmc.fablabs.api.fiber.v1.exception.IllegalTreeStateException;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.Commentable;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigBranch;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigLeaf;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigNode;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigTree;
+import io.github.fablabsmc.fablabs.impl.fiber.tree.ConfigBranchImpl;
+
+/**
+ * A tree serialization precompiled for a given tree and serializer.
+ *
+ * <p>Compiling a plan walks the tree once, and flattens it into a linear sequence of operations:
+ * entering a branch, writing a leaf, and exiting a branch. Node names and comments are read,
+ * and each leaf's {@linkplain ValueSerializer#getCodec codec} is resolved from its type, at compile time. {@linkplain #execute() Executing}
+ * the plan then only reads the current value of each leaf.
+ *
+ * <p>A plan produces the same output as {@link FiberSerialization#serialize(ConfigTree, OutputStream, ValueSerializer)}.
+ * It becomes {@linkplain #isValid() invalid} once nodes are added to or removed from the tree,
+ * after which it must be compiled again. Plans can only track the structure of trees built by Fiber:
+ * a plan compiled for a tree holding branches of other implementations is never valid.
+ *
+ * @param <A> the type of serialized elements
+ * @param <T> the type of serialized targets
+ */
+public final class SerializationPlan<A, T> {
+	private static final byte ENTER_BRANCH = 0;
+	private static final byte WRITE_LEAF = 1;
+	private static final byte EXIT_BRANCH = 2;
+	private static final long UNTRACKED = -1;
+
+	private final ConfigTree tree;
+	private final ValueSerializer<A, T> ctx;
+	private final long structureVersion;
+	private final byte[] ops;
+	private final String[] names;
+	private final String[] comments;
+	// only set for WRITE_LEAF operations
+	private final LeafWriter<?, A>[] writers;
+	private final int maxDepth;
+
+	@SuppressWarnings("unchecked")
+	private SerializationPlan(ConfigTree tree, ValueSerializer<A, T> ctx, long structureVersion, Compiler<A> compiler) {
+		this.tree = tree;
+		this.ctx = ctx;
+		this.structureVersion = structureVersion;
+		int size = compiler.ops.size();
+		this.ops = new byte[size];
+
+		for (int i = 0; i < size; i++) {
+			this.ops[i] = compiler.ops.get(i);
+		}
+
+		this.names = compiler.names.toArray(new String[0]);
+		this.comments = compiler.comments.toArray(new String[0]);
+		this.writers = (LeafWriter<?, A>[]) compiler.writers.toArray(new LeafWriter<?, ?>[0]);
+		this.maxDepth = compiler.maxDepth;
+	}
+
+	/**
+	 * Compiles a serialization plan for a tree.
+	 *
+	 * @param tree the tree to serialize
+	 * @param ctx  the serializer
+	 * @return a plan serializing {@code tree} with {@code ctx}
+	 */
+	public static <A, T> SerializationPlan<A, T> compile(ConfigTree tree, ValueSerializer<A, T> ctx) {
+		long version = structureVersion(tree);
+		Compiler<A> compiler = new Compiler<>(ctx);
+
+		for (ConfigNode node : tree.getItems()) {
+			compiler.compile(node, 0);
+		}
+
+		if (!compiler.tracked) {
+			version = UNTRACKED;
+		}
+
+		return new SerializationPlan<>(tree, ctx, version, compiler);
+	}
+
+	private static long structureVersion(ConfigTree tree) {
+		if (tree instanceof ConfigBranchImpl) {
+			return ((ConfigBranchImpl) tree).getStructureVersion();
+		}
+
+		return UNTRACKED;
+	}
+
+	/**
+	 * Returns {@code true} if the tree has the same structure as when this plan was compiled.
+	 *
+	 * <p>Changes to branches of other implementations than Fiber's cannot be detected, so plans compiled
+	 * for trees holding such branches are never valid.
+	 */
+	public boolean isValid() {
+		return this.structureVersion != UNTRACKED && this.structureVersion == structureVersion(this.tree);
+	}
+
+	/**
+	 * Serializes the current values of the tree into a new target.
+	 *
+	 * @return the serialized tree
+	 * @throws IllegalTreeStateException if this plan is no longer {@linkplain #isValid() valid}
+	 */
+	public T execute() {
+		if (!this.isValid()) throw new IllegalTreeStateException("The structure of the tree changed since this plan was compiled");
+
+		return this.build((writer, parent) -> writer.write());
+	}
+
+	/**
+	 * Serializes the current values of the tree into a new target, whether or not this plan is still valid.
+	 *
+	 * @param encoder produces the serialized value of each leaf, given the target it is added to
+	 * @return the serialized tree
+	 */
+	@SuppressWarnings("unchecked")
+	T build(LeafEncoder<A, T> encoder) {
+		Object[] stack = new Object[this.maxDepth + 1];
+		int depth = 0;
+		stack[0] = this.ctx.newTarget();
+
+		for (int i = 0; i < this.ops.length; i++) {
+			switch (this.ops[i]) {
+			case ENTER_BRANCH:
+				stack[++depth] = this.ctx.newTarget();
+				break;
+			case WRITE_LEAF:
+				T parent = (T) stack[depth];
+				this.ctx.addElement(this.names[i], encoder.encode(this.writers[i], parent), parent, this.comments[i]);
+				break;
+			default:
+				T subTarget = (T) stack[depth];
+				stack[depth--] = null;
+				this.ctx.addSubElement(this.names[i], subTarget, (T) stack[depth], this.comments[i]);
+				break;
+			}
+		}
+
+		return (T) stack[0];
+	}
+
+	/**
+	 * Serializes the current values of the tree to a stream.
+	 *
+	 * @throws IllegalTreeStateException if this plan is no longer {@linkplain #isValid() valid}
+	 */
+	public void serialize(OutputStream out) throws IOException {
+		this.ctx.writeTarget(this.execute(), out);
+	}
+
+	@FunctionalInterface
+	interface LeafEncoder<A, T> {
+		A encode(LeafWriter<?, A> writer, T parent);
+	}
+
+	static final class LeafWriter<V, A> {
+		final ConfigLeaf<V> leaf;
+		final ValueCodec<V, A> codec;
+
+		LeafWriter(ConfigLeaf<V> leaf, ValueSerializer<A, ?> ctx) {
+			this.leaf = leaf;
+			this.codec = ctx.getCodec(leaf.getConfigType());
+		}
+
+		A write() {
+			return this.codec.encode(this.leaf.getValue());
+		}
+	}
+
+	private static final class Compiler<A> {
+		final ValueSerializer<A, ?> ctx;
+		final List<Byte> ops = new ArrayList<>();
+		final List<String> names = new ArrayList<>();
+		final List<String> comments = new ArrayList<>();
+		final List<LeafWriter<?, A>> writers = new ArrayList<>();
+		int maxDepth;
+		// false once a branch that does not report its structure changes was compiled
+		boolean tracked = true;
+
+		Compiler(ValueSerializer<A, ?> ctx) {
+			this.ctx = ctx;
+		}
+
+		void compile(ConfigNode node, int depth) {
+			String name = Objects.requireNonNull(node.getName());
+			String comment;
+
+			if (node instanceof Commentable) {
+				comment = ((Commentable) node).getComment();
+			} else {
+				comment = null;
+			}
+
+			if (node instanceof ConfigBranch) {
+				ConfigBranch branch = (ConfigBranch) node;
+
+				if (!branch.isSerializedSeparately()) {
+					this.tracked &= branch instanceof ConfigBranchImpl;
+					this.maxDepth = Math.max(this.maxDepth, depth + 1);
+					this.add(ENTER_BRANCH, name, comment, null);
+
+					for (ConfigNode subNode : branch.getItems()) {
+						this.compile(subNode, depth + 1);
+					}
+
+					this.add(EXIT_BRANCH, name, comment, null);
+				}
+			} else if (node instanceof ConfigLeaf<?>) {
+				this.add(WRITE_LEAF, name, comment, new LeafWriter<>((ConfigLeaf<?>) node, this.ctx));
+			}
+		}
+
+		private void add(byte op, String name, @Nullable String comment, @Nullable LeafWriter<?, A> writer) {
+			this.ops.add(op);
+			this.names.add(name);
+			this.comments.add(comment);
+			this.writers.add(writer);
+		}
+	}
+}
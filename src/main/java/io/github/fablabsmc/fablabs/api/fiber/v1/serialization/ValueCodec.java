@@ -0,0 +1,122 @@
+package io.github.fablabsmc.fablabs.api.fiber.v1.serialization;
+
+import java.math.BigDecimal;
+
+import io.github.fablabsmc.fablabs.api.fiber.v1.exception.ValueDeserializationException;
+import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.BooleanSerializableType;
+import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.DecimalSerializableType;
+import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.EnumSerializableType;
+import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.SerializableType;
+import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.StringSerializableType;
+
+/**
+ * An encoder and decoder pair for values of a single {@link SerializableType}, specialized
+ * for a single {@link ValueSerializer}.
+ *
+ * <p>Codecs are resolved once, then reused for every value of their type. Unlike
+ * {@link SerializableType#serializeValue(Object, ValueSerializer)}, which dispatches on both
+ * the type and the serializer for every value, a codec knows both in advance.
+ *
+ * @param <V> the platform type of values
+ * @param <A> the type of serialized elements
+ * @see ValueSerializer#getCodec(SerializableType)
+ */
+public interface ValueCodec<V, A> {
+	/**
+	 * Converts a value into the serialized form.
+	 *
+	 * @param value the value, fulfilling the constraints of this codec's type
+	 * @return the serialized form
+	 */
+	A encode(V value);
+
+	/**
+	 * Converts the serialized form to a value.
+	 *
+	 * @param elem the serialized form
+	 * @return the value, which may not fulfill the constraints of this codec's type
+	 * @throws ValueDeserializationException if the serialized form cannot be converted into an object of
+	 *                                       the correct platform type
+	 */
+	V decode(A elem) throws ValueDeserializationException;
+
+	/**
+	 * Creates a codec calling the methods of {@code serializer} corresponding to {@code type}.
+	 *
+	 * <p>Scalar types are bound directly to the matching {@code serialize*} and {@code deserialize*} methods.
+	 * Other types go through {@link SerializableType#serializeValue(Object, ValueSerializer)} and
+	 * {@link SerializableType#deserializeValue(Object, ValueSerializer)}.
+	 *
+	 * @param type       the type of values
+	 * @param serializer the serializer
+	 * @return a codec for {@code type}
+	 */
+	@SuppressWarnings("unchecked")
+	static <V, A> ValueCodec<V, A> generic(SerializableType<V> type, ValueSerializer<A, ?> serializer) {
+		if (type instanceof BooleanSerializableType) {
+			BooleanSerializableType booleanType = (BooleanSerializableType) type;
+			return (ValueCodec<V, A>) new ValueCodec<Boolean, A>() {
+				@Override
+				public A encode(Boolean value) {
+					return serializer.serializeBoolean(value, booleanType);
+				}
+
+				@Override
+				public Boolean decode(A elem) throws ValueDeserializationException {
+					return serializer.deserializeBoolean(elem, booleanType);
+				}
+			};
+		} else if (type instanceof DecimalSerializableType) {
+			DecimalSerializableType decimalType = (DecimalSerializableType) type;
+			return (ValueCodec<V, A>) new ValueCodec<BigDecimal, A>() {
+				@Override
+				public A encode(BigDecimal value) {
+					return serializer.serializeNumber(value, decimalType);
+				}
+
+				@Override
+				public BigDecimal decode(A elem) throws ValueDeserializationException {
+					return serializer.deserializeNumber(elem, decimalType);
+				}
+			};
+		} else if (type instanceof StringSerializableType) {
+			StringSerializableType stringType = (StringSerializableType) type;
+			return (ValueCodec<V, A>) new ValueCodec<String, A>() {
+				@Override
+				public A encode(String value) {
+					return serializer.serializeString(value, stringType);
+				}
+
+				@Override
+				public String decode(A elem) throws ValueDeserializationException {
+					return serializer.deserializeString(elem, stringType);
+				}
+			};
+		} else if (type instanceof EnumSerializableType) {
+			EnumSerializableType enumType = (EnumSerializableType) type;
+			return (ValueCodec<V, A>) new ValueCodec<String, A>() {
+				@Override
+				public A encode(String value) {
+					return serializer.serializeEnum(value, enumType);
+				}
+
+				@Override
+				public String decode(A elem) throws ValueDeserializationException {
+					return serializer.deserializeEnum(elem, enumType);
+				}
+			};
+		}
+
+		return new ValueCodec<V, A>() {
+			@Override
+			public A encode(V value) {
+				return type.serializeValue(value, serializer);
+			}
+
+			@Override
+			public V decode(A elem) throws ValueDeserializationException {
+				return type.deserializeValue(elem, serializer);
+			}
+		};
+	}
+}
@@ -4,6 +4,10 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -19,6 +23,9 @@ import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.MapSerializableType;
 import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.RecordSerializableType;
 import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.SerializableType;
 import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.StringSerializableType;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigTree;
+import io.github.fablabsmc.fablabs.impl.fiber.serialization.ByteBufferInputStream;
+import io.github.fablabsmc.fablabs.impl.fiber.serialization.ByteBufferOutputStream;
 
 /**
  * Adapter between a tree serialization library and Fiber. To use a library like
@@ -171,6 +178,21 @@ public interface ValueSerializer<A, T> {
 	 */
 	Map<String, Object> deserializeRecord(A elem, RecordSerializableType type) throws ValueDeserializationException;
 
+	/**
+	 * Returns a codec converting values of the given type with this serializer.
+	 *
+	 * <p>Callers converting many values of the same type should resolve its codec once and reuse it.
+	 * Serializers may return codecs specialized for aggregate types, that convert nested elements
+	 * through the codecs of their element types rather than through {@link SerializableType}. Such serializers
+	 * should cache their codecs. The default implementation returns a new {@linkplain ValueCodec#generic(SerializableType, ValueSerializer) generic codec}.
+	 *
+	 * @param type The type of values.
+	 * @return A codec for the given type.
+	 */
+	default <V> ValueCodec<V, A> getCodec(SerializableType<V> type) {
+		return ValueCodec.generic(type, this);
+	}
+
 	/**
 	 * Aggregates a serialized value, associated with the given key, into the target. It is unspecified
 	 * whether duplicate keys are allowed.
@@ -193,6 +215,22 @@ public interface ValueSerializer<A, T> {
 	 */
 	void addSubElement(String name, T elem, T target, @Nullable String comment);
 
+	/**
+	 * Replaces the value of an element previously added to a target, keeping its position and comment.
+	 *
+	 * <p>Serializers that cannot replace elements in place return {@code false}, in which case
+	 * callers have to build a new target instead. The default implementation returns {@code false}.
+	 *
+	 * @param name   The name of the element.
+	 * @param elem   The new serialized value of the element.
+	 * @param target The target holding the element.
+	 * @return {@code true} if the element was replaced.
+	 * @see IncrementalSerializer
+	 */
+	default boolean replaceElement(String name, A elem, T target) {
+		return false;
+	}
+
 	/**
 	 * Extracts an {@link Iterator} over all aggregated key-value pairs in the given target.
 	 *
@@ -219,6 +257,42 @@ public interface ValueSerializer<A, T> {
 	 */
 	void writeTarget(T target, OutputStream out) throws IOException;
 
+	/**
+	 * Writes a aggregate target to the given channel.
+	 *
+	 * <p>The default implementation writes to the channel through {@link #writeTarget(Object, OutputStream)}.
+	 *
+	 * @param target The target.
+	 * @param out    The channel.
+	 * @throws IOException If an IO error occurs while writing to the channel.
+	 */
+	default void writeTarget(T target, WritableByteChannel out) throws IOException {
+		this.writeTarget(target, Channels.newOutputStream(out));
+	}
+
+	/**
+	 * Writes a aggregate target into the given buffer, starting at its position.
+	 *
+	 * <p>If the buffer runs out of room, the bytes written so far are moved to a larger buffer,
+	 * direct if {@code out} is direct, and writing continues there. The buffer holding the
+	 * serialized target is returned, positioned after the last written byte. Callers may keep
+	 * the returned buffer to serialize subsequent targets without further allocations.
+	 * When a larger buffer is allocated, {@code out} keeps its limit, and only holds the bytes
+	 * written before it ran out of room.
+	 *
+	 * <p>The default implementation writes into the buffer through {@link #writeTarget(Object, OutputStream)}.
+	 *
+	 * @param target The target.
+	 * @param out    The buffer to write into.
+	 * @return {@code out}, or a larger buffer if {@code out} did not have enough room.
+	 * @throws IOException If an IO error occurs while writing the target.
+	 */
+	default ByteBuffer writeTarget(T target, ByteBuffer out) throws IOException {
+		ByteBufferOutputStream stream = new ByteBufferOutputStream(out);
+		this.writeTarget(target, stream);
+		return stream.getBuffer();
+	}
+
 	/**
 	 * Reads an aggregate target from the given input stream.
 	 *
@@ -229,6 +303,24 @@ public interface ValueSerializer<A, T> {
 	 */
 	T readTarget(InputStream in) throws ValueDeserializationException, IOException;
 
+	/**
+	 * Reads an aggregate target from the given buffer.
+	 *
+	 * <p>The buffer is read from its position up to its limit, and its position is advanced
+	 * by the amount of bytes consumed. The default implementation reads from the buffer through
+	 * {@link #readTarget(InputStream)}, without copying its contents. Serializers able to parse
+	 * a buffer directly should override this method.
+	 *
+	 * @param in The buffer, for example a memory-mapped file.
+	 * @return The target read from the buffer.
+	 * @throws ValueDeserializationException If a target cannot be read from the buffer.
+	 * @throws IOException                   If an IO error occurs while reading from the buffer.
+	 * @see FiberSerialization#deserialize(ConfigTree, Path, ValueSerializer)
+	 */
+	default T readTarget(ByteBuffer in) throws ValueDeserializationException, IOException {
+		return this.readTarget(new ByteBufferInputStream(in));
+	}
+
 	/**
 	 * Creates a new, empty aggregate target.
 	 */
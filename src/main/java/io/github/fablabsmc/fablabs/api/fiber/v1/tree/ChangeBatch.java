@@ -0,0 +1,43 @@
+package io.github.fablabsmc.fablabs.api.fiber.v1.tree;
+
+import java.util.function.BiConsumer;
+
+import io.github.fablabsmc.fablabs.impl.fiber.tree.ChangeBatchImpl;
+
+/**
+ * A scope in which value changes are collected, and delivered to {@link SubtreeListener}s
+ * as a single notification per branch when the scope ends.
+ *
+ * <p>Batches are bound to the thread that began them, and only collect changes made by that thread.
+ * They may be nested, in which case changes are delivered when the outermost batch is closed.
+ * Per-leaf {@linkplain ConfigLeaf#addChangeListener(BiConsumer) change listeners}
+ * are not affected by batches.
+ *
+ * <pre>{@code
+ * try (ChangeBatch batch = ChangeBatch.begin()) {
+ *     leafA.setValue(a);
+ *     leafB.setValue(b);
+ * } // subtree listeners are notified here
+ * }</pre>
+ */
+public interface ChangeBatch extends AutoCloseable {
+	/**
+	 * Begins a change batch in the current thread, or joins the batch already in progress.
+	 *
+	 * <p>Every call returns a new handle, which only ends its own scope when closed.
+	 *
+	 * @return a batch, to be closed once all changes have been made
+	 */
+	static ChangeBatch begin() {
+		return ChangeBatchImpl.begin();
+	}
+
+	/**
+	 * Ends this batch. If this is the last open batch of the current thread,
+	 * collected changes are delivered to the relevant subtree listeners.
+	 *
+	 * <p>Closing a batch more than once has no further effect.
+	 */
+	@Override
+	void close();
+}
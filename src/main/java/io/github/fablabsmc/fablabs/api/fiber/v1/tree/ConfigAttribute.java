@@ -1,5 +1,7 @@
 package io.github.fablabsmc.fablabs.api.fiber.v1.tree;
 
+import java.util.function.BiConsumer;
+
 import javax.annotation.Nonnull;
 
 import io.github.fablabsmc.fablabs.api.fiber.v1.FiberId;
@@ -24,4 +26,32 @@ public interface ConfigAttribute<T> extends Property<T> {
 	SerializableType<T> getConfigType();
 
 	FiberId getIdentifier();
+
+	/**
+	 * Registers a listener called when this attribute's value changes, after every previously registered listener.
+	 *
+	 * <p>Setting a value {@linkplain Object#equals(Object) equal} to the current one is not a change,
+	 * and does not notify listeners.
+	 *
+	 * <p>The default implementation does nothing and returns {@code false}.
+	 * Attributes created by Fiber support listeners.
+	 *
+	 * @param listener a listener called with the old value as first argument and the new value as second argument
+	 * @return {@code true} if the listener was registered, {@code false} if this attribute does not support listeners
+	 */
+	default boolean addChangeListener(BiConsumer<T, T> listener) {
+		return false;
+	}
+
+	/**
+	 * Unregisters a listener previously {@linkplain #addChangeListener(BiConsumer) registered} to this attribute.
+	 *
+	 * <p>The default implementation does nothing and returns {@code false}.
+	 *
+	 * @param listener the listener to unregister
+	 * @return {@code true} if the listener was registered to this attribute, {@code false} otherwise
+	 */
+	default boolean removeChangeListener(BiConsumer<T, T> listener) {
+		return false;
+	}
 }
@@ -61,4 +61,53 @@ public interface ConfigBranch extends ConfigTree, ConfigNode, Commentable {
 	default boolean isSerializedSeparately() {
 		return false;
 	}
+
+	/**
+	 * Returns the version of this branch's subtree.
+	 *
+	 * <p>The version is incremented every time the value of a leaf under this branch effectively changes,
+	 * at any depth, and every time a node is added to or removed from the subtree.
+	 * Polling the version of a branch is a cheap way to find out whether anything changed in it.
+	 *
+	 * <p>Versions are never negative. The default implementation returns {@code -1}, meaning that
+	 * this branch does not track its version, and that data derived from its subtree must not be cached.
+	 * Branches created by Fiber track their version.
+	 *
+	 * @return the current version, which never decreases, or {@code -1} if this branch does not track its version
+	 * @see ConfigLeaf#getVersion()
+	 */
+	default long getVersion() {
+		return -1;
+	}
+
+	/**
+	 * Registers a listener to be notified when the value of any leaf under this branch changes.
+	 *
+	 * <p>Leaves are observed at any depth, as long as they are attached to this branch
+	 * at the time of the change.
+	 *
+	 * <p>The default implementation does nothing and returns {@code false}.
+	 * Branches created by Fiber support subtree listeners.
+	 *
+	 * @param listener the listener to register
+	 * @return {@code true} if the listener was registered, {@code false} if this branch does not support subtree listeners
+	 * @see ChangeBatch
+	 */
+	default boolean addSubtreeListener(SubtreeListener listener) {
+		return false;
+	}
+
+	/**
+	 * Unregisters a listener previously {@linkplain #addSubtreeListener(SubtreeListener) registered}
+	 * to this branch.
+	 *
+	 * <p>The default implementation does nothing and returns {@code false}, as no listener can be
+	 * registered to a branch that does not override {@link #addSubtreeListener(SubtreeListener)}.
+	 *
+	 * @param listener the listener to unregister
+	 * @return {@code true} if the listener was registered to this branch, {@code false} otherwise
+	 */
+	default boolean removeSubtreeListener(SubtreeListener listener) {
+		return false;
+	}
 }
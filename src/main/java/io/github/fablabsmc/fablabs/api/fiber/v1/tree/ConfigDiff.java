@@ -0,0 +1,108 @@
+package io.github.fablabsmc.fablabs.api.fiber.v1.tree;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+import io.github.fablabsmc.fablabs.impl.fiber.tree.ContentHash;
+
+/**
+ * Compares the content of config trees, for example the config of a server and the config of a client,
+ * or a config on disk and the same config in memory.
+ *
+ * <p>Every branch caches a hash of its subtree's content, computed from the values of its leaves
+ * in canonical form. The cached hashes are kept up to date as values change: changing a leaf only
+ * invalidates the hashes of its ancestors, and computing them again only descends into the branches
+ * that changed. Comparing two trees is then a single comparison of their root hashes, and
+ * {@linkplain #diff(ConfigTree, ConfigTree) finding the differences} only walks the subtrees whose hashes differ.
+ *
+ * <p>Content hashes ignore the names of the compared roots, comments and attributes. Decimal values are
+ * compared by numeric value, so {@code 1} and {@code 1.0} are equal. Hashes are 64 bits wide: distinct
+ * content with the same hash is possible, but extremely unlikely.
+ *
+ * <pre>{@code
+ * if (!ConfigDiff.contentEquals(serverConfig, clientConfig)) {
+ *     for (List<String> path : ConfigDiff.diff(serverConfig, clientConfig)) {
+ *         // resend the setting at path
+ *     }
+ * }
+ * }</pre>
+ */
+public final class ConfigDiff {
+	private ConfigDiff() {
+	}
+
+	/**
+	 * Returns the hash of a tree's content.
+	 *
+	 * <p>Trees with equal content, as described in the {@linkplain ConfigDiff class documentation}, have the same hash.
+	 *
+	 * @param tree the tree to hash
+	 * @return the content hash, from the tree's cache when possible
+	 */
+	public static long contentHash(ConfigTree tree) {
+		return ContentHash.ofTree(tree);
+	}
+
+	/**
+	 * Returns {@code true} if two trees have the same content.
+	 *
+	 * <p>This only compares the cached root hashes of {@code a} and {@code b}, unless one of them changed since its
+	 * hash was last computed.
+	 */
+	public static boolean contentEquals(ConfigTree a, ConfigTree b) {
+		return contentHash(a) == contentHash(b);
+	}
+
+	/**
+	 * Finds the nodes that differ between two trees.
+	 *
+	 * <p>A node differs if it is only present in one tree, if it is a leaf in one tree and a branch in the other,
+	 * or if it is a leaf with a different value in each tree. Branches with the same hash are skipped entirely,
+	 * and nodes only present in one tree are reported without their descendants.
+	 *
+	 * @param a the first tree
+	 * @param b the second tree
+	 * @return the paths to the differing nodes, relative to the compared trees
+	 */
+	public static List<List<String>> diff(ConfigTree a, ConfigTree b) {
+		List<List<String>> differences = new ArrayList<>();
+		diff(a, b, Collections.emptyList(), differences);
+		return differences;
+	}
+
+	private static void diff(ConfigTree a, ConfigTree b, List<String> path, List<List<String>> differences) {
+		if (contentHash(a) == contentHash(b)) {
+			return;
+		}
+
+		for (ConfigNode childA : a.getItems()) {
+			compare(childA, b.lookup(childA.getName()), path, differences);
+		}
+
+		for (ConfigNode childB : b.getItems()) {
+			if (a.lookup(childB.getName()) == null) {
+				differences.add(append(path, childB.getName()));
+			}
+		}
+	}
+
+	private static void compare(ConfigNode childA, @Nullable ConfigNode childB, List<String> path, List<List<String>> differences) {
+		if (childB == null) {
+			differences.add(append(path, childA.getName()));
+		} else if (childA instanceof ConfigTree && childB instanceof ConfigTree) {
+			diff((ConfigTree) childA, (ConfigTree) childB, append(path, childA.getName()), differences);
+		} else if (ContentHash.ofNode(childA) != ContentHash.ofNode(childB)) {
+			differences.add(append(path, childA.getName()));
+		}
+	}
+
+	private static List<String> append(List<String> path, String name) {
+		List<String> child = new ArrayList<>(path.size() + 1);
+		child.addAll(path);
+		child.add(name);
+		return Collections.unmodifiableList(child);
+	}
+}
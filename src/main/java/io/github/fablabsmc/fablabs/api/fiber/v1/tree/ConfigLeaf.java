@@ -1,5 +1,6 @@
 package io.github.fablabsmc.fablabs.api.fiber.v1.tree;
 
+import java.lang.invoke.MethodHandle;
 import java.util.function.BiConsumer;
 
 import javax.annotation.Nonnull;
@@ -7,6 +8,7 @@ import javax.annotation.Nullable;
 
 import io.github.fablabsmc.fablabs.api.fiber.v1.builder.ConfigLeafBuilder;
 import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.SerializableType;
+import io.github.fablabsmc.fablabs.impl.fiber.tree.ConfigLeafImpl;
 
 /**
  * A {@code ConfigNode} with some value of type {@code T}.
@@ -27,8 +29,12 @@ public interface ConfigLeaf<T> extends ConfigNode, Property<T>, Commentable {
 	 *     <li> otherwise, the current value is not updated and the method returns {@code false}. </li>
 	 * </ul>
 	 *
+	 * <p>Setting a value {@linkplain Object#equals(Object) equal} to the current one succeeds,
+	 * but is not a change: the current value is kept, the {@linkplain #getVersion() version} is not incremented,
+	 * and listeners are not notified.
+	 *
 	 * @param value the new value this {@code ConfigLeaf} should hold
-	 * @return {@code true} if this property changed as a result of the call, and {@code false} otherwise.
+	 * @return {@code true} if the value, or a corrected value, was accepted, and {@code false} otherwise.
 	 * @see ConfigLeaf#accepts(Object)
 	 */
 	@Override
@@ -78,8 +84,79 @@ public interface ConfigLeaf<T> extends ConfigNode, Property<T>, Commentable {
 	@Nonnull
 	BiConsumer<T, T> getListener();
 
+	/**
+	 * Registers a listener called when this item's value changes, after every previously registered listener.
+	 *
+	 * @param listener a listener called with the old value as first argument and the new value as second argument
+	 * @see ListenerDispatcher
+	 */
 	void addChangeListener(BiConsumer<T, T> listener);
 
+	/**
+	 * Unregisters a listener previously {@linkplain #addChangeListener(BiConsumer) registered} to this item.
+	 *
+	 * <p>The default implementation does nothing and returns {@code false}, leaving the listener registered.
+	 * Leaves created by Fiber support unregistering listeners.
+	 *
+	 * @param listener the listener to unregister
+	 * @return {@code true} if the listener was unregistered from this item, {@code false} otherwise
+	 */
+	default boolean removeChangeListener(BiConsumer<T, T> listener) {
+		return false;
+	}
+
+	/**
+	 * Returns a method handle returning the current value of this leaf.
+	 *
+	 * <p>The handle takes no argument, and returns the {@linkplain SerializableType#getErasedPlatformType() erased platform type}
+	 * of this leaf. It is backed by a {@link java.lang.invoke.MutableCallSite} that is re-targeted
+	 * whenever the value changes. When stored in a {@code static final} field and called with
+	 * {@link MethodHandle#invokeExact(Object...) invokeExact}, the JIT can treat the value as a constant,
+	 * and deoptimizes dependent code when the value changes:
+	 * <pre>{@code
+	 * static final MethodHandle MAX_ENTITIES = leaf.getValueHandle();
+	 *
+	 * BigDecimal max = (BigDecimal) MAX_ENTITIES.invokeExact();
+	 * }</pre>
+	 *
+	 * <p>Once a handle has been requested, changing the value of this leaf is expensive, as it requires
+	 * {@linkplain java.lang.invoke.MutableCallSite#syncAll(java.lang.invoke.MutableCallSite[]) synchronizing} all threads.
+	 * It should be reserved to values that are read far more often than they are changed.
+	 *
+	 * <p>The default implementation returns a handle calling {@link #getValue()}, which the JIT cannot
+	 * treat as a constant. Leaves created by Fiber return handles backed by a call site.
+	 *
+	 * @return a handle of type {@code ()E} returning the current value, where {@code E} is the erased platform type
+	 * of this leaf's {@linkplain #getConfigType() type}
+	 */
+	default MethodHandle getValueHandle() {
+		return ConfigLeafImpl.getterHandle(this, this.getConfigType().getErasedPlatformType());
+	}
+
+	/**
+	 * Returns the version of this leaf's value.
+	 *
+	 * <p>The version is incremented every time the value effectively changes. Code caching data derived
+	 * from the value can compare a single {@code long} to find out whether the value changed, without
+	 * registering a listener or comparing values:
+	 * <pre>{@code
+	 * if (leaf.getVersion() != this.cachedVersion) {
+	 *     this.cachedVersion = leaf.getVersion();
+	 *     this.cached = derive(leaf.getValue());
+	 * }
+	 * }</pre>
+	 *
+	 * <p>Versions are never negative. The default implementation returns {@code -1}, meaning that
+	 * this leaf does not track its version, and that data derived from its value must not be cached.
+	 * Leaves created by Fiber track their version.
+	 *
+	 * @return the current version, which never decreases, or {@code -1} if this leaf does not track its version
+	 * @see ConfigBranch#getVersion()
+	 */
+	default long getVersion() {
+		return -1;
+	}
+
 	/**
 	 * Returns the default value for this item.
 	 *
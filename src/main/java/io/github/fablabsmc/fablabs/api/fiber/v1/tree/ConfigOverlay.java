@@ -0,0 +1,239 @@
+package io.github.fablabsmc.fablabs.api.fiber.v1.tree;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import io.github.fablabsmc.fablabs.api.fiber.v1.exception.FiberQueryException;
+import io.github.fablabsmc.fablabs.impl.fiber.tree.ConfigBranchImpl;
+import io.github.fablabsmc.fablabs.impl.fiber.tree.ConfigLeafImpl;
+
+/**
+ * An ordered stack of config trees sharing the same schema, resolved as a single config.
+ *
+ * <p>The bottom layer usually holds every setting with its default value. Upper layers, for example
+ * server, world and per-player settings, are sparse: they only hold the leaves they override.
+ * The value of a setting is the value of the matching leaf in the topmost layer that has one.
+ * Values are never copied between layers, so memory and reload time scale with the number of overrides.
+ *
+ * <p>Writes through the overlay always go to the top layer. If the top layer does not override
+ * the written setting yet, the missing branches and leaf are created in it on first write.
+ *
+ * <p>The layer providing each queried setting is cached, and the cache is cleared once nodes are added to
+ * or removed from any layer. Changing the value of an existing leaf does not require resolving again,
+ * as values are read from the providing leaf directly. Layers holding branches of other implementations
+ * than Fiber's, at any depth, cannot report structure changes, so settings are resolved again on every read.
+ *
+ * <pre>{@code
+ * ConfigOverlay overlay = ConfigOverlay.of(defaults, server, world, player);
+ * BigDecimal viewDistance = overlay.getValue(VIEW_DISTANCE);
+ * }</pre>
+ */
+public final class ConfigOverlay {
+	/**
+	 * Structure versions are never negative, so this stamp means resolutions cannot be cached.
+	 */
+	private static final long UNTRACKED = -1;
+
+	private final ConfigBranch[] layers;
+	private final Map<ConfigQuery<?>, Resolution> resolutions = new ConcurrentHashMap<>();
+	private volatile long resolvedStamp = UNTRACKED;
+
+	private ConfigOverlay(ConfigBranch[] layers) {
+		this.layers = layers;
+	}
+
+	/**
+	 * Creates an overlay of the given layers.
+	 *
+	 * @param layers the layers, from the lowest to the highest priority
+	 * @return an overlay writing to the last layer
+	 */
+	public static ConfigOverlay of(ConfigBranch... layers) {
+		if (layers.length == 0) throw new IllegalArgumentException("An overlay needs at least one layer");
+
+		return new ConfigOverlay(layers.clone());
+	}
+
+	/**
+	 * Returns the layers of this overlay, from the lowest to the highest priority.
+	 */
+	public List<ConfigBranch> getLayers() {
+		return Arrays.asList(this.layers.clone());
+	}
+
+	/**
+	 * Returns the layer written to by this overlay.
+	 */
+	public ConfigBranch getTopLayer() {
+		return this.layers[this.layers.length - 1];
+	}
+
+	/**
+	 * Finds the leaf providing the value of a setting, in the topmost layer that has one.
+	 *
+	 * @param query a query for the setting
+	 * @param <V>   the type of the setting's values
+	 * @return the providing leaf, or {@link Optional#empty()} if no layer has a matching leaf
+	 */
+	@SuppressWarnings("unchecked")
+	public <V> Optional<ConfigLeaf<V>> resolve(ConfigQuery<ConfigLeaf<V>> query) {
+		long stamp = this.structureStamp();
+
+		if (stamp == UNTRACKED) {
+			return Optional.ofNullable(this.search(query));
+		}
+
+		if (stamp != this.resolvedStamp) {
+			// resolutions of the previous structure are stale, drop them rather than letting them accumulate
+			this.resolutions.clear();
+			this.resolvedStamp = stamp;
+		}
+
+		Resolution resolution = this.resolutions.get(query);
+
+		if (resolution == null || resolution.stamp != stamp) {
+			resolution = new Resolution(stamp, this.search(query));
+			this.resolutions.put(query, resolution);
+		}
+
+		return Optional.ofNullable((ConfigLeaf<V>) resolution.leaf);
+	}
+
+	@Nullable
+	private <V> ConfigLeaf<V> search(ConfigQuery<ConfigLeaf<V>> query) {
+		for (int i = this.layers.length - 1; i >= 0; i--) {
+			Optional<ConfigLeaf<V>> leaf = query.search(this.layers[i]);
+			if (leaf.isPresent()) return leaf.get();
+		}
+
+		return null;
+	}
+
+	/**
+	 * Returns the value of a setting, from the topmost layer that has a matching leaf.
+	 *
+	 * @param query a query for the setting
+	 * @param <V>   the type of the setting's values
+	 * @return the resolved value
+	 * @throws FiberQueryException if no layer has a matching leaf
+	 */
+	@Nonnull
+	public <V> V getValue(ConfigQuery<ConfigLeaf<V>> query) throws FiberQueryException {
+		return this.resolve(query).orElseThrow(() -> new FiberQueryException("No layer has a value for " + query, this.getTopLayer())).getValue();
+	}
+
+	/**
+	 * Sets the value of a setting in the top layer.
+	 *
+	 * <p>If the top layer does not have a matching leaf, one is created, along with any missing branch.
+	 * The new leaf has the same type and comment as the leaf currently providing the value.
+	 *
+	 * @param query a query for the setting
+	 * @param value the new value
+	 * @param <V>   the type of the setting's values
+	 * @return the result of {@link ConfigLeaf#setValue(Object)} on the top layer's leaf
+	 * @throws FiberQueryException if no layer has a matching leaf, or the top layer has
+	 *                             a node of the wrong kind on the setting's path
+	 */
+	public <V> boolean setValue(ConfigQuery<ConfigLeaf<V>> query, @Nonnull V value) throws FiberQueryException {
+		ConfigLeaf<V> resolved = this.resolve(query).orElseThrow(() -> new FiberQueryException("No layer has a value for " + query, this.getTopLayer()));
+		ConfigBranch top = this.getTopLayer();
+		Optional<ConfigLeaf<V>> existing = query.search(top);
+
+		if (existing.isPresent()) {
+			return existing.get().setValue(value);
+		}
+
+		// copy on write: the top layer gets its own leaf, starting from the resolved value
+		List<String> path = query.getPath();
+		ConfigBranch parent = top;
+		// the outermost branch created for this write, if any
+		ConfigBranch created = null;
+
+		for (String name : path.subList(0, path.size() - 1)) {
+			ConfigNode child = parent.lookup(name);
+
+			if (child == null) {
+				child = ConfigTree.builder(parent, name).build();
+				if (created == null) created = (ConfigBranch) child;
+			} else if (!(child instanceof ConfigBranch)) {
+				throw new FiberQueryException.WrongType(parent, child, ConfigBranch.class, null);
+			}
+
+			parent = (ConfigBranch) child;
+		}
+
+		ConfigLeaf<V> leaf = ConfigLeafImpl.createValidated(path.get(path.size() - 1), resolved.getConfigType(), resolved.getComment(), resolved.getValue(), (oldValue, newValue) -> { });
+		parent.getItems().add(leaf);
+
+		if (!leaf.setValue(value)) {
+			// keep the top layer sparse
+			if (created != null) {
+				Objects.requireNonNull(created.getParent()).getItems().remove(created);
+			} else {
+				parent.getItems().remove(leaf);
+			}
+
+			return false;
+		}
+
+		return true;
+	}
+
+	/**
+	 * Removes the value of a setting from the top layer, so that it is provided by a lower layer again.
+	 *
+	 * @param query a query for the setting
+	 * @return {@code true} if the top layer had a matching leaf
+	 */
+	public boolean clearOverride(ConfigQuery<? extends ConfigLeaf<?>> query) {
+		Optional<? extends ConfigLeaf<?>> leaf = query.search(this.getTopLayer());
+
+		if (leaf.isPresent()) {
+			ConfigBranch parent = leaf.get().getParent();
+
+			if (parent != null) {
+				return parent.getItems().remove(leaf.get());
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Combines the structure versions of every layer, to detect nodes being added or removed.
+	 *
+	 * @return the combined version, or {@link #UNTRACKED} if a layer, or any branch within it, does not track its structure
+	 */
+	private long structureStamp() {
+		long stamp = 0;
+
+		for (ConfigBranch layer : this.layers) {
+			if (!(layer instanceof ConfigBranchImpl) || !((ConfigBranchImpl) layer).isStructureTracked()) {
+				return UNTRACKED;
+			}
+
+			stamp += ((ConfigBranchImpl) layer).getStructureVersion();
+		}
+
+		return stamp;
+	}
+
+	private static final class Resolution {
+		final long stamp;
+		@Nullable
+		final ConfigLeaf<?> leaf;
+
+		Resolution(long stamp, @Nullable ConfigLeaf<?> leaf) {
+			this.stamp = stamp;
+			this.leaf = leaf;
+		}
+	}
+}
@@ -3,6 +3,7 @@ package io.github.fablabsmc.fablabs.api.fiber.v1.tree;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 import javax.annotation.Nonnull;
@@ -131,6 +132,26 @@ public final class ConfigQuery<T extends ConfigNode> {
 		}
 	}
 
+	/**
+	 * Returns the names of the nodes on the path to the queried node, starting from the queried tree.
+	 */
+	List<String> getPath() {
+		return this.path;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (o == null || this.getClass() != o.getClass()) return false;
+		ConfigQuery<?> that = (ConfigQuery<?>) o;
+		return this.nodeType == that.nodeType && Objects.equals(this.valueType, that.valueType) && this.path.equals(that.path);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(this.nodeType, this.valueType, this.path);
+	}
+
 	/**
 	 * Returns a string representation of this query.
 	 *
@@ -0,0 +1,140 @@
+package io.github.fablabsmc.fablabs.api.fiber.v1.tree;
+
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A value computed from the values of other leaves, and memoized until one of them changes.
+ *
+ * <p>The value is computed on first read. It is then returned as is, until the
+ * {@linkplain ConfigLeaf#getVersion() version} of an input changes, which only happens when the input's value
+ * effectively changes. The value is not recomputed eagerly: changing several inputs, whether in a
+ * {@link ChangeBatch} or not, costs a single recomputation on the next read.
+ *
+ * <p>Inputs can be leaves or other derived values. Leaves that do not track their version, unlike Fiber's leaves,
+ * are considered changed on every read: values derived from them are recomputed every time.
+ * Derived values do not register listeners, so they can be discarded at any time.
+ *
+ * <pre>{@code
+ * DerivedValue<BigDecimal> effectiveSpawnCap = DerivedValue.of(BigDecimal.class, baseCap, difficultyMultiplier, BigDecimal::multiply);
+ * }</pre>
+ *
+ * @param <T> the type of the derived value
+ */
+public final class DerivedValue<T> implements HasValue<T> {
+	private static final long UNTRACKED = -1;
+
+	private final Class<? super T> type;
+	private final Supplier<? extends T> computation;
+	private final HasValue<?>[] inputs;
+	@Nullable
+	private volatile Memo<T> memo;
+
+	private DerivedValue(Class<? super T> type, Supplier<? extends T> computation, HasValue<?>[] inputs) {
+		for (HasValue<?> input : inputs) {
+			if (!(input instanceof ConfigLeaf) && !(input instanceof DerivedValue)) {
+				throw new IllegalArgumentException("Inputs must be leaves or derived values, got " + input);
+			}
+		}
+
+		this.type = type;
+		this.computation = computation;
+		this.inputs = inputs.clone();
+	}
+
+	/**
+	 * Creates a value derived from a single leaf or derived value.
+	 */
+	public static <A, T> DerivedValue<T> of(Class<? super T> type, HasValue<A> input, Function<? super A, ? extends T> function) {
+		return new DerivedValue<>(type, () -> function.apply(input.getValue()), new HasValue<?>[] {input});
+	}
+
+	/**
+	 * Creates a value derived from two leaves or derived values.
+	 */
+	public static <A, B, T> DerivedValue<T> of(Class<? super T> type, HasValue<A> first, HasValue<B> second, BiFunction<? super A, ? super B, ? extends T> function) {
+		return new DerivedValue<>(type, () -> function.apply(first.getValue(), second.getValue()), new HasValue<?>[] {first, second});
+	}
+
+	/**
+	 * Creates a value derived from any number of leaves or derived values.
+	 *
+	 * @param type        the type of the derived value
+	 * @param computation computes the derived value, reading only the values of {@code inputs}
+	 * @param inputs      every leaf or derived value read by {@code computation}
+	 * @throws IllegalArgumentException if an input is neither a {@link ConfigLeaf} nor a {@code DerivedValue}
+	 */
+	public static <T> DerivedValue<T> of(Class<? super T> type, Supplier<? extends T> computation, HasValue<?>... inputs) {
+		return new DerivedValue<>(type, computation, inputs);
+	}
+
+	/**
+	 * Returns the derived value, computing it if an input changed since it was last computed.
+	 */
+	@Nonnull
+	@Override
+	public T getValue() {
+		// read the versions first, so that a concurrent change causes at worst a spurious recomputation
+		long version = this.getVersion();
+		Memo<T> memo = this.memo;
+
+		if (version == UNTRACKED) {
+			return Objects.requireNonNull(this.computation.get(), "Derived value");
+		}
+
+		if (memo == null || memo.version != version) {
+			memo = new Memo<>(version, Objects.requireNonNull(this.computation.get(), "Derived value"));
+			this.memo = memo;
+		}
+
+		return memo.value;
+	}
+
+	/**
+	 * Returns the version of this value's inputs.
+	 *
+	 * <p>Input versions never decrease, so their sum changes whenever an input changes.
+	 *
+	 * @return the sum of the versions of the inputs, or {@code -1} if an input does not track its version
+	 * @see ConfigLeaf#getVersion()
+	 */
+	public long getVersion() {
+		long version = 0;
+
+		for (HasValue<?> input : this.inputs) {
+			long inputVersion;
+
+			if (input instanceof ConfigLeaf) {
+				inputVersion = ((ConfigLeaf<?>) input).getVersion();
+			} else {
+				inputVersion = ((DerivedValue<?>) input).getVersion();
+			}
+
+			if (inputVersion == UNTRACKED) return UNTRACKED;
+
+			version += inputVersion;
+		}
+
+		return version;
+	}
+
+	@Override
+	public Class<? super T> getType() {
+		return this.type;
+	}
+
+	private static final class Memo<T> {
+		final long version;
+		final T value;
+
+		Memo(long version, T value) {
+			this.version = version;
+			this.value = value;
+		}
+	}
+}
@@ -0,0 +1,123 @@
+package io.github.fablabsmc.fablabs.api.fiber.v1.tree;
+
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+
+import io.github.fablabsmc.fablabs.api.fiber.v1.builder.ConfigLeafBuilder;
+import io.github.fablabsmc.fablabs.impl.fiber.tree.SerializedListener;
+import io.github.fablabsmc.fablabs.impl.fiber.tree.SynchronousDispatcher;
+
+/**
+ * A policy deciding on which thread, and in which order, change listeners are called.
+ *
+ * <p>By default, listeners run synchronously in the thread that changed a leaf's value.
+ * A {@code ListenerDispatcher} wraps a listener so that it is invoked according to its policy
+ * instead. The wrapped listener can then be registered as any other listener,
+ * for example through {@link ConfigLeaf#addChangeListener(BiConsumer)}.
+ *
+ * <p>Every call to {@link #dispatch(BiConsumer)} creates a new wrapper with its own state.
+ * Ordering guarantees therefore hold per wrapped listener.
+ *
+ * @see ConfigLeafBuilder#withListener(ListenerDispatcher, BiConsumer)
+ */
+public interface ListenerDispatcher {
+	/**
+	 * Wraps a listener according to this dispatch policy.
+	 *
+	 * @param listener the listener to wrap
+	 * @param <T>      the type of values observed by the listener
+	 * @return a listener dispatching changes to {@code listener}
+	 */
+	<T> BiConsumer<T, T> dispatch(BiConsumer<T, T> listener);
+
+	/**
+	 * Returns a dispatcher calling listeners directly in the thread that changed the value.
+	 * This is the default behaviour for listeners.
+	 *
+	 * <p>This method always returns the same instance.
+	 */
+	static ListenerDispatcher synchronous() {
+		return SynchronousDispatcher.INSTANCE;
+	}
+
+	/**
+	 * Returns a dispatcher submitting every change to the given executor as a separate task.
+	 *
+	 * <p>Changes may be observed concurrently and out of order. Backpressure is left to the executor,
+	 * for example through a bounded work queue and a rejection policy.
+	 *
+	 * @param executor the executor running listeners
+	 * @return an asynchronous, unordered dispatcher
+	 */
+	static ListenerDispatcher async(Executor executor) {
+		return new ListenerDispatcher() {
+			@Override
+			public <T> BiConsumer<T, T> dispatch(BiConsumer<T, T> listener) {
+				return (oldValue, newValue) -> executor.execute(() -> listener.accept(oldValue, newValue));
+			}
+		};
+	}
+
+	/**
+	 * Returns a dispatcher running listeners on the given executor, one change at a time
+	 * and in the order the changes happened. Pending changes are not bounded.
+	 *
+	 * @param executor the executor running listeners
+	 * @return an asynchronous, ordered dispatcher
+	 * @see #serialized(Executor, int, Overflow)
+	 */
+	static ListenerDispatcher serialized(Executor executor) {
+		return serialized(executor, Integer.MAX_VALUE, Overflow.BLOCK);
+	}
+
+	/**
+	 * Returns a dispatcher running listeners on the given executor, one change at a time
+	 * and in the order the changes happened.
+	 *
+	 * <p>At most {@code capacity} changes are kept pending for each wrapped listener.
+	 * What happens to further changes is decided by the {@code overflow} policy.
+	 *
+	 * @param executor the executor running listeners
+	 * @param capacity the maximum amount of pending changes per listener
+	 * @param overflow the behaviour once {@code capacity} changes are pending
+	 * @return an asynchronous, ordered dispatcher
+	 */
+	static ListenerDispatcher serialized(Executor executor, int capacity, Overflow overflow) {
+		if (capacity <= 0) throw new IllegalArgumentException("Capacity must be positive, was " + capacity);
+
+		return new ListenerDispatcher() {
+			@Override
+			public <T> BiConsumer<T, T> dispatch(BiConsumer<T, T> listener) {
+				return new SerializedListener<>(executor, capacity, overflow, listener);
+			}
+		};
+	}
+
+	/**
+	 * What to do with a change when a {@linkplain #serialized(Executor, int, Overflow) serialized}
+	 * listener has too many pending changes.
+	 */
+	enum Overflow {
+		/**
+		 * Block the thread changing the value until there is room for the change.
+		 *
+		 * <p>This must not be used with an executor running tasks in the calling thread,
+		 * if listeners may themselves change the observed value.
+		 */
+		BLOCK,
+		/**
+		 * Drop the new change.
+		 */
+		DROP_NEWEST,
+		/**
+		 * Drop the oldest pending change to make room for the new one.
+		 */
+		DROP_OLDEST,
+		/**
+		 * Merge all pending changes into a single one, going from the oldest pending
+		 * previous value to the newest value. With this policy, at most one change is pending
+		 * at any time, regardless of the capacity.
+		 */
+		COALESCE
+	}
+}
@@ -1,6 +1,9 @@
 package io.github.fablabsmc.fablabs.api.fiber.v1.tree;
 
+import java.lang.invoke.MethodHandle;
+
 import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.derived.ConfigType;
+import io.github.fablabsmc.fablabs.impl.fiber.tree.ConfigLeafImpl;
 import io.github.fablabsmc.fablabs.impl.fiber.tree.PropertyMirrorImpl;
 
 /**
@@ -50,4 +53,24 @@ public interface PropertyMirror<T> extends Property<T> {
 	 * Returns the {@link ConfigType} of the mirrored property.
 	 */
 	ConfigType<T, ?, ?> getMirroredType();
+
+	/**
+	 * Returns a method handle returning the current value of this mirror.
+	 *
+	 * <p>The handle takes no argument, and returns the {@linkplain ConfigType#getRuntimeType() runtime type}
+	 * of the mirrored type, which may be primitive. Like {@link ConfigLeaf#getValueHandle()}, it lets the JIT
+	 * treat the value as a constant when stored in a {@code static final} field and called with
+	 * {@link MethodHandle#invokeExact(Object...) invokeExact}.
+	 *
+	 * <p>The default implementation returns a handle calling {@link #getValue()}, which the JIT cannot
+	 * treat as a constant. Mirrors created by Fiber return handles backed by a call site.
+	 *
+	 * @return a handle returning the current value
+	 * @throws IllegalStateException if the mirrored property is not a {@link ConfigLeaf}
+	 */
+	default MethodHandle getValueHandle() {
+		if (!(this.getMirrored() instanceof ConfigLeaf)) throw new IllegalStateException("Value handles require a mirrored ConfigLeaf");
+
+		return ConfigLeafImpl.getterHandle(this, this.getMirroredType().getRuntimeType());
+	}
 }
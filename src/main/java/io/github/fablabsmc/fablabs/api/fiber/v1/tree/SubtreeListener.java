@@ -0,0 +1,22 @@
+package io.github.fablabsmc.fablabs.api.fiber.v1.tree;
+
+import java.util.Set;
+
+/**
+ * A listener notified when the value of any leaf under a {@link ConfigBranch} changes.
+ *
+ * <p>Changes made within a {@link ChangeBatch} are delivered together once the batch is closed,
+ * as a single notification per branch. Other changes are delivered immediately, one leaf at a time.
+ *
+ * @see ConfigBranch#addSubtreeListener(SubtreeListener)
+ */
+@FunctionalInterface
+public interface SubtreeListener {
+	/**
+	 * Called after one or more leaves under {@code branch} changed.
+	 *
+	 * @param branch  the branch this listener is registered to
+	 * @param changed the changed descendant leaves, in the order they first changed
+	 */
+	void onChange(ConfigBranch branch, Set<ConfigLeaf<?>> changed);
+}
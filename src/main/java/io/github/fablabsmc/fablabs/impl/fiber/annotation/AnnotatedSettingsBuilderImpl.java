@@ -29,6 +29,7 @@ import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.derived.ConfigTypes;
 import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.derived.ListConfigType;
 import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.derived.NumberConfigType;
 import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.derived.StringConfigType;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ListenerDispatcher;
 import io.github.fablabsmc.fablabs.impl.fiber.annotation.collect.MemberCollectorImpl;
 import io.github.fablabsmc.fablabs.impl.fiber.annotation.collect.MemberCollectorRecursiveImpl;
 
@@ -39,6 +40,7 @@ public final class AnnotatedSettingsBuilderImpl implements AnnotatedSettings.Bui
 	private final Map<Class<? extends Annotation>, BranchAnnotationProcessor<?>> groupSettingProcessors = new LinkedHashMap<>();
 	private final Map<Class<? extends Annotation>, ConstraintAnnotationProcessor<?>> constraintProcessors = new LinkedHashMap<>();
 	private SettingNamingConvention convention = SettingNamingConvention.NONE;
+	private ListenerDispatcher listenerDispatcher = ListenerDispatcher.synchronous();
 	@Nullable
 	private MemberCollector collector;
 	private boolean collectRecursively;
@@ -68,6 +70,12 @@ public final class AnnotatedSettingsBuilderImpl implements AnnotatedSettings.Bui
 		return this;
 	}
 
+	@Override
+	public AnnotatedSettings.Builder dispatchListenersWith(ListenerDispatcher dispatcher) {
+		this.listenerDispatcher = dispatcher;
+		return this;
+	}
+
 	@Override
 	public AnnotatedSettings.Builder useNamingConvention(SettingNamingConvention convention) {
 		this.convention = convention;
@@ -176,7 +184,7 @@ public final class AnnotatedSettingsBuilderImpl implements AnnotatedSettings.Bui
 			collector = new MemberCollectorImpl(this.annotatedOnly);
 		}
 
-		return new AnnotatedSettingsImpl(this.registeredGenericTypes, this.registeredTypes, this.valueSettingProcessors, this.groupSettingProcessors, this.constraintProcessors, collector, this.convention);
+		return new AnnotatedSettingsImpl(this.registeredGenericTypes, this.registeredTypes, this.valueSettingProcessors, this.groupSettingProcessors, this.constraintProcessors, collector, this.convention, this.listenerDispatcher);
 	}
 
 	{
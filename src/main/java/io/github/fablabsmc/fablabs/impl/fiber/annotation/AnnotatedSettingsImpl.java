@@ -1,10 +1,12 @@
 package io.github.fablabsmc.fablabs.impl.fiber.annotation;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.AnnotatedArrayType;
 import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.AnnotatedParameterizedType;
 import java.lang.reflect.AnnotatedType;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Member;
@@ -29,6 +31,7 @@ import io.github.fablabsmc.fablabs.api.fiber.v1.annotation.AnnotatedSettings;
 import io.github.fablabsmc.fablabs.api.fiber.v1.annotation.Setting;
 import io.github.fablabsmc.fablabs.api.fiber.v1.annotation.SettingNamingConvention;
 import io.github.fablabsmc.fablabs.api.fiber.v1.annotation.Settings;
+import io.github.fablabsmc.fablabs.api.fiber.v1.annotation.SettingsSnapshot;
 import io.github.fablabsmc.fablabs.api.fiber.v1.annotation.collect.MemberCollector;
 import io.github.fablabsmc.fablabs.api.fiber.v1.annotation.collect.PojoMemberProcessor;
 import io.github.fablabsmc.fablabs.api.fiber.v1.annotation.processor.BranchAnnotationProcessor;
@@ -46,8 +49,11 @@ import io.github.fablabsmc.fablabs.api.fiber.v1.exception.RuntimeFiberException;
 import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.derived.ConfigType;
 import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.derived.ConfigTypes;
 import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigBranch;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigLeaf;
 import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigTree;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ListenerDispatcher;
 import io.github.fablabsmc.fablabs.impl.fiber.annotation.magic.TypeMagic;
+import io.github.fablabsmc.fablabs.impl.fiber.annotation.view.ConfigViews;
 
 public final class AnnotatedSettingsImpl implements AnnotatedSettings {
 	private final Map<Class<?>, ParameterizedTypeProcessor<?>> registeredGenericTypes;
@@ -57,8 +63,9 @@ public final class AnnotatedSettingsImpl implements AnnotatedSettings {
 	private final Map<Class<? extends Annotation>, ConstraintAnnotationProcessor<?>> constraintProcessors;
 	private final MemberCollector memberCollector;
 	private final SettingNamingConvention convention;
+	private final ListenerDispatcher listenerDispatcher;
 
-	AnnotatedSettingsImpl(Map<Class<?>, ParameterizedTypeProcessor<?>> registeredGenericTypes, Map<Class<?>, ConfigType<?, ?, ?>> registeredTypes, Map<Class<? extends Annotation>, LeafAnnotationProcessor<?>> valueSettingProcessors, Map<Class<? extends Annotation>, BranchAnnotationProcessor<?>> groupSettingProcessors, Map<Class<? extends Annotation>, ConstraintAnnotationProcessor<?>> constraintProcessors, MemberCollector memberCollector, SettingNamingConvention convention) {
+	AnnotatedSettingsImpl(Map<Class<?>, ParameterizedTypeProcessor<?>> registeredGenericTypes, Map<Class<?>, ConfigType<?, ?, ?>> registeredTypes, Map<Class<? extends Annotation>, LeafAnnotationProcessor<?>> valueSettingProcessors, Map<Class<? extends Annotation>, BranchAnnotationProcessor<?>> groupSettingProcessors, Map<Class<? extends Annotation>, ConstraintAnnotationProcessor<?>> constraintProcessors, MemberCollector memberCollector, SettingNamingConvention convention, ListenerDispatcher listenerDispatcher) {
 		this.registeredGenericTypes = Collections.unmodifiableMap(new LinkedHashMap<>(registeredGenericTypes));
 		this.registeredTypes = Collections.unmodifiableMap(new LinkedHashMap<>(registeredTypes));
 		this.valueSettingProcessors = Collections.unmodifiableMap(new LinkedHashMap<>(valueSettingProcessors));
@@ -66,6 +73,7 @@ public final class AnnotatedSettingsImpl implements AnnotatedSettings {
 		this.constraintProcessors = Collections.unmodifiableMap(new LinkedHashMap<>(constraintProcessors));
 		this.memberCollector = memberCollector;
 		this.convention = convention;
+		this.listenerDispatcher = listenerDispatcher;
 	}
 
 	public ConfigBranch makeTree(Object pojo) throws FiberException {
@@ -76,16 +84,107 @@ public final class AnnotatedSettingsImpl implements AnnotatedSettings {
 
 	public <P> void applyToNode(ConfigTree mergeTo, P pojo) throws FiberException {
 		@SuppressWarnings("unchecked") Class<P> pojoClass = (Class<P>) pojo.getClass();
-		SettingNamingConvention convention = findSettingAnnotation(Settings.class, pojoClass)
-				.map(Settings::namingConvention)
-				.map(AnnotatedSettingsImpl::createConvention)
-				.orElse(this.convention);
+		SettingNamingConvention convention = this.findNamingConvention(pojoClass);
 		ConfigTreeBuilder builder = ConfigTree.builder();
 		PojoMemberProcessorImpl processor = this.new PojoMemberProcessorImpl(convention, builder);
 		this.memberCollector.collect(pojo, pojoClass, processor);
 		NodeOperations.moveChildren(builder, mergeTo);
 	}
 
+	@Override
+	public <V> V makeView(Class<V> viewInterface, ConfigTree tree) throws FiberException {
+		// the generated class only needs to access the interface itself, not its enclosing classes
+		if (!viewInterface.isInterface() || !Modifier.isPublic(viewInterface.getModifiers())) {
+			throw new FiberException(viewInterface + " is not a public interface");
+		}
+
+		SettingNamingConvention convention = this.findNamingConvention(viewInterface);
+		Method[] methods = ConfigViews.getViewMethods(viewInterface);
+		MethodHandle[] handles = new MethodHandle[methods.length];
+
+		for (int i = 0; i < methods.length; i++) {
+			handles[i] = this.makeViewHandle(methods[i], tree, convention);
+		}
+
+		return ConfigViews.create(viewInterface, handles);
+	}
+
+	@Override
+	public <P> SettingsSnapshot<P> makeSnapshot(P pojo, ConfigBranch tree) throws FiberException {
+		return new SettingsSnapshotImpl<>(tree, this.makeSnapshotPlan(pojo, tree));
+	}
+
+	private <P> SettingsSnapshotImpl.Plan makeSnapshotPlan(P pojo, ConfigTree tree) throws FiberException {
+		@SuppressWarnings("unchecked") Class<P> pojoClass = (Class<P>) pojo.getClass();
+		SettingNamingConvention convention = this.findNamingConvention(pojoClass);
+		SnapshotMemberProcessor processor = this.new SnapshotMemberProcessor(convention, tree);
+		this.memberCollector.collect(pojo, pojoClass, processor);
+
+		try {
+			Constructor<?> constructor;
+
+			if (pojoClass.isMemberClass() && !Modifier.isStatic(pojoClass.getModifiers())) {
+				// inner group classes are instantiated within the snapshot of their enclosing group
+				constructor = pojoClass.getDeclaredConstructor(pojoClass.getEnclosingClass());
+			} else {
+				constructor = pojoClass.getDeclaredConstructor();
+			}
+
+			constructor.setAccessible(true);
+			return new SettingsSnapshotImpl.Plan(constructor, processor.settings, processor.groups);
+		} catch (NoSuchMethodException e) {
+			throw new FiberException(pojoClass + " has no no-arg constructor, and cannot be used for snapshots", e);
+		}
+	}
+
+	private MethodHandle makeViewHandle(Method method, ConfigTree tree, SettingNamingConvention convention) throws FiberException {
+		String methodName = method.getName();
+		Class<?> returnType = method.getReturnType();
+		Class<?>[] params = method.getParameterTypes();
+		boolean getter;
+		String property;
+		AnnotatedType annotatedType;
+
+		if (params.length == 0 && returnType != void.class) {
+			getter = true;
+			property = stripPrefix(methodName, returnType == boolean.class ? "is" : "get");
+			annotatedType = method.getAnnotatedReturnType();
+		} else if (params.length == 1 && (returnType == void.class || returnType == boolean.class) && !stripPrefix(methodName, "set").equals(methodName)) {
+			getter = false;
+			property = stripPrefix(methodName, "set");
+			annotatedType = method.getAnnotatedParameterTypes()[0];
+		} else {
+			throw new FiberException("View method " + method + " is neither a getter nor a setter");
+		}
+
+		String name = convention.name(property);
+		ConfigType<?, ?, ?> type = this.toConfigType(annotatedType);
+		ConfigLeaf<?> leaf = tree.lookupLeaf(name, type.getSerializedType());
+
+		if (leaf == null) {
+			throw new FiberException("View method " + method + " requires a leaf named '" + name + "' of type " + type.getSerializedType());
+		}
+
+		if (getter) {
+			return ConfigViews.getter(leaf, type, returnType);
+		}
+
+		return ConfigViews.setter(leaf, type, returnType, params[0]);
+	}
+
+	/**
+	 * Removes a bean accessor prefix from a method name, turning {@code getFooBar} into {@code fooBar}.
+	 *
+	 * @return the property name, or {@code methodName} if it does not start with {@code prefix} followed by an upper case letter
+	 */
+	private static String stripPrefix(String methodName, String prefix) {
+		if (methodName.length() <= prefix.length() || !methodName.startsWith(prefix) || !Character.isUpperCase(methodName.charAt(prefix.length()))) {
+			return methodName;
+		}
+
+		return Character.toLowerCase(methodName.charAt(prefix.length())) + methodName.substring(prefix.length() + 1);
+	}
+
 	private static void checkViolation(Field field) throws FiberException {
 		if (Modifier.isFinal(field.getModifiers())) {
 			throw new FiberException("Field '" + field.getName() + "' can not be final");
@@ -96,6 +195,25 @@ public final class AnnotatedSettingsImpl implements AnnotatedSettings {
 		return Optional.ofNullable(field.getAnnotation(annotationType));
 	}
 
+	@Nonnull
+	private static String findName(Field field, SettingNamingConvention convention) {
+		return findSettingAnnotation(Setting.Group.class, field).map(Setting.Group::name).filter(s -> !s.isEmpty()).orElseGet(
+				() -> findSettingAnnotation(Setting.class, field).map(Setting::name).filter(s -> !s.isEmpty()).orElseGet(
+						() -> convention.name(field.getName())
+				)
+		);
+	}
+
+	/**
+	 * Returns the naming convention of a settings class or view interface, which may be overridden by {@link Settings @Settings}.
+	 */
+	private SettingNamingConvention findNamingConvention(Class<?> type) {
+		return findSettingAnnotation(Settings.class, type)
+				.map(Settings::namingConvention)
+				.map(AnnotatedSettingsImpl::createConvention)
+				.orElse(this.convention);
+	}
+
 	private static SettingNamingConvention createConvention(Class<? extends SettingNamingConvention> namingConvention) {
 		try {
 			return namingConvention.newInstance();
@@ -104,31 +222,116 @@ public final class AnnotatedSettingsImpl implements AnnotatedSettings {
 		}
 	}
 
-	private class PojoMemberProcessorImpl implements PojoMemberProcessor {
-		private final SettingNamingConvention convention;
-		private final Map<String, List<Member>> listenerMap = new HashMap<>();
-		private final ConfigTreeBuilder builder;
+	@Nonnull
+	private ConfigType<?, ?, ?> toConfigType(AnnotatedType annotatedType) throws FiberTypeProcessingException {
+		Class<?> clazz = TypeMagic.classForType(annotatedType.getType());
 
-		PojoMemberProcessorImpl(SettingNamingConvention convention, ConfigTreeBuilder builder) {
-			this.convention = convention;
-			this.builder = builder;
+		if (clazz == null) {
+			throw new FiberTypeProcessingException("Unknown type " + annotatedType.getType().getTypeName());
 		}
 
-		@Override
-		public void processListenerMethod(Object pojo, Method method, String name) {
-			this.listenerMap.computeIfAbsent(name, v -> new ArrayList<>()).add(method);
+		@Nonnull ConfigType<?, ?, ?> ret;
+
+		if (annotatedType instanceof AnnotatedArrayType) {
+			ConfigType<?, ?, ?> componentType = this.toConfigType(((AnnotatedArrayType) annotatedType).getAnnotatedGenericComponentType());
+			Class<?> componentClass = clazz.getComponentType();
+			assert componentClass != null;
+			ret = this.makeArrayConfigType(componentClass, componentType);
+		} else if (this.registeredGenericTypes.containsKey(clazz)) {
+			ParameterizedTypeProcessor<?> parameterizedTypeProcessor = this.registeredGenericTypes.get(clazz);
+
+			if (!(annotatedType instanceof AnnotatedParameterizedType)) {
+				throw new FiberTypeProcessingException("Expected type parameters for " + clazz);
+			}
+
+			AnnotatedType[] annotatedTypeArgs = ((AnnotatedParameterizedType) annotatedType).getAnnotatedActualTypeArguments();
+			ConfigType<?, ?, ?>[] typeArguments = new ConfigType[annotatedTypeArgs.length];
+
+			for (int i = 0; i < annotatedTypeArgs.length; i++) {
+				typeArguments[i] = this.toConfigType(annotatedTypeArgs[i]);
+			}
+
+			ret = parameterizedTypeProcessor.process(typeArguments);
+		} else if (this.registeredTypes.containsKey(clazz)) {
+			ret = this.registeredTypes.get(clazz);
+		} else if (clazz.isEnum()) {
+			ret = ConfigTypes.makeEnum(clazz.asSubclass(Enum.class));
+		} else {
+			Optional<Class<?>> closestParent = Stream.concat(this.registeredGenericTypes.keySet().stream(), this.registeredTypes.keySet().stream())
+					.filter(c -> c.isAssignableFrom(clazz))
+					.reduce((c1, c2) -> c1.isAssignableFrom(c2) ? c2 : c1);
+			String closestParentSuggestion = closestParent.map(p -> "declaring the element as '" + p.getTypeName() + "', or ").orElse("");
+			throw new FiberTypeProcessingException("Unknown config type " + annotatedType.getType().getTypeName()
+					+ ". Consider marking as transient, or " + closestParentSuggestion + "registering a new Class -> ConfigType mapping.");
 		}
 
-		@Override
-		public void processListenerField(Object pojo, Field field, String name) {
-			this.listenerMap.computeIfAbsent(name, v -> new ArrayList<>()).add(field);
+		assert ret != null;
+		return this.constrain(ret, annotatedType);
+	}
+
+	@SuppressWarnings("unchecked")
+	private ConfigType<?, ?, ?> makeArrayConfigType(Class<?> componentClass, ConfigType<?, ?, ?> componentType) {
+		assert TypeMagic.wrapPrimitive(componentClass) == TypeMagic.wrapPrimitive(componentType.getRuntimeType()) : "Class=" + componentClass + ", ConfigType=" + componentType;
+
+		if (componentClass == boolean.class) {
+			return ConfigTypes.makeBooleanArray((ConfigType<Boolean, ?, ?>) componentType);
+		} else if (componentClass == byte.class) {
+			return ConfigTypes.makeByteArray((ConfigType<Byte, ?, ?>) componentType);
+		} else if (componentClass == short.class) {
+			return ConfigTypes.makeShortArray((ConfigType<Short, ?, ?>) componentType);
+		} else if (componentClass == int.class) {
+			return ConfigTypes.makeIntArray((ConfigType<Integer, ?, ?>) componentType);
+		} else if (componentClass == long.class) {
+			return ConfigTypes.makeLongArray((ConfigType<Long, ?, ?>) componentType);
+		} else if (componentClass == float.class) {
+			return ConfigTypes.makeFloatArray((ConfigType<Float, ?, ?>) componentType);
+		} else if (componentClass == double.class) {
+			return ConfigTypes.makeDoubleArray((ConfigType<Double, ?, ?>) componentType);
+		} else if (componentClass == char.class) {
+			return ConfigTypes.makeCharArray((ConfigType<Character, ?, ?>) componentType);
+		} else {
+			assert !componentClass.isPrimitive() : "Primitive component type: " + componentClass;
+			return ConfigTypes.makeArray(componentType);
+		}
+	}
+
+	private <T extends ConfigType<?, ?, ?>> T constrain(T type, AnnotatedElement annotated) throws FiberTypeProcessingException {
+		T ret = type;
+
+		for (Annotation annotation : annotated.getAnnotations()) {
+			@SuppressWarnings("unchecked") ConstraintAnnotationProcessor<Annotation> processor =
+					(ConstraintAnnotationProcessor<Annotation>) this.constraintProcessors.get(annotation.annotationType());
+			if (processor != null) {
+				try {
+					ret = this.constrain(ret, processor, annotation, annotated);
+				} catch (UnsupportedOperationException e) {
+					throw new FiberTypeProcessingException("Failed to constrain type " + type, e);
+				}
+			}
+		}
+
+		return ret;
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T extends ConfigType<?, ?, ?>> T constrain(T type, ConstraintAnnotationProcessor<Annotation> processor, Annotation annotation, AnnotatedElement annotated) {
+		return (T) type.constrain(processor, annotation, annotated);
+	}
+
+	/**
+	 * Walks the settings and groups of a POJO, resolving their names, config types and group instances.
+	 */
+	private abstract class AbstractMemberProcessor implements PojoMemberProcessor {
+		final SettingNamingConvention convention;
+
+		AbstractMemberProcessor(SettingNamingConvention convention) {
+			this.convention = convention;
 		}
 
 		@Override
 		public void processGroup(Object pojo, Field group) throws ProcessingMemberException {
 			try {
-				String name = this.findName(group);
-				ConfigTreeBuilder sub = this.builder.fork(name);
+				String name = findName(group, this.convention);
 				group.setAccessible(true);
 				Object subPojo = group.get(pojo);
 
@@ -136,9 +339,7 @@ public final class AnnotatedSettingsImpl implements AnnotatedSettings {
 					throw new ProcessingMemberException("Group " + name + " is null. Did you forget to initialize it?", group);
 				}
 
-				AnnotatedSettingsImpl.this.applyToNode(sub, subPojo);
-				this.applyAnnotationProcessors(pojo, group, sub, AnnotatedSettingsImpl.this.groupSettingProcessors);
-				sub.build();
+				this.processGroup(pojo, group, name, subPojo);
 			} catch (FiberException | IllegalAccessException e) {
 				throw new ProcessingMemberException("Failed to process group '" + Modifier.toString(group.getModifiers()) + " " + group.getType().getSimpleName() + " " + group.getName() + "' in " + group.getDeclaringClass().getSimpleName(), e, group);
 			}
@@ -148,14 +349,46 @@ public final class AnnotatedSettingsImpl implements AnnotatedSettings {
 		public void processSetting(Object pojo, Field setting) throws ProcessingMemberException {
 			try {
 				checkViolation(setting);
-				this.processSetting(pojo, setting, this.toConfigType(setting.getAnnotatedType()));
+				this.processSetting(pojo, setting, findName(setting, this.convention), AnnotatedSettingsImpl.this.toConfigType(setting.getAnnotatedType()));
 			} catch (FiberException e) {
 				throw new ProcessingMemberException("Failed to process setting '" + Modifier.toString(setting.getModifiers()) + " " + setting.getType().getSimpleName() + " " + setting.getName() + "' in " + setting.getDeclaringClass().getSimpleName(), e, setting);
 			}
 		}
 
-		private <R, S> void processSetting(Object pojo, Field setting, ConfigType<R, S, ?> type) throws FiberException {
-			String name = this.findName(setting);
+		abstract void processGroup(Object pojo, Field group, String name, Object subPojo) throws FiberException;
+
+		abstract <R, S> void processSetting(Object pojo, Field setting, String name, ConfigType<R, S, ?> type) throws FiberException;
+	}
+
+	private class PojoMemberProcessorImpl extends AbstractMemberProcessor {
+		private final Map<String, List<Member>> listenerMap = new HashMap<>();
+		private final ConfigTreeBuilder builder;
+
+		PojoMemberProcessorImpl(SettingNamingConvention convention, ConfigTreeBuilder builder) {
+			super(convention);
+			this.builder = builder;
+		}
+
+		@Override
+		public void processListenerMethod(Object pojo, Method method, String name) {
+			this.listenerMap.computeIfAbsent(name, v -> new ArrayList<>()).add(method);
+		}
+
+		@Override
+		public void processListenerField(Object pojo, Field field, String name) {
+			this.listenerMap.computeIfAbsent(name, v -> new ArrayList<>()).add(field);
+		}
+
+		@Override
+		void processGroup(Object pojo, Field group, String name, Object subPojo) throws FiberException {
+			ConfigTreeBuilder sub = this.builder.fork(name);
+			AnnotatedSettingsImpl.this.applyToNode(sub, subPojo);
+			this.applyAnnotationProcessors(pojo, group, sub, AnnotatedSettingsImpl.this.groupSettingProcessors);
+			sub.build();
+		}
+
+		@Override
+		<R, S> void processSetting(Object pojo, Field setting, String name, ConfigType<R, S, ?> type) throws FiberException {
 			List<Member> listeners = this.listenerMap.getOrDefault(name, Collections.emptyList());
 			ConfigLeafBuilder<S, R> leaf = this.builder
 					.beginValue(name, type, this.findDefaultValue(pojo, setting))
@@ -165,15 +398,6 @@ public final class AnnotatedSettingsImpl implements AnnotatedSettings {
 			leaf.build();
 		}
 
-		@Nonnull
-		private String findName(Field field) {
-			return findSettingAnnotation(Setting.Group.class, field).map(Setting.Group::name).filter(s -> !s.isEmpty()).orElseGet(
-					() -> findSettingAnnotation(Setting.class, field).map(Setting::name).filter(s -> !s.isEmpty()).orElseGet(
-							() -> this.convention.name(field.getName())
-					)
-			);
-		}
-
 		@Nullable
 		private String findComment(Field field) {
 			return findSettingAnnotation(Setting.class, field).map(Setting::comment).filter(s -> !s.isEmpty()).orElse(null);
@@ -190,11 +414,15 @@ public final class AnnotatedSettingsImpl implements AnnotatedSettings {
 				}
 			};
 
+			BiConsumer<R, R> chain = null;
+
 			for (Member listener : listeners) {
 				BiConsumer<R, R> consumer = this.constructListenerFromMember(pojo, listener, type.getRuntimeType());
-				if (consumer != null) ret = ret.andThen(consumer);
+				if (consumer != null) chain = chain == null ? consumer : chain.andThen(consumer);
 			}
 
+			// the field is always updated synchronously, only actual listeners are dispatched
+			if (chain != null) ret = ret.andThen(AnnotatedSettingsImpl.this.listenerDispatcher.dispatch(chain));
 			return ret;
 		}
 
@@ -208,102 +436,6 @@ public final class AnnotatedSettingsImpl implements AnnotatedSettings {
 			}
 		}
 
-		@Nonnull
-		private ConfigType<?, ?, ?> toConfigType(AnnotatedType annotatedType) throws FiberTypeProcessingException {
-			Class<?> clazz = TypeMagic.classForType(annotatedType.getType());
-
-			if (clazz == null) {
-				throw new FiberTypeProcessingException("Unknown type " + annotatedType.getType().getTypeName());
-			}
-
-			@Nonnull ConfigType<?, ?, ?> ret;
-
-			if (annotatedType instanceof AnnotatedArrayType) {
-				ConfigType<?, ?, ?> componentType = this.toConfigType(((AnnotatedArrayType) annotatedType).getAnnotatedGenericComponentType());
-				Class<?> componentClass = clazz.getComponentType();
-				assert componentClass != null;
-				ret = this.makeArrayConfigType(componentClass, componentType);
-			} else if (AnnotatedSettingsImpl.this.registeredGenericTypes.containsKey(clazz)) {
-				ParameterizedTypeProcessor<?> parameterizedTypeProcessor = AnnotatedSettingsImpl.this.registeredGenericTypes.get(clazz);
-
-				if (!(annotatedType instanceof AnnotatedParameterizedType)) {
-					throw new FiberTypeProcessingException("Expected type parameters for " + clazz);
-				}
-
-				AnnotatedType[] annotatedTypeArgs = ((AnnotatedParameterizedType) annotatedType).getAnnotatedActualTypeArguments();
-				ConfigType<?, ?, ?>[] typeArguments = new ConfigType[annotatedTypeArgs.length];
-
-				for (int i = 0; i < annotatedTypeArgs.length; i++) {
-					typeArguments[i] = this.toConfigType(annotatedTypeArgs[i]);
-				}
-
-				ret = parameterizedTypeProcessor.process(typeArguments);
-			} else if (AnnotatedSettingsImpl.this.registeredTypes.containsKey(clazz)) {
-				ret = AnnotatedSettingsImpl.this.registeredTypes.get(clazz);
-			} else if (clazz.isEnum()) {
-				ret = ConfigTypes.makeEnum(clazz.asSubclass(Enum.class));
-			} else {
-				Optional<Class<?>> closestParent = Stream.concat(AnnotatedSettingsImpl.this.registeredGenericTypes.keySet().stream(), AnnotatedSettingsImpl.this.registeredTypes.keySet().stream())
-						.filter(c -> c.isAssignableFrom(clazz))
-						.reduce((c1, c2) -> c1.isAssignableFrom(c2) ? c2 : c1);
-				String closestParentSuggestion = closestParent.map(p -> "declaring the element as '" + p.getTypeName() + "', or ").orElse("");
-				throw new FiberTypeProcessingException("Unknown config type " + annotatedType.getType().getTypeName()
-						+ ". Consider marking as transient, or " + closestParentSuggestion + "registering a new Class -> ConfigType mapping.");
-			}
-
-			assert ret != null;
-			return this.constrain(ret, annotatedType);
-		}
-
-		@SuppressWarnings("unchecked")
-		private ConfigType<?, ?, ?> makeArrayConfigType(Class<?> componentClass, ConfigType<?, ?, ?> componentType) {
-			assert TypeMagic.wrapPrimitive(componentClass) == TypeMagic.wrapPrimitive(componentType.getRuntimeType()) : "Class=" + componentClass + ", ConfigType=" + componentType;
-
-			if (componentClass == boolean.class) {
-				return ConfigTypes.makeBooleanArray((ConfigType<Boolean, ?, ?>) componentType);
-			} else if (componentClass == byte.class) {
-				return ConfigTypes.makeByteArray((ConfigType<Byte, ?, ?>) componentType);
-			} else if (componentClass == short.class) {
-				return ConfigTypes.makeShortArray((ConfigType<Short, ?, ?>) componentType);
-			} else if (componentClass == int.class) {
-				return ConfigTypes.makeIntArray((ConfigType<Integer, ?, ?>) componentType);
-			} else if (componentClass == long.class) {
-				return ConfigTypes.makeLongArray((ConfigType<Long, ?, ?>) componentType);
-			} else if (componentClass == float.class) {
-				return ConfigTypes.makeFloatArray((ConfigType<Float, ?, ?>) componentType);
-			} else if (componentClass == double.class) {
-				return ConfigTypes.makeDoubleArray((ConfigType<Double, ?, ?>) componentType);
-			} else if (componentClass == char.class) {
-				return ConfigTypes.makeCharArray((ConfigType<Character, ?, ?>) componentType);
-			} else {
-				assert !componentClass.isPrimitive() : "Primitive component type: " + componentClass;
-				return ConfigTypes.makeArray(componentType);
-			}
-		}
-
-		private <T extends ConfigType<?, ?, ?>> T constrain(T type, AnnotatedElement annotated) throws FiberTypeProcessingException {
-			T ret = type;
-
-			for (Annotation annotation : annotated.getAnnotations()) {
-				@SuppressWarnings("unchecked") ConstraintAnnotationProcessor<Annotation> processor =
-						(ConstraintAnnotationProcessor<Annotation>) AnnotatedSettingsImpl.this.constraintProcessors.get(annotation.annotationType());
-				if (processor != null) {
-					try {
-						ret = this.constrain(ret, processor, annotation, annotated);
-					} catch (UnsupportedOperationException e) {
-						throw new FiberTypeProcessingException("Failed to constrain type " + type, e);
-					}
-				}
-			}
-
-			return ret;
-		}
-
-		@SuppressWarnings("unchecked")
-		private <T extends ConfigType<?, ?, ?>> T constrain(T type, ConstraintAnnotationProcessor<Annotation> processor, Annotation annotation, AnnotatedElement annotated) {
-			return (T) type.constrain(processor, annotation, annotated);
-		}
-
 		@SuppressWarnings("unchecked")
 		private <T> T findDefaultValue(Object pojo, Field field) throws FiberException {
 			boolean accessible = field.isAccessible();
@@ -407,4 +539,51 @@ public final class AnnotatedSettingsImpl implements AnnotatedSettings {
 			}
 		}
 	}
+
+	/**
+	 * Binds the settings and groups of a POJO to the existing nodes of a tree.
+	 */
+	private class SnapshotMemberProcessor extends AbstractMemberProcessor {
+		private final ConfigTree tree;
+		final List<SettingsSnapshotImpl.SettingBinding<?, ?>> settings = new ArrayList<>();
+		final List<SettingsSnapshotImpl.GroupBinding> groups = new ArrayList<>();
+
+		SnapshotMemberProcessor(SettingNamingConvention convention, ConfigTree tree) {
+			super(convention);
+			this.tree = tree;
+		}
+
+		@Override
+		public void processListenerMethod(Object pojo, Method method, String name) {
+			// snapshots are not listened to
+		}
+
+		@Override
+		public void processListenerField(Object pojo, Field field, String name) {
+			// snapshots are not listened to
+		}
+
+		@Override
+		<R, S> void processSetting(Object pojo, Field setting, String name, ConfigType<R, S, ?> type) throws FiberException {
+			ConfigLeaf<S> leaf = this.tree.lookupLeaf(name, type.getSerializedType());
+
+			if (leaf == null) {
+				throw new FiberException("No leaf named '" + name + "' of type " + type.getSerializedType());
+			}
+
+			setting.setAccessible(true);
+			this.settings.add(new SettingsSnapshotImpl.SettingBinding<>(setting, leaf, type));
+		}
+
+		@Override
+		void processGroup(Object pojo, Field group, String name, Object subPojo) throws FiberException {
+			ConfigBranch branch = this.tree.lookupBranch(name);
+
+			if (branch == null) {
+				throw new FiberException("No branch named '" + name + "'");
+			}
+
+			this.groups.add(new SettingsSnapshotImpl.GroupBinding(group, AnnotatedSettingsImpl.this.makeSnapshotPlan(subPojo, branch)));
+		}
+	}
 }
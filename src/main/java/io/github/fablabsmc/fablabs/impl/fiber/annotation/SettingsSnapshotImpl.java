@@ -0,0 +1,146 @@
+package io.github.fablabsmc.fablabs.impl.fiber.annotation;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+import io.github.fablabsmc.fablabs.api.fiber.v1.annotation.SettingsSnapshot;
+import io.github.fablabsmc.fablabs.api.fiber.v1.exception.RuntimeFiberException;
+import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.derived.ConfigType;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigBranch;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigLeaf;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.SubtreeListener;
+
+public final class SettingsSnapshotImpl<P> implements SettingsSnapshot<P> {
+	private static final int MAX_ATTEMPTS = 8;
+
+	private final ConfigBranch tree;
+	private final Plan plan;
+	private final SubtreeListener listener = (branch, changed) -> this.publish();
+	private volatile P current;
+
+	SettingsSnapshotImpl(ConfigBranch tree, Plan plan) {
+		this.tree = tree;
+		this.plan = plan;
+		this.publish();
+
+		if (!tree.addSubtreeListener(this.listener)) {
+			throw new IllegalArgumentException(tree + " does not support subtree listeners, snapshots could not follow its changes");
+		}
+	}
+
+	@Override
+	public P get() {
+		return this.current;
+	}
+
+	@Override
+	public void close() {
+		this.tree.removeSubtreeListener(this.listener);
+	}
+
+	/**
+	 * Materializes a new instance from the current values of the tree, then publishes it.
+	 *
+	 * <p>Materialization is serialized, so that the last published instance always reflects the last change.
+	 * An instance is materialized again if the version of the tree changed while its values were read,
+	 * at most {@value #MAX_ATTEMPTS} times so that constant writes cannot starve the publishing thread.
+	 */
+	@SuppressWarnings("unchecked")
+	private synchronized void publish() {
+		P snapshot;
+		long version;
+		int attempts = 0;
+
+		do {
+			version = this.tree.getVersion();
+			snapshot = (P) this.plan.materialize(null);
+		} while (version != this.tree.getVersion() && ++attempts < MAX_ATTEMPTS);
+
+		// the volatile write orders every field write of the instance before any read through get()
+		this.current = snapshot;
+	}
+
+	/**
+	 * The fields of a settings class, bound to the leaves and branches they were created from.
+	 */
+	static final class Plan {
+		private final Constructor<?> constructor;
+		private final List<SettingBinding<?, ?>> settings;
+		private final List<GroupBinding> groups;
+
+		Plan(Constructor<?> constructor, List<SettingBinding<?, ?>> settings, List<GroupBinding> groups) {
+			this.constructor = constructor;
+			this.settings = settings;
+			this.groups = groups;
+		}
+
+		/**
+		 * Creates a new instance holding the current values of the bound nodes.
+		 *
+		 * @param outer the instance enclosing the new one, if it is an instance of an inner class
+		 */
+		Object materialize(@Nullable Object outer) {
+			try {
+				Object instance;
+
+				if (this.constructor.getParameterCount() == 0) {
+					instance = this.constructor.newInstance();
+				} else {
+					instance = this.constructor.newInstance(outer);
+				}
+
+				for (SettingBinding<?, ?> setting : this.settings) {
+					setting.apply(instance);
+				}
+
+				for (GroupBinding group : this.groups) {
+					group.field.set(instance, group.plan.materialize(instance));
+				}
+
+				return instance;
+			} catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+				throw new RuntimeFiberException("Failed to create settings snapshot of " + this.constructor.getDeclaringClass(), e);
+			}
+		}
+	}
+
+	static final class SettingBinding<R, S> {
+		private final Field field;
+		private final ConfigLeaf<S> leaf;
+		private final ConfigType<R, S, ?> type;
+		// runtime values are shared between snapshots until the leaf changes, as conversions may be costly
+		private S lastSerialized;
+		private R lastRuntime;
+
+		SettingBinding(Field field, ConfigLeaf<S> leaf, ConfigType<R, S, ?> type) {
+			this.field = field;
+			this.leaf = leaf;
+			this.type = type;
+		}
+
+		void apply(Object instance) throws IllegalAccessException {
+			S value = this.leaf.getValue();
+
+			if (value != this.lastSerialized) {
+				this.lastRuntime = this.type.toRuntimeType(value);
+				this.lastSerialized = value;
+			}
+
+			this.field.set(instance, this.lastRuntime);
+		}
+	}
+
+	static final class GroupBinding {
+		private final Field field;
+		private final Plan plan;
+
+		GroupBinding(Field field, Plan plan) {
+			this.field = field;
+			this.plan = plan;
+		}
+	}
+}
@@ -0,0 +1,183 @@
+package io.github.fablabsmc.fablabs.impl.fiber.annotation.view;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.derived.ConfigType;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigLeaf;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.Property;
+
+/**
+ * Creates implementations of config view interfaces.
+ *
+ * <p>A class is generated once per view interface, and cached for as long as the interface is loaded.
+ * Each view is an instance of that class, holding one method handle per interface method, and each
+ * implemented method is a single {@code invokeExact} of its handle. Getters are bound to the
+ * {@linkplain ConfigLeaf#getValueHandle() value handles} of the viewed leaves, converted to the runtime type
+ * of the accessor, so that views register no listener of their own.
+ */
+public final class ConfigViews {
+	private static final String VIEW_CLASS_PREFIX = ConfigViews.class.getPackage().getName() + ".ConfigView$";
+	private static final AtomicLong VIEW_COUNT = new AtomicLong();
+	private static final ClassValue<Method[]> VIEW_METHODS = new ClassValue<Method[]>() {
+		@Override
+		protected Method[] computeValue(Class<?> viewInterface) {
+			return collectViewMethods(viewInterface);
+		}
+	};
+	private static final ClassValue<Constructor<?>> VIEW_CLASSES = new ClassValue<Constructor<?>>() {
+		@Override
+		protected Constructor<?> computeValue(Class<?> viewInterface) {
+			return defineViewClass(viewInterface, VIEW_METHODS.get(viewInterface));
+		}
+	};
+	private static final MethodHandle SET_VALUE;
+	private static final MethodHandle TO_RUNTIME_TYPE;
+	private static final MethodHandle TO_RUNTIME_TYPE_UNCHECKED;
+	private static final MethodHandle TO_PLATFORM_TYPE;
+
+	static {
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+			MethodType conversion = MethodType.methodType(Object.class, Object.class);
+			SET_VALUE = lookup.findVirtual(Property.class, "setValue", MethodType.methodType(boolean.class, Object.class));
+			TO_RUNTIME_TYPE = lookup.findVirtual(ConfigType.class, "toRuntimeType", conversion);
+			TO_RUNTIME_TYPE_UNCHECKED = lookup.findVirtual(ConfigType.class, "toRuntimeTypeUnchecked", conversion);
+			TO_PLATFORM_TYPE = lookup.findVirtual(ConfigType.class, "toPlatformType", conversion);
+		} catch (NoSuchMethodException | IllegalAccessException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	private ConfigViews() {
+	}
+
+	/**
+	 * Creates a handle returning the value of {@code leaf}, converted by {@code type} to {@code returnType}.
+	 */
+	public static MethodHandle getter(ConfigLeaf<?> leaf, ConfigType<?, ?, ?> type, Class<?> returnType) {
+		// leaves only ever hold values accepted by their own type
+		boolean trusted = type.getSerializedType().isAssignableFrom(leaf.getConfigType());
+		MethodHandle convert = (trusted ? TO_RUNTIME_TYPE_UNCHECKED : TO_RUNTIME_TYPE).bindTo(type);
+		MethodHandle value = leaf.getValueHandle().asType(MethodType.methodType(Object.class));
+		return MethodHandles.filterReturnValue(value, convert).asType(MethodType.methodType(returnType));
+	}
+
+	/**
+	 * Creates a handle setting the value of {@code leaf} from a {@code valueType} argument, converted by {@code type}.
+	 *
+	 * @param returnType {@code boolean} to return the result of {@link Property#setValue(Object)}, or {@code void}
+	 */
+	public static MethodHandle setter(ConfigLeaf<?> leaf, ConfigType<?, ?, ?> type, Class<?> returnType, Class<?> valueType) {
+		MethodHandle set = MethodHandles.filterArguments(SET_VALUE.bindTo(leaf), 0, TO_PLATFORM_TYPE.bindTo(type));
+		return set.asType(MethodType.methodType(returnType, valueType));
+	}
+
+	/**
+	 * Returns the methods a view of {@code viewInterface} implements, in the order their handles are passed to
+	 * {@link #create(Class, MethodHandle[])}.
+	 *
+	 * <p>These are the abstract methods of {@code viewInterface}, excluding those also declared by {@link Object}.
+	 * Methods inherited from several superinterfaces are only listed once.
+	 *
+	 * @param viewInterface a public interface
+	 */
+	public static Method[] getViewMethods(Class<?> viewInterface) {
+		return VIEW_METHODS.get(viewInterface).clone();
+	}
+
+	/**
+	 * Creates a view implementing {@code viewInterface}.
+	 *
+	 * <p>Default methods of {@code viewInterface} are left as is. {@link Object} methods use identity.
+	 *
+	 * @param viewInterface a public interface
+	 * @param handles       for each {@linkplain #getViewMethods(Class) view method}, a handle of the exact same type,
+	 *                      to which calls are forwarded
+	 * @return a new view
+	 */
+	public static <V> V create(Class<V> viewInterface, MethodHandle[] handles) {
+		Method[] methods = VIEW_METHODS.get(viewInterface);
+
+		if (handles.length != methods.length) {
+			throw new IllegalArgumentException("Expected " + methods.length + " handles for " + viewInterface + ", got " + handles.length);
+		}
+
+		for (int i = 0; i < handles.length; i++) {
+			Method method = methods[i];
+
+			if (!handles[i].type().equals(MethodType.methodType(method.getReturnType(), method.getParameterTypes()))) {
+				throw new IllegalArgumentException("Handle " + handles[i] + " does not match " + method);
+			}
+		}
+
+		try {
+			return viewInterface.cast(VIEW_CLASSES.get(viewInterface).newInstance((Object) handles.clone()));
+		} catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+			throw new IllegalStateException("Failed to instantiate view of " + viewInterface, e);
+		}
+	}
+
+	private static boolean isObjectMethod(Method method) {
+		try {
+			Object.class.getMethod(method.getName(), method.getParameterTypes());
+			return true;
+		} catch (NoSuchMethodException e) {
+			return false;
+		}
+	}
+
+	private static Method[] collectViewMethods(Class<?> viewInterface) {
+		List<Method> methods = new ArrayList<>();
+		Set<String> implemented = new HashSet<>();
+
+		for (Method method : viewInterface.getMethods()) {
+			if (method.isDefault() || Modifier.isStatic(method.getModifiers()) || isObjectMethod(method)) continue;
+
+			// the same method may be inherited from several superinterfaces
+			if (!implemented.add(method.getName() + MethodType.methodType(method.getReturnType(), method.getParameterTypes()))) continue;
+
+			methods.add(method);
+		}
+
+		return methods.toArray(new Method[0]);
+	}
+
+	/**
+	 * Generates the implementation of a view interface, and returns its constructor taking the handles of {@code methods}.
+	 */
+	private static Constructor<?> defineViewClass(Class<?> viewInterface, Method[] methods) {
+		String className = VIEW_CLASS_PREFIX + VIEW_COUNT.getAndIncrement();
+		byte[] bytes = new ViewClassWriter(className, viewInterface, methods).write();
+		Class<?> viewClass = new ViewClassLoader(viewInterface.getClassLoader()).define(className, bytes);
+
+		try {
+			return viewClass.getConstructor(MethodHandle[].class);
+		} catch (NoSuchMethodException e) {
+			throw new IllegalStateException("Generated view of " + viewInterface + " has no constructor", e);
+		}
+	}
+
+	/**
+	 * Defines the view class of a single interface, which only needs to see that interface.
+	 */
+	private static final class ViewClassLoader extends ClassLoader {
+		ViewClassLoader(ClassLoader parent) {
+			super(parent);
+		}
+
+		Class<?> define(String name, byte[] bytes) {
+			return this.defineClass(name, bytes, 0, bytes.length);
+		}
+	}
+}
@@ -0,0 +1,273 @@
+package io.github.fablabsmc.fablabs.impl.fiber.annotation.view;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes the class file of a config view.
+ *
+ * <p>A view class implements a single interface. For each implemented method, it holds a
+ * {@code private final MethodHandle}, assigned from the {@code MethodHandle[]} argument of its only constructor,
+ * and the method body is a single {@code invokeExact} of that handle with the method's own descriptor.
+ * The generated code contains no branches, and so needs no stack map frames.
+ */
+final class ViewClassWriter {
+	private static final int JAVA_8 = 52;
+
+	private static final int ACC_PUBLIC = 0x0001;
+	private static final int ACC_PRIVATE = 0x0002;
+	private static final int ACC_FINAL = 0x0010;
+	private static final int ACC_SUPER = 0x0020;
+
+	private static final int CONSTANT_UTF8 = 1;
+	private static final int CONSTANT_CLASS = 7;
+	private static final int CONSTANT_FIELDREF = 9;
+	private static final int CONSTANT_METHODREF = 10;
+	private static final int CONSTANT_NAME_AND_TYPE = 12;
+
+	private static final int ALOAD_0 = 0x2a;
+	private static final int ALOAD_1 = 0x2b;
+	private static final int SIPUSH = 0x11;
+	private static final int ILOAD = 0x15;
+	private static final int LLOAD = 0x16;
+	private static final int FLOAD = 0x17;
+	private static final int DLOAD = 0x18;
+	private static final int ALOAD = 0x19;
+	private static final int AALOAD = 0x32;
+	private static final int IRETURN = 0xac;
+	private static final int LRETURN = 0xad;
+	private static final int FRETURN = 0xae;
+	private static final int DRETURN = 0xaf;
+	private static final int ARETURN = 0xb0;
+	private static final int RETURN = 0xb1;
+	private static final int GETFIELD = 0xb4;
+	private static final int PUTFIELD = 0xb5;
+	private static final int INVOKEVIRTUAL = 0xb6;
+	private static final int INVOKESPECIAL = 0xb7;
+
+	private static final String OBJECT = "java/lang/Object";
+	private static final String METHOD_HANDLE = "java/lang/invoke/MethodHandle";
+	private static final String METHOD_HANDLE_DESCRIPTOR = "L" + METHOD_HANDLE + ";";
+	private static final String CONSTRUCTOR_DESCRIPTOR = "([" + METHOD_HANDLE_DESCRIPTOR + ")V";
+
+	private final ByteArrayOutputStream poolBytes = new ByteArrayOutputStream();
+	private final DataOutputStream pool = new DataOutputStream(this.poolBytes);
+	private final Map<String, Integer> poolIndices = new HashMap<>();
+	private int poolSize = 1;
+
+	private final String className;
+	private final Class<?> viewInterface;
+	private final Method[] methods;
+
+	ViewClassWriter(String className, Class<?> viewInterface, Method[] methods) {
+		this.className = className.replace('.', '/');
+		this.viewInterface = viewInterface;
+		this.methods = methods;
+	}
+
+	byte[] write() {
+		try {
+			return this.writeClass();
+		} catch (IOException e) {
+			// in-memory streams do not throw
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private byte[] writeClass() throws IOException {
+		int thisClass = this.classConstant(this.className);
+		int superClass = this.classConstant(OBJECT);
+		int implemented = this.classConstant(internalName(this.viewInterface));
+		int handleDescriptor = this.utf8(METHOD_HANDLE_DESCRIPTOR);
+		int code = this.utf8("Code");
+
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(body);
+
+		out.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+		out.writeShort(thisClass);
+		out.writeShort(superClass);
+		out.writeShort(1);
+		out.writeShort(implemented);
+
+		out.writeShort(this.methods.length);
+
+		for (int i = 0; i < this.methods.length; i++) {
+			out.writeShort(ACC_PRIVATE | ACC_FINAL);
+			out.writeShort(this.utf8(handleName(i)));
+			out.writeShort(handleDescriptor);
+			out.writeShort(0);
+		}
+
+		out.writeShort(this.methods.length + 1);
+		this.writeConstructor(out, code);
+
+		for (int i = 0; i < this.methods.length; i++) {
+			this.writeMethod(out, code, i);
+		}
+
+		out.writeShort(0);
+
+		ByteArrayOutputStream classFile = new ByteArrayOutputStream(this.poolBytes.size() + body.size() + 10);
+		DataOutputStream header = new DataOutputStream(classFile);
+		header.writeInt(0xCAFEBABE);
+		header.writeShort(0);
+		header.writeShort(JAVA_8);
+		header.writeShort(this.poolSize);
+		this.poolBytes.writeTo(classFile);
+		body.writeTo(classFile);
+		return classFile.toByteArray();
+	}
+
+	private void writeConstructor(DataOutputStream out, int code) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream insns = new DataOutputStream(bytes);
+		insns.writeByte(ALOAD_0);
+		insns.writeByte(INVOKESPECIAL);
+		insns.writeShort(this.memberConstant(CONSTANT_METHODREF, OBJECT, "<init>", "()V"));
+
+		for (int i = 0; i < this.methods.length; i++) {
+			insns.writeByte(ALOAD_0);
+			insns.writeByte(ALOAD_1);
+			insns.writeByte(SIPUSH);
+			insns.writeShort(i);
+			insns.writeByte(AALOAD);
+			insns.writeByte(PUTFIELD);
+			insns.writeShort(this.memberConstant(CONSTANT_FIELDREF, this.className, handleName(i), METHOD_HANDLE_DESCRIPTOR));
+		}
+
+		insns.writeByte(RETURN);
+		writeMethodInfo(out, ACC_PUBLIC, this.utf8("<init>"), this.utf8(CONSTRUCTOR_DESCRIPTOR), code, 3, 2, bytes);
+	}
+
+	private void writeMethod(DataOutputStream out, int code, int index) throws IOException {
+		Method method = this.methods[index];
+		String descriptor = MethodType.methodType(method.getReturnType(), method.getParameterTypes()).toMethodDescriptorString();
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream insns = new DataOutputStream(bytes);
+		insns.writeByte(ALOAD_0);
+		insns.writeByte(GETFIELD);
+		insns.writeShort(this.memberConstant(CONSTANT_FIELDREF, this.className, handleName(index), METHOD_HANDLE_DESCRIPTOR));
+		int slot = 1;
+
+		for (Class<?> param : method.getParameterTypes()) {
+			insns.writeByte(loadOpcode(param));
+			insns.writeByte(slot);
+			slot += slotSize(param);
+		}
+
+		insns.writeByte(INVOKEVIRTUAL);
+		insns.writeShort(this.memberConstant(CONSTANT_METHODREF, METHOD_HANDLE, "invokeExact", descriptor));
+		insns.writeByte(returnOpcode(method.getReturnType()));
+		int maxStack = Math.max(slot, slotSize(method.getReturnType()));
+		writeMethodInfo(out, ACC_PUBLIC | ACC_FINAL, this.utf8(method.getName()), this.utf8(descriptor), code, maxStack, slot, bytes);
+	}
+
+	private static void writeMethodInfo(DataOutputStream out, int access, int name, int descriptor, int code, int maxStack, int maxLocals, ByteArrayOutputStream insns) throws IOException {
+		out.writeShort(access);
+		out.writeShort(name);
+		out.writeShort(descriptor);
+		out.writeShort(1);
+		out.writeShort(code);
+		// max_stack, max_locals, code_length, code, exception_table_length and attributes_count
+		out.writeInt(2 + 2 + 4 + insns.size() + 2 + 2);
+		out.writeShort(maxStack);
+		out.writeShort(maxLocals);
+		out.writeInt(insns.size());
+		insns.writeTo(out);
+		out.writeShort(0);
+		out.writeShort(0);
+	}
+
+	private int utf8(String value) throws IOException {
+		Integer index = this.poolIndices.get("U" + value);
+		if (index != null) return index;
+
+		this.pool.writeByte(CONSTANT_UTF8);
+		this.pool.writeUTF(value);
+		return this.register("U" + value);
+	}
+
+	private int classConstant(String internalName) throws IOException {
+		Integer index = this.poolIndices.get("C" + internalName);
+		if (index != null) return index;
+
+		int name = this.utf8(internalName);
+		this.pool.writeByte(CONSTANT_CLASS);
+		this.pool.writeShort(name);
+		return this.register("C" + internalName);
+	}
+
+	private int memberConstant(int tag, String owner, String name, String descriptor) throws IOException {
+		String key = tag + owner + '.' + name + descriptor;
+		Integer index = this.poolIndices.get(key);
+		if (index != null) return index;
+
+		int ownerIndex = this.classConstant(owner);
+		int nameAndType = this.nameAndType(name, descriptor);
+		this.pool.writeByte(tag);
+		this.pool.writeShort(ownerIndex);
+		this.pool.writeShort(nameAndType);
+		return this.register(key);
+	}
+
+	private int nameAndType(String name, String descriptor) throws IOException {
+		String key = "N" + name + ':' + descriptor;
+		Integer index = this.poolIndices.get(key);
+		if (index != null) return index;
+
+		int nameIndex = this.utf8(name);
+		int descriptorIndex = this.utf8(descriptor);
+		this.pool.writeByte(CONSTANT_NAME_AND_TYPE);
+		this.pool.writeShort(nameIndex);
+		this.pool.writeShort(descriptorIndex);
+		return this.register(key);
+	}
+
+	private int register(String key) {
+		int index = this.poolSize;
+		this.poolSize++;
+		this.poolIndices.put(key, index);
+		return index;
+	}
+
+	private static String handleName(int index) {
+		return "h" + index;
+	}
+
+	private static String internalName(Class<?> c) {
+		return c.getName().replace('.', '/');
+	}
+
+	private static int slotSize(Class<?> type) {
+		if (type == void.class) return 0;
+		if (type == long.class || type == double.class) return 2;
+
+		return 1;
+	}
+
+	private static int loadOpcode(Class<?> type) {
+		if (!type.isPrimitive()) return ALOAD;
+		if (type == long.class) return LLOAD;
+		if (type == float.class) return FLOAD;
+		if (type == double.class) return DLOAD;
+
+		return ILOAD;
+	}
+
+	private static int returnOpcode(Class<?> type) {
+		if (type == void.class) return RETURN;
+		if (!type.isPrimitive()) return ARETURN;
+		if (type == long.class) return LRETURN;
+		if (type == float.class) return FRETURN;
+		if (type == double.class) return DRETURN;
+
+		return IRETURN;
+	}
+}
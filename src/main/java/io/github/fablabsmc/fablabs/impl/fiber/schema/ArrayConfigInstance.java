@@ -0,0 +1,113 @@
+package io.github.fablabsmc.fablabs.impl.fiber.schema;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import io.github.fablabsmc.fablabs.api.fiber.v1.schema.ConfigInstance;
+import io.github.fablabsmc.fablabs.api.fiber.v1.schema.ConfigSchema;
+
+/**
+ * A config instance storing its values in a single array, indexed by slot.
+ */
+public final class ArrayConfigInstance implements ConfigInstance {
+	private static final BiConsumer<?, ?>[] NO_LISTENERS = new BiConsumer<?, ?>[0];
+
+	private final ConfigSchema schema;
+	private final Object[] values;
+	// allocated on first registration, most instances are never listened to
+	@Nullable
+	private volatile BiConsumer<?, ?>[][] listeners;
+
+	public ArrayConfigInstance(ConfigSchema schema, Object[] values) {
+		this.schema = schema;
+		this.values = values;
+	}
+
+	@Override
+	public ConfigSchema getSchema() {
+		return this.schema;
+	}
+
+	@Nonnull
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T getValue(ConfigSchema.Slot<T> slot) {
+		this.schema.checkSlot(slot);
+		return (T) this.values[slot.getIndex()];
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> boolean setValue(ConfigSchema.Slot<T> slot, @Nonnull T value) {
+		this.schema.checkSlot(slot);
+		T corrected = slot.correct(value);
+
+		if (corrected == null) {
+			return false;
+		}
+
+		int index = slot.getIndex();
+		T oldValue = (T) this.values[index];
+
+		if (!Objects.equals(oldValue, corrected)) {
+			this.values[index] = corrected;
+			BiConsumer<?, ?>[][] listeners = this.listeners;
+
+			if (listeners != null) {
+				for (BiConsumer<?, ?> listener : listeners[index]) {
+					((BiConsumer<T, T>) listener).accept(oldValue, corrected);
+				}
+			}
+		}
+
+		return true;
+	}
+
+	@Override
+	public synchronized <T> void addChangeListener(ConfigSchema.Slot<T> slot, BiConsumer<T, T> listener) {
+		this.schema.checkSlot(slot);
+		BiConsumer<?, ?>[][] listeners = this.listeners;
+
+		if (listeners == null) {
+			listeners = new BiConsumer<?, ?>[this.values.length][];
+			Arrays.fill(listeners, NO_LISTENERS);
+		} else {
+			listeners = listeners.clone();
+		}
+
+		// copy on write, so that listeners can be (un)registered while being notified
+		BiConsumer<?, ?>[] slotListeners = Arrays.copyOf(listeners[slot.getIndex()], listeners[slot.getIndex()].length + 1);
+		slotListeners[slotListeners.length - 1] = listener;
+		listeners[slot.getIndex()] = slotListeners;
+		this.listeners = listeners;
+	}
+
+	@Override
+	public synchronized <T> boolean removeChangeListener(ConfigSchema.Slot<T> slot, BiConsumer<T, T> listener) {
+		this.schema.checkSlot(slot);
+		BiConsumer<?, ?>[][] listeners = this.listeners;
+
+		if (listeners == null) {
+			return false;
+		}
+
+		BiConsumer<?, ?>[] slotListeners = listeners[slot.getIndex()];
+
+		for (int i = 0; i < slotListeners.length; i++) {
+			if (slotListeners[i].equals(listener)) {
+				BiConsumer<?, ?>[] copy = Arrays.copyOf(slotListeners, slotListeners.length - 1);
+				System.arraycopy(slotListeners, i + 1, copy, i, copy.length - i);
+				listeners = listeners.clone();
+				listeners[slot.getIndex()] = copy;
+				this.listeners = listeners;
+				return true;
+			}
+		}
+
+		return false;
+	}
+}
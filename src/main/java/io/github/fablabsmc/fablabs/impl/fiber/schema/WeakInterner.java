@@ -0,0 +1,110 @@
+package io.github.fablabsmc.fablabs.impl.fiber.schema;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.annotation.Nullable;
+
+/**
+ * A thread safe interner holding canonical instances weakly.
+ *
+ * <p>Lookups do not lock: canonical instances are stored in a {@link ConcurrentHashMap},
+ * keyed by weak references that compare by the {@linkplain Object#equals(Object) equality} of their referents.
+ * Entries of reclaimed instances are expunged on later calls to {@link #intern(Object)}.
+ *
+ * @param <T> the type of interned instances
+ */
+public final class WeakInterner<T> {
+	private final ConcurrentMap<Key<T>, WeakKey<T>> canonical = new ConcurrentHashMap<>();
+	private final ReferenceQueue<T> reclaimed = new ReferenceQueue<>();
+
+	/**
+	 * Returns the canonical instance equal to {@code value}, making {@code value} canonical if there is none.
+	 */
+	public T intern(T value) {
+		Objects.requireNonNull(value);
+		this.expunge();
+		WeakKey<T> existing = this.canonical.get(new StrongKey<>(value));
+
+		while (true) {
+			if (existing != null) {
+				T instance = existing.get();
+				if (instance != null) return instance;
+
+				// reclaimed between the lookup and now, replace it
+				this.canonical.remove(existing, existing);
+			}
+
+			WeakKey<T> key = new WeakKey<>(value, this.reclaimed);
+			existing = this.canonical.putIfAbsent(key, key);
+
+			if (existing == null) {
+				return value;
+			}
+		}
+	}
+
+	private void expunge() {
+		Object reference;
+
+		while ((reference = this.reclaimed.poll()) != null) {
+			@SuppressWarnings("unchecked") WeakKey<T> key = (WeakKey<T>) reference;
+			this.canonical.remove(key, key);
+		}
+	}
+
+	private interface Key<T> {
+		@Nullable
+		T get();
+	}
+
+	private static final class StrongKey<T> implements Key<T> {
+		private final T value;
+
+		StrongKey(T value) {
+			this.value = value;
+		}
+
+		@Override
+		public T get() {
+			return this.value;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof Key && this.value.equals(((Key<?>) o).get());
+		}
+
+		@Override
+		public int hashCode() {
+			return this.value.hashCode();
+		}
+	}
+
+	private static final class WeakKey<T> extends WeakReference<T> implements Key<T> {
+		private final int hash;
+
+		WeakKey(T value, ReferenceQueue<T> queue) {
+			super(value, queue);
+			this.hash = value.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (!(o instanceof Key)) return false;
+
+			// reclaimed keys are only equal to themselves, so that they can still be removed
+			T value = this.get();
+			return value != null && value.equals(((Key<?>) o).get());
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hash;
+		}
+	}
+}
@@ -0,0 +1,51 @@
+package io.github.fablabsmc.fablabs.impl.fiber.serialization;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * An {@link InputStream} reading directly from a {@link ByteBuffer}, without copying it.
+ *
+ * <p>Reading from the stream advances the position of the buffer.
+ */
+public final class ByteBufferInputStream extends InputStream {
+	private final ByteBuffer buffer;
+
+	public ByteBufferInputStream(ByteBuffer buffer) {
+		this.buffer = buffer;
+	}
+
+	@Override
+	public int read() {
+		if (!this.buffer.hasRemaining()) return -1;
+
+		return this.buffer.get() & 0xFF;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) {
+		if (off < 0 || len < 0 || len > b.length - off) throw new IndexOutOfBoundsException();
+
+		if (len == 0) return 0;
+
+		if (!this.buffer.hasRemaining()) return -1;
+
+		int n = Math.min(len, this.buffer.remaining());
+		this.buffer.get(b, off, n);
+		return n;
+	}
+
+	@Override
+	public long skip(long n) {
+		if (n <= 0) return 0;
+
+		int skipped = (int) Math.min(n, this.buffer.remaining());
+		this.buffer.position(this.buffer.position() + skipped);
+		return skipped;
+	}
+
+	@Override
+	public int available() {
+		return this.buffer.remaining();
+	}
+}
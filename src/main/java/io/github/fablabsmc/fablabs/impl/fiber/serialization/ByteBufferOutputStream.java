@@ -0,0 +1,73 @@
+package io.github.fablabsmc.fablabs.impl.fiber.serialization;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * An {@link OutputStream} writing directly into a {@link ByteBuffer}.
+ *
+ * <p>When the buffer is full, it is replaced by a larger one of the same kind,
+ * holding the bytes written so far. The current buffer is returned by {@link #getBuffer()}.
+ */
+public final class ByteBufferOutputStream extends OutputStream {
+	private ByteBuffer buffer;
+
+	public ByteBufferOutputStream(ByteBuffer buffer) {
+		this.buffer = buffer;
+	}
+
+	/**
+	 * Returns the buffer written to, positioned after the last written byte.
+	 */
+	public ByteBuffer getBuffer() {
+		return this.buffer;
+	}
+
+	@Override
+	public void write(int b) {
+		this.buffer = ensureRemaining(this.buffer, 1);
+		this.buffer.put((byte) b);
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) {
+		if (off < 0 || len < 0 || len > b.length - off) throw new IndexOutOfBoundsException();
+
+		this.buffer = ensureRemaining(this.buffer, len);
+		this.buffer.put(b, off, len);
+	}
+
+	/**
+	 * Returns a buffer with at least {@code needed} bytes remaining, holding the bytes written to {@code buffer}.
+	 *
+	 * <p>If {@code buffer} has enough room, it is returned as is. Otherwise, a new buffer at least
+	 * twice as large is allocated, direct if {@code buffer} is direct, and the contents of {@code buffer}
+	 * up to its position are copied into it. The position and limit of {@code buffer} are left unchanged.
+	 *
+	 * @param buffer the buffer being written to
+	 * @param needed the amount of bytes about to be written
+	 * @return a buffer with enough room, positioned after the copied contents
+	 */
+	public static ByteBuffer ensureRemaining(ByteBuffer buffer, int needed) {
+		if (buffer.remaining() >= needed) return buffer;
+
+		int required = buffer.position() + needed;
+
+		if (required < 0) throw new OutOfMemoryError("Required buffer size is too large");
+
+		int capacity = Math.max(required, (int) Math.min(Integer.MAX_VALUE - 8, Math.max(16L, buffer.capacity() * 2L)));
+		ByteBuffer grown;
+
+		if (buffer.isDirect()) {
+			grown = ByteBuffer.allocateDirect(capacity);
+		} else {
+			grown = ByteBuffer.allocate(capacity);
+		}
+
+		// copy through a view, leaving the caller's buffer untouched
+		ByteBuffer written = buffer.duplicate();
+		written.flip();
+		grown.put(written);
+		return grown;
+	}
+}
@@ -0,0 +1,253 @@
+package io.github.fablabsmc.fablabs.impl.fiber.tree;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+import io.github.fablabsmc.fablabs.api.fiber.v1.FiberId;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigAttribute;
+
+/**
+ * A compact map of attributes, optimized for nodes holding very few of them.
+ *
+ * <p>A single attribute is stored inline. Further attributes are kept in small arrays,
+ * sorted by the string representation of their identifier.
+ *
+ * @see ConfigNodeImpl#getAttributes()
+ */
+final class AttributeMap extends AbstractMap<FiberId, ConfigAttribute<?>> {
+	private static final int INITIAL_CAPACITY = 4;
+
+	@Nullable
+	private FiberId singleKey;
+	@Nullable
+	private ConfigAttribute<?> singleValue;
+	@Nullable
+	private FiberId[] keys;
+	@Nullable
+	private ConfigAttribute<?>[] values;
+	private int size;
+
+	/**
+	 * Compares two identifiers as their {@linkplain FiberId#toString() string representations} would,
+	 * without building those strings.
+	 */
+	static int compare(FiberId a, FiberId b) {
+		if (a == b) return 0;
+		int lengthA = a.getDomain().length() + 1 + a.getName().length();
+		int lengthB = b.getDomain().length() + 1 + b.getName().length();
+		int limit = Math.min(lengthA, lengthB);
+
+		for (int i = 0; i < limit; i++) {
+			char ca = charAt(a, i);
+			char cb = charAt(b, i);
+
+			if (ca != cb) {
+				return ca - cb;
+			}
+		}
+
+		return lengthA - lengthB;
+	}
+
+	private static char charAt(FiberId id, int index) {
+		int domainLength = id.getDomain().length();
+
+		if (index < domainLength) {
+			return id.getDomain().charAt(index);
+		} else if (index == domainLength) {
+			return ':';
+		}
+
+		return id.getName().charAt(index - domainLength - 1);
+	}
+
+	private FiberId keyAt(int index) {
+		return this.keys == null ? this.singleKey : this.keys[index];
+	}
+
+	private ConfigAttribute<?> valueAt(int index) {
+		return this.values == null ? this.singleValue : this.values[index];
+	}
+
+	private int indexOf(Object key) {
+		if (!(key instanceof FiberId)) return -1;
+
+		for (int i = 0; i < this.size; i++) {
+			if (this.keyAt(i).equals(key)) {
+				return i;
+			}
+		}
+
+		return -1;
+	}
+
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return this.indexOf(key) >= 0;
+	}
+
+	@Override
+	public ConfigAttribute<?> get(Object key) {
+		int index = this.indexOf(key);
+		return index < 0 ? null : this.valueAt(index);
+	}
+
+	@Override
+	public ConfigAttribute<?> put(FiberId key, ConfigAttribute<?> value) {
+		Objects.requireNonNull(key);
+		int index = this.indexOf(key);
+
+		if (index >= 0) {
+			ConfigAttribute<?> old = this.valueAt(index);
+
+			if (this.values == null) {
+				this.singleValue = value;
+			} else {
+				this.values[index] = value;
+			}
+
+			return old;
+		}
+
+		if (this.keys == null) {
+			if (this.size == 0) {
+				this.singleKey = key;
+				this.singleValue = value;
+				this.size = 1;
+				return null;
+			}
+
+			// second attribute, move to arrays
+			this.keys = new FiberId[INITIAL_CAPACITY];
+			this.values = new ConfigAttribute<?>[INITIAL_CAPACITY];
+			this.keys[0] = this.singleKey;
+			this.values[0] = this.singleValue;
+			this.singleKey = null;
+			this.singleValue = null;
+		} else if (this.size == this.keys.length) {
+			this.keys = Arrays.copyOf(this.keys, this.size * 2);
+			this.values = Arrays.copyOf(this.values, this.size * 2);
+		}
+
+		int insertion = 0;
+
+		while (insertion < this.size && compare(this.keys[insertion], key) < 0) {
+			insertion++;
+		}
+
+		System.arraycopy(this.keys, insertion, this.keys, insertion + 1, this.size - insertion);
+		System.arraycopy(this.values, insertion, this.values, insertion + 1, this.size - insertion);
+		this.keys[insertion] = key;
+		this.values[insertion] = value;
+		this.size++;
+		return null;
+	}
+
+	@Override
+	public ConfigAttribute<?> remove(Object key) {
+		int index = this.indexOf(key);
+
+		if (index < 0) {
+			return null;
+		}
+
+		ConfigAttribute<?> old = this.valueAt(index);
+		this.removeAt(index);
+		return old;
+	}
+
+	private void removeAt(int index) {
+		if (this.keys == null) {
+			this.singleKey = null;
+			this.singleValue = null;
+		} else {
+			int moved = this.size - index - 1;
+			System.arraycopy(this.keys, index + 1, this.keys, index, moved);
+			System.arraycopy(this.values, index + 1, this.values, index, moved);
+			this.keys[this.size - 1] = null;
+			this.values[this.size - 1] = null;
+		}
+
+		this.size--;
+	}
+
+	@Override
+	public void clear() {
+		this.singleKey = null;
+		this.singleValue = null;
+		this.keys = null;
+		this.values = null;
+		this.size = 0;
+	}
+
+	@Override
+	public Set<Entry<FiberId, ConfigAttribute<?>>> entrySet() {
+		return new AbstractSet<Entry<FiberId, ConfigAttribute<?>>>() {
+			@Override
+			public Iterator<Entry<FiberId, ConfigAttribute<?>>> iterator() {
+				return new EntryIterator();
+			}
+
+			@Override
+			public int size() {
+				return AttributeMap.this.size;
+			}
+
+			@Override
+			public void clear() {
+				AttributeMap.this.clear();
+			}
+		};
+	}
+
+	private final class EntryIterator implements Iterator<Entry<FiberId, ConfigAttribute<?>>> {
+		private int next;
+		private int last = -1;
+
+		@Override
+		public boolean hasNext() {
+			return this.next < AttributeMap.this.size;
+		}
+
+		@Override
+		public Entry<FiberId, ConfigAttribute<?>> next() {
+			if (!this.hasNext()) throw new NoSuchElementException();
+			this.last = this.next++;
+			return new AttributeEntry(AttributeMap.this.keyAt(this.last), AttributeMap.this.valueAt(this.last));
+		}
+
+		@Override
+		public void remove() {
+			if (this.last < 0) throw new IllegalStateException();
+			AttributeMap.this.removeAt(this.last);
+			this.next = this.last;
+			this.last = -1;
+		}
+	}
+
+	private final class AttributeEntry extends SimpleEntry<FiberId, ConfigAttribute<?>> {
+		private static final long serialVersionUID = 1L;
+
+		AttributeEntry(FiberId key, ConfigAttribute<?> value) {
+			super(key, value);
+		}
+
+		@Override
+		public ConfigAttribute<?> setValue(ConfigAttribute<?> value) {
+			super.setValue(value);
+			return AttributeMap.this.put(this.getKey(), value);
+		}
+	}
+}
@@ -0,0 +1,84 @@
+package io.github.fablabsmc.fablabs.impl.fiber.tree;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ChangeBatch;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigLeaf;
+
+/**
+ * The changes collected by the batches in progress in a thread.
+ *
+ * <p>Each call to {@link #begin()} returns its own handle, so that closing a handle more than once
+ * cannot end the batches of enclosing scopes.
+ */
+public final class ChangeBatchImpl {
+	private static final ThreadLocal<ChangeBatchImpl> CURRENT = new ThreadLocal<>();
+
+	// branches are compared by identity, and notified in the order they first changed
+	private final Map<ConfigBranchImpl, Set<ConfigLeaf<?>>> changes = new LinkedHashMap<>();
+	/**
+	 * The number of open handles.
+	 */
+	private int depth;
+
+	private ChangeBatchImpl() {
+	}
+
+	public static ChangeBatch begin() {
+		ChangeBatchImpl batch = CURRENT.get();
+
+		if (batch == null) {
+			batch = new ChangeBatchImpl();
+			CURRENT.set(batch);
+		}
+
+		batch.depth++;
+		return new Handle(batch);
+	}
+
+	/**
+	 * Returns the batch in progress in the current thread, if any.
+	 */
+	@Nullable
+	static ChangeBatchImpl current() {
+		return CURRENT.get();
+	}
+
+	void record(ConfigBranchImpl branch, ConfigLeaf<?> leaf) {
+		this.changes.computeIfAbsent(branch, b -> new LinkedHashSet<>()).add(leaf);
+	}
+
+	private void end() {
+		if (--this.depth == 0) {
+			CURRENT.remove();
+
+			for (Map.Entry<ConfigBranchImpl, Set<ConfigLeaf<?>>> entry : this.changes.entrySet()) {
+				entry.getKey().fireSubtreeChange(entry.getValue());
+			}
+
+			this.changes.clear();
+		}
+	}
+
+	private static final class Handle implements ChangeBatch {
+		private final ChangeBatchImpl batch;
+		private boolean closed;
+
+		Handle(ChangeBatchImpl batch) {
+			this.batch = batch;
+		}
+
+		@Override
+		public void close() {
+			if (!this.closed) {
+				this.closed = true;
+				this.batch.end();
+			}
+		}
+	}
+}
@@ -1,6 +1,8 @@
 package io.github.fablabsmc.fablabs.impl.fiber.tree;
 
+import java.util.Arrays;
 import java.util.Objects;
+import java.util.function.BiConsumer;
 
 import javax.annotation.Nonnull;
 
@@ -13,19 +15,57 @@ public class ConfigAttributeImpl<T> implements ConfigAttribute<T> {
 	private final SerializableType<T> type;
 	@Nonnull
 	private T value;
+	// copy on write, so that listeners can be (un)registered while being notified
+	@Nonnull
+	private volatile BiConsumer<T, T>[] listeners;
 
+	@SuppressWarnings("unchecked")
 	public ConfigAttributeImpl(FiberId identifier, SerializableType<T> type, @Nonnull T value) {
 		this.identifier = identifier;
-		this.type = type;
+		this.type = SerializableType.intern(type);
 		this.value = Objects.requireNonNull(value);
+		this.listeners = (BiConsumer<T, T>[]) new BiConsumer<?, ?>[0];
 	}
 
 	@Override
 	public boolean setValue(@Nonnull T value) {
-		this.value = Objects.requireNonNull(value);
+		T oldValue = this.value;
+
+		if (!Objects.equals(oldValue, Objects.requireNonNull(value))) {
+			this.value = value;
+
+			for (BiConsumer<T, T> listener : this.listeners) {
+				listener.accept(oldValue, value);
+			}
+		}
+
+		return true;
+	}
+
+	@Override
+	public synchronized boolean addChangeListener(BiConsumer<T, T> listener) {
+		BiConsumer<T, T>[] listeners = Arrays.copyOf(this.listeners, this.listeners.length + 1);
+		listeners[listeners.length - 1] = listener;
+		this.listeners = listeners;
 		return true;
 	}
 
+	@Override
+	public synchronized boolean removeChangeListener(BiConsumer<T, T> listener) {
+		BiConsumer<T, T>[] listeners = this.listeners;
+
+		for (int i = 0; i < listeners.length; i++) {
+			if (listeners[i].equals(listener)) {
+				BiConsumer<T, T>[] copy = Arrays.copyOf(listeners, listeners.length - 1);
+				System.arraycopy(listeners, i + 1, copy, i, copy.length - i);
+				this.listeners = copy;
+				return true;
+			}
+		}
+
+		return false;
+	}
+
 	@Override
 	@Nonnull
 	public T getValue() {
@@ -1,7 +1,10 @@
 package io.github.fablabsmc.fablabs.impl.fiber.tree;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -12,6 +15,7 @@ import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigLeaf;
 import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigNode;
 import io.github.fablabsmc.fablabs.api.fiber.v1.tree.NodeCollection;
 import io.github.fablabsmc.fablabs.api.fiber.v1.tree.PropertyMirror;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.SubtreeListener;
 
 /**
  * Class implementing {@link ConfigBranch}.
@@ -19,6 +23,14 @@ import io.github.fablabsmc.fablabs.api.fiber.v1.tree.PropertyMirror;
 public class ConfigBranchImpl extends ConfigNodeImpl implements ConfigBranch {
 	private final NodeCollection items;
 	private final boolean serializeSeparately;
+	// copy on write, so that listeners can be (un)registered while being notified
+	private volatile SubtreeListener[] subtreeListeners = new SubtreeListener[0];
+	private volatile long structureVersion;
+	private final AtomicLong version = new AtomicLong();
+	@Nullable
+	private volatile ContentHash.Memo contentHash;
+	@Nullable
+	private volatile StructureMemo structureTracked;
 
 	/**
 	 * Creates a new {@code ConfigBranch}.
@@ -110,4 +122,161 @@ public class ConfigBranchImpl extends ConfigNodeImpl implements ConfigBranch {
 	public boolean isSerializedSeparately() {
 		return serializeSeparately;
 	}
+
+	@Override
+	public synchronized boolean addSubtreeListener(SubtreeListener listener) {
+		SubtreeListener[] listeners = Arrays.copyOf(this.subtreeListeners, this.subtreeListeners.length + 1);
+		listeners[listeners.length - 1] = listener;
+		this.subtreeListeners = listeners;
+		return true;
+	}
+
+	@Override
+	public synchronized boolean removeSubtreeListener(SubtreeListener listener) {
+		SubtreeListener[] listeners = this.subtreeListeners;
+
+		for (int i = 0; i < listeners.length; i++) {
+			if (listeners[i].equals(listener)) {
+				SubtreeListener[] copy = Arrays.copyOf(listeners, listeners.length - 1);
+				System.arraycopy(listeners, i + 1, copy, i, copy.length - i);
+				this.subtreeListeners = copy;
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	@Override
+	public long getVersion() {
+		return this.version.get();
+	}
+
+	/**
+	 * Returns a counter that changes whenever a node is added to or removed from
+	 * this branch or one of its descendant branches.
+	 *
+	 * <p>Callers caching data derived from the shape of a tree can compare this counter
+	 * with the value it had when their data was computed, to know whether it is still valid.
+	 */
+	public long getStructureVersion() {
+		return this.structureVersion;
+	}
+
+	/**
+	 * Returns {@code true} if every branch under this one is also a {@code ConfigBranchImpl}, at any depth.
+	 *
+	 * <p>Only then does the {@linkplain #getStructureVersion() structure version} reflect every node added to
+	 * or removed from the subtree, as branches of other implementations do not notify their parent.
+	 * The result is cached until the structure version changes.
+	 */
+	public boolean isStructureTracked() {
+		long version = this.structureVersion;
+		StructureMemo memo = this.structureTracked;
+
+		if (memo == null || memo.version != version) {
+			boolean tracked = true;
+
+			for (ConfigNode item : this.items) {
+				if (item instanceof ConfigBranch && !(item instanceof ConfigBranchImpl && ((ConfigBranchImpl) item).isStructureTracked())) {
+					tracked = false;
+					break;
+				}
+			}
+
+			// foreign branches can only be removed through a tracked ancestor, which changes its version
+			memo = new StructureMemo(version, tracked);
+			this.structureTracked = memo;
+		}
+
+		return memo.tracked;
+	}
+
+	/**
+	 * Returns a hash of the content of this branch's subtree: the names, kinds and values of its descendants,
+	 * with values in canonical form. Two subtrees with equal content have the same hash, wherever they are.
+	 *
+	 * <p>The hash is computed on first request, and cached until something changes in the subtree.
+	 * Computing it again only descends into the child branches that changed, as the others still have
+	 * their own hash cached. Subtrees holding nodes of other implementations, at any depth, are never cached,
+	 * as changes to those nodes are not reflected in the versions of their ancestors.
+	 *
+	 * @see ContentHash
+	 */
+	public long getContentHash() {
+		return this.getContentMemo().hash;
+	}
+
+	ContentHash.Memo getContentMemo() {
+		// read the version first, so that a concurrent change causes at worst a spurious recomputation
+		long version = this.version.get();
+		ContentHash.Memo memo = this.contentHash;
+
+		// only tracked hashes are cached
+		if (memo != null && memo.version == version) {
+			return memo;
+		}
+
+		memo = ContentHash.ofChildren(version, this.items);
+
+		if (memo.tracked) {
+			this.contentHash = memo;
+		}
+
+		return memo;
+	}
+
+	/**
+	 * Called when a node was added to or removed from this branch or one of its descendants.
+	 */
+	void onStructureChanged() {
+		// tree structure is not thread safe to begin with, a plain increment is enough
+		this.structureVersion++;
+		this.version.incrementAndGet();
+		ConfigBranch parent = this.getParent();
+
+		if (parent instanceof ConfigBranchImpl) {
+			((ConfigBranchImpl) parent).onStructureChanged();
+		}
+	}
+
+	/**
+	 * Called when the value of a leaf under this branch changed.
+	 *
+	 * @param leaf the changed descendant
+	 */
+	void onDescendantChanged(ConfigLeaf<?> leaf) {
+		// unlike the tree structure, sibling leaves may be changed concurrently
+		this.version.incrementAndGet();
+
+		if (this.subtreeListeners.length == 0) {
+			return;
+		}
+
+		ChangeBatchImpl batch = ChangeBatchImpl.current();
+
+		if (batch != null) {
+			batch.record(this, leaf);
+		} else {
+			this.fireSubtreeChange(Collections.singleton(leaf));
+		}
+	}
+
+	void fireSubtreeChange(Set<ConfigLeaf<?>> changed) {
+		Set<ConfigLeaf<?>> view = Collections.unmodifiableSet(changed);
+
+		for (SubtreeListener listener : this.subtreeListeners) {
+			listener.onChange(this, view);
+		}
+	}
+
+	private static final class StructureMemo {
+		final long version;
+		final boolean tracked;
+
+		StructureMemo(long version, boolean tracked) {
+			this.version = version;
+			this.tracked = tracked;
+		}
+	}
 }
@@ -1,6 +1,12 @@
 package io.github.fablabsmc.fablabs.impl.fiber.tree;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.MutableCallSite;
+import java.util.Arrays;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.function.BiConsumer;
 
 import javax.annotation.Nonnull;
@@ -9,16 +15,38 @@ import javax.annotation.Nullable;
 import io.github.fablabsmc.fablabs.api.fiber.v1.builder.ConfigLeafBuilder;
 import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.SerializableType;
 import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.TypeCheckResult;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigBranch;
 import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigLeaf;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.HasValue;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.Property;
 
 public final class ConfigLeafImpl<T> extends ConfigNodeImpl implements ConfigLeaf<T> {
+	private static final MethodHandle GET_VALUE;
+	@SuppressWarnings("unchecked")
+	private static final AtomicLongFieldUpdater<ConfigLeafImpl<?>> VERSION = AtomicLongFieldUpdater.newUpdater((Class<ConfigLeafImpl<?>>) (Class<?>) ConfigLeafImpl.class, "version");
+
+	static {
+		try {
+			GET_VALUE = MethodHandles.publicLookup().findVirtual(HasValue.class, "getValue", MethodType.methodType(Object.class));
+		} catch (NoSuchMethodException | IllegalAccessException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
 	private T value;
 	@Nonnull
 	private final T defaultValue;
+	// copy on write, so that listeners can be (un)registered while being notified
 	@Nonnull
-	private BiConsumer<T, T> listener;
+	private volatile BiConsumer<T, T>[] listeners;
 	@Nonnull
 	private final SerializableType<T> type;
+	// created on first request, as updating it is costly
+	@Nullable
+	private volatile MutableCallSite valueSite;
+	private volatile long version;
+	@Nullable
+	private volatile ContentHash.Memo contentHash;
 
 	/**
 	 * Creates a {@code ConfigLeaf}.
@@ -31,11 +59,33 @@ public final class ConfigLeafImpl<T> extends ConfigNodeImpl implements ConfigLea
 	 * @see ConfigLeafBuilder
 	 */
 	public ConfigLeafImpl(@Nonnull String name, @Nonnull SerializableType<T> type, @Nullable String comment, @Nonnull T defaultValue, @Nonnull BiConsumer<T, T> listener) {
+		this(name, type, comment, defaultValue, listener, false);
+	}
+
+	private ConfigLeafImpl(@Nonnull String name, @Nonnull SerializableType<T> type, @Nullable String comment, @Nonnull T defaultValue, @Nonnull BiConsumer<T, T> listener, boolean validated) {
 		super(name, comment);
 		this.defaultValue = Objects.requireNonNull(defaultValue);
-		this.listener = listener;
-		this.type = type;
-		this.setValue(defaultValue);
+		@SuppressWarnings("unchecked") BiConsumer<T, T>[] listeners = (BiConsumer<T, T>[]) new BiConsumer<?, ?>[] {listener};
+		this.listeners = listeners;
+		this.type = SerializableType.intern(type);
+
+		if (validated) {
+			this.setValidatedValue(defaultValue);
+		} else {
+			this.setValue(defaultValue);
+		}
+	}
+
+	/**
+	 * Creates a {@code ConfigLeaf} with a default value that has already been checked against {@code type}.
+	 *
+	 * <p>This skips the constraint check normally performed on construction. The result of passing
+	 * a default value that is not {@linkplain SerializableType#accepts(Object) accepted} by {@code type} is unspecified.
+	 *
+	 * @see #ConfigLeafImpl(String, SerializableType, String, Object, BiConsumer)
+	 */
+	public static <T> ConfigLeafImpl<T> createValidated(@Nonnull String name, @Nonnull SerializableType<T> type, @Nullable String comment, @Nonnull T defaultValue, @Nonnull BiConsumer<T, T> listener) {
+		return new ConfigLeafImpl<>(name, type, comment, defaultValue, listener, true);
 	}
 
 	@Override
@@ -69,21 +119,148 @@ public final class ConfigLeafImpl<T> extends ConfigNodeImpl implements ConfigLea
 			correctedValue = result.getCorrectedValue().get();
 		}
 
-		T oldValue = this.value;
-		this.value = Objects.requireNonNull(correctedValue);
-		this.listener.accept(oldValue, this.value);
+		this.setValidatedValue(correctedValue);
 		return true;
 	}
 
+	/**
+	 * Sets the value held by this leaf, without checking it against this leaf's type.
+	 *
+	 * <p>This should only be used with values that are already known to be
+	 * {@linkplain SerializableType#accepts(Object) accepted} by this leaf's {@linkplain #getConfigType() type},
+	 * for example a value held by another leaf with an assignable type. As with {@link #setValue(Object)},
+	 * values equal to the current one are ignored, and listeners are notified otherwise.
+	 *
+	 * @param value the new, already validated value
+	 */
+	public void setValidatedValue(@Nonnull T value) {
+		T oldValue = this.value;
+
+		if (Objects.equals(oldValue, Objects.requireNonNull(value))) {
+			return;
+		}
+
+		this.value = value;
+		// like branch versions, so that no change is lost even if values are set concurrently
+		VERSION.incrementAndGet(this);
+		MutableCallSite site = this.valueSite;
+
+		if (site != null) {
+			updateSite(site, this.type.getErasedPlatformType(), this);
+		}
+
+		this.notifyListeners(oldValue, this.value);
+
+		for (ConfigBranch ancestor = this.getParent(); ancestor != null; ancestor = ancestor.getParent()) {
+			if (ancestor instanceof ConfigBranchImpl) {
+				((ConfigBranchImpl) ancestor).onDescendantChanged(this);
+			}
+		}
+	}
+
+	private void notifyListeners(T oldValue, T newValue) {
+		for (BiConsumer<T, T> listener : this.listeners) {
+			listener.accept(oldValue, newValue);
+		}
+	}
+
+	/**
+	 * Returns a hash of this leaf's value, in canonical form.
+	 *
+	 * <p>The hash is computed on first request, and cached until the value changes.
+	 *
+	 * @see ConfigBranchImpl#getContentHash()
+	 */
+	public long getContentHash() {
+		// read the version first, so that a concurrent change causes at worst a spurious recomputation
+		long version = this.version;
+		ContentHash.Memo memo = this.contentHash;
+
+		if (memo == null || memo.version != version) {
+			memo = new ContentHash.Memo(version, ContentHash.ofLeaf(this), true);
+			this.contentHash = memo;
+		}
+
+		return memo.hash;
+	}
+
 	@Override
 	@Nonnull
 	public BiConsumer<T, T> getListener() {
-		return listener;
+		return this::notifyListeners;
+	}
+
+	@Override
+	public synchronized void addChangeListener(BiConsumer<T, T> listener) {
+		BiConsumer<T, T>[] listeners = Arrays.copyOf(this.listeners, this.listeners.length + 1);
+		listeners[listeners.length - 1] = listener;
+		this.listeners = listeners;
+	}
+
+	@Override
+	public synchronized boolean removeChangeListener(BiConsumer<T, T> listener) {
+		BiConsumer<T, T>[] listeners = this.listeners;
+
+		for (int i = 0; i < listeners.length; i++) {
+			if (listeners[i].equals(listener)) {
+				BiConsumer<T, T>[] copy = Arrays.copyOf(listeners, listeners.length - 1);
+				System.arraycopy(listeners, i + 1, copy, i, copy.length - i);
+				this.listeners = copy;
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	@Override
+	public MethodHandle getValueHandle() {
+		MutableCallSite site = this.valueSite;
+
+		if (site == null) {
+			synchronized (this) {
+				site = this.valueSite;
+
+				if (site == null) {
+					T initialValue = this.value;
+					site = new MutableCallSite(MethodHandles.constant(this.type.getErasedPlatformType(), initialValue));
+					this.valueSite = site;
+
+					if (this.value != initialValue) {
+						// changed before the site was published
+						updateSite(site, this.type.getErasedPlatformType(), this);
+					}
+				}
+			}
+		}
+
+		return site.dynamicInvoker();
 	}
 
 	@Override
-	public void addChangeListener(BiConsumer<T, T> listener) {
-		this.listener = this.listener.andThen(listener);
+	public long getVersion() {
+		return this.version;
+	}
+
+	/**
+	 * Re-targets a call site to a constant handle returning the current value of a property.
+	 */
+	static void updateSite(MutableCallSite site, Class<?> type, Property<?> property) {
+		// reading the value under the lock makes the last update win with the latest value
+		synchronized (site) {
+			site.setTarget(MethodHandles.constant(type, property.getValue()));
+			MutableCallSite.syncAll(new MutableCallSite[] {site});
+		}
+	}
+
+	/**
+	 * Returns a handle of type {@code ()returnType} calling {@link HasValue#getValue()} on {@code holder}.
+	 *
+	 * <p>Unlike the handles of Fiber's leaves, the returned handle is not backed by a call site,
+	 * so the JIT cannot treat the value as a constant.
+	 */
+	public static MethodHandle getterHandle(HasValue<?> holder, Class<?> returnType) {
+		return GET_VALUE.bindTo(holder).asType(MethodType.methodType(returnType));
 	}
 
 	@Override
@@ -1,9 +1,7 @@
 package io.github.fablabsmc.fablabs.impl.fiber.tree;
 
-import java.util.Comparator;
 import java.util.Map;
 import java.util.Optional;
-import java.util.TreeMap;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -25,7 +23,8 @@ import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigNode;
  * @see ConfigLeafImpl
  */
 public abstract class ConfigNodeImpl implements ConfigNode, Commentable {
-	private final Map<FiberId, ConfigAttribute<?>> attributes;
+	@Nullable
+	private AttributeMap attributes;
 	@Nonnull
 	private final String name;
 	@Nullable
@@ -40,7 +39,6 @@ public abstract class ConfigNodeImpl implements ConfigNode, Commentable {
 	 * @param comment the comment for this leaf
 	 */
 	public ConfigNodeImpl(@Nonnull String name, @Nullable String comment) {
-		this.attributes = new TreeMap<>(Comparator.comparing(FiberId::toString));
 		this.name = name;
 		this.comment = comment;
 	}
@@ -65,6 +63,11 @@ public abstract class ConfigNodeImpl implements ConfigNode, Commentable {
 
 	@Override
 	public Map<FiberId, ConfigAttribute<?>> getAttributes() {
+		// most nodes never get any attribute
+		if (this.attributes == null) {
+			this.attributes = new AttributeMap();
+		}
+
 		return this.attributes;
 	}
 
@@ -78,6 +81,10 @@ public abstract class ConfigNodeImpl implements ConfigNode, Commentable {
 
 	@Override
 	public <A> Optional<A> getAttributeValue(FiberId id, SerializableType<A> expectedType) {
+		if (this.attributes == null) {
+			return Optional.empty();
+		}
+
 		ConfigAttribute<?> attr = this.attributes.get(id);
 
 		if (attr != null) {
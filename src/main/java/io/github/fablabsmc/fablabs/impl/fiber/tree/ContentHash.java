@@ -0,0 +1,251 @@
+package io.github.fablabsmc.fablabs.impl.fiber.tree;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.annotation.Nullable;
+
+import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.BooleanSerializableType;
+import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.DecimalSerializableType;
+import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.EnumSerializableType;
+import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.ListSerializableType;
+import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.MapSerializableType;
+import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.RecordSerializableType;
+import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.SerializableType;
+import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.StringSerializableType;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigLeaf;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigNode;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigTree;
+
+/**
+ * Computes 64-bit hashes of config values and subtrees, from a canonical encoding of their content.
+ *
+ * <p>The canonical encoding of a value only depends on what would be serialized: numbers are compared by
+ * numeric value regardless of scale, and map entries and record fields by name regardless of iteration order.
+ * A subtree is encoded as the set of its children, each identified by name. The name of the hashed node itself,
+ * and the comments and attributes of any node, are not part of the encoding.
+ */
+public final class ContentHash {
+	private static final byte BRANCH = 1;
+	private static final byte LEAF = 2;
+	private static final byte BOOLEAN = 3;
+	private static final byte NUMBER = 4;
+	private static final byte STRING = 5;
+	private static final byte ENUM = 6;
+	private static final byte LIST = 7;
+	private static final byte MAP = 8;
+	private static final byte RECORD = 9;
+	private static final byte OTHER = 10;
+
+	private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+	private static final long FNV_PRIME = 0x100000001b3L;
+
+	private long state = FNV_OFFSET;
+
+	private ContentHash() {
+	}
+
+	/**
+	 * Returns the content hash of a node, from the caches of the node and its descendants when possible.
+	 */
+	public static long ofNode(ConfigNode node) {
+		if (node instanceof ConfigBranchImpl) {
+			return ((ConfigBranchImpl) node).getContentHash();
+		} else if (node instanceof ConfigLeafImpl<?>) {
+			return ((ConfigLeafImpl<?>) node).getContentHash();
+		} else if (node instanceof ConfigTree) {
+			return ofChildren(((ConfigTree) node).getItems());
+		} else if (node instanceof ConfigLeaf<?>) {
+			return ofLeaf((ConfigLeaf<?>) node);
+		}
+
+		return new ContentHash().putByte(OTHER).finish();
+	}
+
+	/**
+	 * Returns the content hash of a tree, from the caches of the tree and its descendants when possible.
+	 */
+	public static long ofTree(ConfigTree tree) {
+		if (tree instanceof ConfigNode) {
+			return ofNode((ConfigNode) tree);
+		}
+
+		return ofChildren(tree.getItems());
+	}
+
+	static <T> long ofLeaf(ConfigLeaf<T> leaf) {
+		ContentHash hash = new ContentHash().putByte(LEAF);
+		hash.putValue(leaf.getConfigType(), leaf.getValue());
+		return hash.finish();
+	}
+
+	static long ofChildren(Collection<ConfigNode> children) {
+		return ofChildren(0, children).hash;
+	}
+
+	/**
+	 * Hashes the children of a branch, and finds out whether the hash can be cached with the branch's {@code version}.
+	 *
+	 * <p>A hash is tracked if changes to the content of {@code children} are reflected in the versions of their
+	 * parent branch, which is only the case if every descendant is a {@link ConfigLeafImpl} or {@link ConfigBranchImpl}.
+	 */
+	static Memo ofChildren(long version, Collection<ConfigNode> children) {
+		long[] entries = new long[children.size()];
+		boolean tracked = true;
+		int i = 0;
+
+		for (ConfigNode child : children) {
+			long childHash;
+
+			if (child instanceof ConfigBranchImpl) {
+				// a foreign node deeper in the subtree makes the whole subtree untracked
+				Memo memo = ((ConfigBranchImpl) child).getContentMemo();
+				childHash = memo.hash;
+				tracked &= memo.tracked;
+			} else {
+				childHash = ofNode(child);
+				tracked &= child instanceof ConfigLeafImpl;
+			}
+
+			entries[i++] = new ContentHash().putString(child.getName()).putLong(childHash).finish();
+		}
+
+		// children are identified by name, the order in which they were added does not matter
+		Arrays.sort(entries);
+		ContentHash hash = new ContentHash().putByte(BRANCH).putInt(entries.length);
+
+		for (long entry : entries) {
+			hash.putLong(entry);
+		}
+
+		return new Memo(version, hash.finish(), tracked);
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> void putValue(SerializableType<T> type, T value) {
+		if (type instanceof BooleanSerializableType) {
+			this.putByte(BOOLEAN).putByte((Boolean) value ? (byte) 1 : 0);
+		} else if (type instanceof DecimalSerializableType) {
+			BigDecimal number = (BigDecimal) value;
+			// 1, 1.0 and 1.00 are the same setting
+			number = number.signum() == 0 ? BigDecimal.ZERO : number.stripTrailingZeros();
+			byte[] unscaled = number.unscaledValue().toByteArray();
+			this.putByte(NUMBER).putInt(number.scale()).putInt(unscaled.length);
+
+			for (byte b : unscaled) {
+				this.putByte(b);
+			}
+		} else if (type instanceof StringSerializableType) {
+			this.putByte(STRING).putString((String) value);
+		} else if (type instanceof EnumSerializableType) {
+			this.putByte(ENUM).putString((String) value);
+		} else if (type instanceof ListSerializableType<?>) {
+			this.putList((ListSerializableType<Object>) type, (List<Object>) value);
+		} else if (type instanceof MapSerializableType<?>) {
+			this.putMap((MapSerializableType<Object>) type, (Map<String, Object>) value);
+		} else if (type instanceof RecordSerializableType) {
+			this.putRecord((RecordSerializableType) type, (Map<String, Object>) value);
+		} else {
+			this.putByte(OTHER).putInt(value.hashCode());
+		}
+	}
+
+	private <E> void putList(ListSerializableType<E> type, List<E> value) {
+		this.putByte(LIST).putInt(value.size());
+
+		for (E element : value) {
+			this.putValue(type.getElementType(), element);
+		}
+	}
+
+	private <V> void putMap(MapSerializableType<V> type, Map<String, V> value) {
+		this.putByte(MAP).putInt(value.size());
+
+		for (Map.Entry<String, V> entry : new TreeMap<>(value).entrySet()) {
+			this.putString(entry.getKey());
+			this.putValue(type.getValueType(), entry.getValue());
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void putRecord(RecordSerializableType type, Map<String, Object> value) {
+		Map<String, SerializableType<?>> fields = new TreeMap<>(type.getFields());
+		this.putByte(RECORD).putInt(fields.size());
+
+		for (Map.Entry<String, SerializableType<?>> field : fields.entrySet()) {
+			this.putString(field.getKey());
+			this.putValue((SerializableType<Object>) field.getValue(), value.get(field.getKey()));
+		}
+	}
+
+	private ContentHash putByte(byte b) {
+		// FNV-1a
+		this.state = (this.state ^ (b & 0xff)) * FNV_PRIME;
+		return this;
+	}
+
+	private ContentHash putInt(int i) {
+		for (int shift = 0; shift < Integer.SIZE; shift += Byte.SIZE) {
+			this.putByte((byte) (i >>> shift));
+		}
+
+		return this;
+	}
+
+	private ContentHash putLong(long l) {
+		for (int shift = 0; shift < Long.SIZE; shift += Byte.SIZE) {
+			this.putByte((byte) (l >>> shift));
+		}
+
+		return this;
+	}
+
+	private ContentHash putString(@Nullable String s) {
+		if (s == null) {
+			return this.putInt(-1);
+		}
+
+		this.putInt(s.length());
+
+		for (int i = 0; i < s.length(); i++) {
+			char c = s.charAt(i);
+			this.putByte((byte) c);
+			this.putByte((byte) (c >>> 8));
+		}
+
+		return this;
+	}
+
+	private long finish() {
+		// murmur3 finalizer, FNV alone mixes the last bytes poorly
+		long h = this.state;
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		h *= 0xc4ceb9fe1a85ec53L;
+		h ^= h >>> 33;
+		return h;
+	}
+
+	/**
+	 * A hash computed for a given version of a node.
+	 */
+	static final class Memo {
+		final long version;
+		final long hash;
+		/**
+		 * Whether every change to the hashed content also changes the version of the node.
+		 */
+		final boolean tracked;
+
+		Memo(long version, long hash, boolean tracked) {
+			this.version = version;
+			this.hash = hash;
+			this.tracked = tracked;
+		}
+	}
+}
@@ -1,11 +1,15 @@
 package io.github.fablabsmc.fablabs.impl.fiber.tree;
 
 import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Spliterator;
+import java.util.Spliterators;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -15,9 +19,26 @@ import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigBranch;
 import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigNode;
 import io.github.fablabsmc.fablabs.api.fiber.v1.tree.NodeCollection;
 
+/**
+ * A {@link NodeCollection} that keeps its children in insertion order.
+ *
+ * <p>Children are stored in a plain array, which is scanned linearly for
+ * small branches. Above a size threshold, the position of each child is additionally indexed by name.
+ */
 public class IndexedNodeCollection extends AbstractCollection<ConfigNode> implements NodeCollection {
+	/**
+	 * The amount of children above which lookups go through a hashed index.
+	 */
+	private static final int INDEX_THRESHOLD = 8;
+	private static final int INITIAL_CAPACITY = 4;
+	private static final ConfigNode[] EMPTY = new ConfigNode[0];
+
 	// the node ordering is important, it will be kept in the config file
-	private final Map<String, ConfigNode> items = new LinkedHashMap<>();
+	private ConfigNode[] items = EMPTY;
+	private int size;
+	@Nullable
+	private Map<String, Integer> index;
+	private int modCount;
 	@Nullable
 	private final ConfigBranch owner;
 
@@ -31,32 +52,39 @@ public class IndexedNodeCollection extends AbstractCollection<ConfigNode> implem
 		return new Iterator<ConfigNode>() {
 			@Nullable
 			private ConfigNode last;
-			private final Iterator<ConfigNode> backing = items.values().iterator();
+			private int cursor;
+			private int expectedModCount = modCount;
 
 			@Override
 			public boolean hasNext() {
-				return backing.hasNext();
+				return this.cursor < size;
 			}
 
 			@Override
 			public ConfigNode next() {
-				this.last = this.backing.next();
-				return last;
+				if (modCount != this.expectedModCount) throw new ConcurrentModificationException();
+				if (this.cursor >= size) throw new NoSuchElementException();
+				this.last = items[this.cursor++];
+				return this.last;
 			}
 
 			@Override
 			public void remove() {
 				if (this.last == null) throw new IllegalStateException();
+				if (modCount != this.expectedModCount) throw new ConcurrentModificationException();
+				ConfigNode removed = this.last;
+				this.last = null;
 				// order is important to avoid infinite recursion
-				this.backing.remove();
-				this.last.detach();
+				removeAt(--this.cursor);
+				this.expectedModCount = modCount;
+				removed.detach();
 			}
 		};
 	}
 
 	@Override
 	public Spliterator<ConfigNode> spliterator() {
-		return this.items.values().spliterator();
+		return Spliterators.spliterator(this, Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL);
 	}
 
 	@Override
@@ -70,11 +98,25 @@ public class IndexedNodeCollection extends AbstractCollection<ConfigNode> implem
 
 		if (overwrite) {
 			this.removeByName(item.getName());
-		} else if (this.items.containsKey(item.getName())) {
+		} else if (this.indexOf(item.getName()) >= 0) {
 			throw new DuplicateChildException("Attempt to replace node " + item.getName());
 		}
 
-		this.items.put(item.getName(), item);
+		if (this.size == this.items.length) {
+			this.items = Arrays.copyOf(this.items, Math.max(INITIAL_CAPACITY, this.size * 2));
+		}
+
+		this.items[this.size++] = item;
+		this.modCount++;
+		this.onStructureChanged();
+
+		if (this.index != null) {
+			this.index.put(item.getName(), this.size - 1);
+		} else if (this.size > INDEX_THRESHOLD) {
+			this.index = new HashMap<>();
+			this.reindex(0);
+		}
+
 		item.attachTo(this.owner);
 		return true;
 	}
@@ -82,7 +124,7 @@ public class IndexedNodeCollection extends AbstractCollection<ConfigNode> implem
 	@Override
 	public boolean contains(@Nullable Object o) {
 		if (o instanceof ConfigNode) {
-			return Objects.equals(this.items.get(((ConfigNode) o).getName()), o);
+			return Objects.equals(this.getByName(((ConfigNode) o).getName()), o);
 		}
 
 		return false;
@@ -91,9 +133,10 @@ public class IndexedNodeCollection extends AbstractCollection<ConfigNode> implem
 	@Override
 	public boolean remove(@Nullable Object child) {
 		if (child instanceof ConfigNode) {
-			boolean removed = this.items.remove(((ConfigNode) child).getName(), child);
+			int i = this.indexOf(((ConfigNode) child).getName());
 
-			if (removed) {
+			if (i >= 0 && Objects.equals(this.items[i], child)) {
+				this.removeAt(i);
 				((ConfigNode) child).detach();
 				return true;
 			}
@@ -104,23 +147,73 @@ public class IndexedNodeCollection extends AbstractCollection<ConfigNode> implem
 
 	@Override
 	public int size() {
-		return items.size();
+		return this.size;
 	}
 
 	@Override
 	public ConfigNode getByName(String name) {
-		return this.items.get(name);
+		int i = this.indexOf(name);
+		return i < 0 ? null : this.items[i];
 	}
 
 	@Override
 	@Nullable
 	public ConfigNode removeByName(String name) {
-		ConfigNode removed = this.items.remove(name);
+		int i = this.indexOf(name);
 
-		if (removed != null) {
-			removed.detach();
+		if (i < 0) {
+			return null;
 		}
 
+		ConfigNode removed = this.items[i];
+		this.removeAt(i);
+		removed.detach();
 		return removed;
 	}
+
+	private int indexOf(String name) {
+		if (this.index != null) {
+			Integer i = this.index.get(name);
+			return i == null ? -1 : i;
+		}
+
+		for (int i = 0; i < this.size; i++) {
+			if (Objects.equals(this.items[i].getName(), name)) {
+				return i;
+			}
+		}
+
+		return -1;
+	}
+
+	private void removeAt(int i) {
+		ConfigNode removed = this.items[i];
+		System.arraycopy(this.items, i + 1, this.items, i, this.size - i - 1);
+		this.items[--this.size] = null;
+		this.modCount++;
+		this.onStructureChanged();
+
+		if (this.index != null) {
+			if (this.size <= INDEX_THRESHOLD / 2) {
+				// small enough again, go back to linear lookups
+				this.index = null;
+			} else {
+				this.index.remove(removed.getName());
+				// following children moved back by one
+				this.reindex(i);
+			}
+		}
+	}
+
+	private void reindex(int from) {
+		for (int i = from; i < this.size; i++) {
+			this.index.put(this.items[i].getName(), i);
+		}
+	}
+
+	private void onStructureChanged() {
+		if (this.owner instanceof ConfigBranchImpl) {
+			((ConfigBranchImpl) this.owner).onStructureChanged();
+		}
+	}
 }
@@ -1,11 +1,16 @@
 package io.github.fablabsmc.fablabs.impl.fiber.tree;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MutableCallSite;
 import java.util.Objects;
+import java.util.function.BiConsumer;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.derived.ConfigType;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigAttribute;
 import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigLeaf;
 import io.github.fablabsmc.fablabs.api.fiber.v1.tree.Property;
 import io.github.fablabsmc.fablabs.api.fiber.v1.tree.PropertyMirror;
@@ -17,6 +22,19 @@ public final class PropertyMirrorImpl<R, S> implements PropertyMirror<R> {
 	private S lastSerializedValue;
 	@Nullable
 	private R cachedValue;
+	/**
+	 * Whether every value of the delegate is known to satisfy the mirrored type's constraints.
+	 */
+	private boolean trustedDelegate;
+	@Nullable
+	private volatile MutableCallSite valueSite;
+	/**
+	 * Registered on the delegate for passive invalidation, and unregistered when mirroring another property.
+	 */
+	private final BiConsumer<S, S> invalidator = (old, cur) -> {
+		this.cachedValue = null;
+		this.updateValueSite();
+	};
 
 	public PropertyMirrorImpl(ConfigType<R, S, ?> mirroredType) {
 		this.mirroredType = mirroredType;
@@ -37,15 +55,36 @@ public final class PropertyMirrorImpl<R, S> implements PropertyMirror<R> {
 		}
 
 		@SuppressWarnings("unchecked") Property<S> d = (Property<S>) delegate;
+		this.unregisterInvalidator();
 		this.delegate = d;
+		this.cachedValue = null;
 
 		if (d instanceof ConfigLeaf) {
 			// passive invalidation
-			((ConfigLeaf<S>) d).addChangeListener((old, cur) -> this.cachedValue = null);
+			ConfigLeaf<S> leaf = (ConfigLeaf<S>) d;
+			leaf.addChangeListener(this.invalidator);
+			this.lastSerializedValue = null;
+			// leaves only ever hold values accepted by their own type
+			this.trustedDelegate = this.mirroredType.getSerializedType().isAssignableFrom(leaf.getConfigType());
+		} else if (d instanceof ConfigAttribute && ((ConfigAttribute<S>) d).addChangeListener(this.invalidator)) {
+			// passive invalidation, attribute values are not checked against their type however
 			this.lastSerializedValue = null;
+			this.trustedDelegate = false;
 		} else {
 			// active invalidation, less efficient
 			this.lastSerializedValue = d.getValue();
+			this.trustedDelegate = false;
+		}
+
+		this.updateValueSite();
+	}
+
+	private void unregisterInvalidator() {
+		// leaves that cannot unregister listeners keep it, which at worst clears the cache of this mirror
+		if (this.delegate instanceof ConfigLeaf) {
+			((ConfigLeaf<S>) this.delegate).removeChangeListener(this.invalidator);
+		} else if (this.delegate instanceof ConfigAttribute) {
+			((ConfigAttribute<S>) this.delegate).removeChangeListener(this.invalidator);
 		}
 	}
 
@@ -75,7 +114,12 @@ public final class PropertyMirrorImpl<R, S> implements PropertyMirror<R> {
 			S serializedValue = this.delegate.getValue();
 
 			if (cachedValue == null || !Objects.equals(this.lastSerializedValue, serializedValue)) {
-				this.cachedValue = this.mirroredType.toRuntimeType(serializedValue);
+				if (this.trustedDelegate) {
+					this.cachedValue = this.mirroredType.toRuntimeTypeUnchecked(serializedValue);
+				} else {
+					this.cachedValue = this.mirroredType.toRuntimeType(serializedValue);
+				}
+
 				this.lastSerializedValue = serializedValue;
 			}
 		}
@@ -83,6 +127,25 @@ public final class PropertyMirrorImpl<R, S> implements PropertyMirror<R> {
 		return this.cachedValue;
 	}
 
+	@Override
+	public synchronized MethodHandle getValueHandle() {
+		if (!(this.delegate instanceof ConfigLeaf)) throw new IllegalStateException("Value handles require a mirrored ConfigLeaf");
+
+		if (this.valueSite == null) {
+			this.valueSite = new MutableCallSite(MethodHandles.constant(this.getType(), this.getValue()));
+		}
+
+		return this.valueSite.dynamicInvoker();
+	}
+
+	private void updateValueSite() {
+		MutableCallSite site = this.valueSite;
+
+		if (site != null) {
+			ConfigLeafImpl.updateSite(site, this.getType(), this);
+		}
+	}
+
 	@Override
 	public Class<R> getType() {
 		return this.mirroredType.getRuntimeType();
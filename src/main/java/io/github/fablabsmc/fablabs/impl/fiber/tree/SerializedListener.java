@@ -0,0 +1,138 @@
+package io.github.fablabsmc.fablabs.impl.fiber.tree;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ListenerDispatcher;
+
+/**
+ * A listener delivering changes to a delegate on an executor, one at a time and in order.
+ *
+ * @param <T> the type of values observed by the listener
+ * @see ListenerDispatcher#serialized(Executor, int, ListenerDispatcher.Overflow)
+ */
+public final class SerializedListener<T> implements BiConsumer<T, T> {
+	private final Executor executor;
+	private final int capacity;
+	private final ListenerDispatcher.Overflow overflow;
+	private final BiConsumer<T, T> delegate;
+	private final Deque<Change<T>> pending = new ArrayDeque<>();
+	/**
+	 * Whether a drain task has been submitted and has not finished yet.
+	 */
+	private boolean scheduled;
+
+	public SerializedListener(Executor executor, int capacity, ListenerDispatcher.Overflow overflow, BiConsumer<T, T> delegate) {
+		this.executor = executor;
+		this.capacity = capacity;
+		this.overflow = overflow;
+		this.delegate = delegate;
+	}
+
+	@Override
+	public void accept(T oldValue, T newValue) {
+		synchronized (this.pending) {
+			if (this.overflow == ListenerDispatcher.Overflow.COALESCE && !this.pending.isEmpty()) {
+				// keep the oldest previous value, so that the merged change spans every pending one
+				this.pending.addLast(new Change<>(this.pending.pollLast().oldValue, newValue));
+				return;
+			}
+
+			if (this.pending.size() >= this.capacity && !this.makeRoom()) {
+				return;
+			}
+
+			this.pending.addLast(new Change<>(oldValue, newValue));
+
+			if (this.scheduled) {
+				return;
+			}
+
+			this.scheduled = true;
+		}
+
+		try {
+			this.executor.execute(this::drain);
+		} catch (RuntimeException e) {
+			synchronized (this.pending) {
+				this.scheduled = false;
+			}
+
+			throw e;
+		}
+	}
+
+	/**
+	 * Makes room for a new change, according to the overflow policy.
+	 *
+	 * @return {@code true} if the new change should be queued, {@code false} if it should be dropped
+	 */
+	private boolean makeRoom() {
+		switch (this.overflow) {
+		case BLOCK:
+			try {
+				while (this.pending.size() >= this.capacity) {
+					this.pending.wait();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return false;
+			}
+
+			return true;
+		case DROP_OLDEST:
+			this.pending.pollFirst();
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	private void drain() {
+		Throwable failure = null;
+
+		while (true) {
+			Change<T> change;
+
+			synchronized (this.pending) {
+				change = this.pending.pollFirst();
+
+				if (change == null) {
+					this.scheduled = false;
+					break;
+				}
+
+				this.pending.notifyAll();
+			}
+
+			try {
+				this.delegate.accept(change.oldValue, change.newValue);
+			} catch (RuntimeException | Error e) {
+				// a failing listener must not stall the following changes
+				if (failure == null) {
+					failure = e;
+				} else {
+					failure.addSuppressed(e);
+				}
+			}
+		}
+
+		if (failure instanceof RuntimeException) {
+			throw (RuntimeException) failure;
+		} else if (failure != null) {
+			throw (Error) failure;
+		}
+	}
+
+	private static final class Change<T> {
+		final T oldValue;
+		final T newValue;
+
+		Change(T oldValue, T newValue) {
+			this.oldValue = oldValue;
+			this.newValue = newValue;
+		}
+	}
+}
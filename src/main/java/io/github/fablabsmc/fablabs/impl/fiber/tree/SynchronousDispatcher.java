@@ -0,0 +1,19 @@
+package io.github.fablabsmc.fablabs.impl.fiber.tree;
+
+import java.util.function.BiConsumer;
+
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ListenerDispatcher;
+
+/**
+ * The dispatcher calling listeners directly, shared so that it can be recognized by identity.
+ *
+ * @see ListenerDispatcher#synchronous()
+ */
+public enum SynchronousDispatcher implements ListenerDispatcher {
+	INSTANCE;
+
+	@Override
+	public <T> BiConsumer<T, T> dispatch(BiConsumer<T, T> listener) {
+		return listener;
+	}
+}
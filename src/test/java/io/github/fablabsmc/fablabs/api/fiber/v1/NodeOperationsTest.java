@@ -56,6 +56,20 @@ public class NodeOperationsTest {
 		testItemFor(ConfigTypes.INTEGER.getSerializedType(), BigDecimal.TEN, valueTwo);
 	}
 
+	@Test
+	@DisplayName("Value -> Narrower Value")
+	void copyValueNarrowing() {
+		ConfigLeaf<BigDecimal> wide = ConfigLeafBuilder
+				.create(null, "A", ConfigTypes.INTEGER.getSerializedType(), BigDecimal.valueOf(100))
+				.build();
+		ConfigLeaf<BigDecimal> narrow = ConfigLeafBuilder
+				.create(null, "A", ConfigTypes.INTEGER.withMaximum(50).getSerializedType(), BigDecimal.TEN)
+				.build();
+
+		NodeOperations.copyValue(wide, narrow);
+		assertTrue(narrow.getConfigType().accepts(narrow.getValue()), "Copied value is checked against narrower type");
+	}
+
 	public static <T> void testNodeFor(ConfigTree node, String name, SerializableType<T> type, T value) {
 		ConfigNode item = node.lookup(name);
 		testItemFor(type, value, item);
@@ -5,9 +5,12 @@ import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.lang.reflect.Proxy;
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.Collection;
@@ -21,6 +24,7 @@ import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.ListSerializableType
 import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.StringSerializableType;
 import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.derived.ConfigTypes;
 import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.derived.ListConfigType;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigBranch;
 import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigLeaf;
 import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigNode;
 import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigTree;
@@ -281,6 +285,91 @@ class AnnotatedSettingsTest {
 		assertEquals(2, this.node.getItems().size(), "Node has two items");
 	}
 
+	@Test
+	@DisplayName("Settings snapshots")
+	void testSnapshot() throws FiberException {
+		ConfigBranch tree = this.annotatedSettings.makeTree(new SubNodePojo());
+		ConfigLeaf<BigDecimal> leaf = tree.lookupBranch("a").lookupLeaf("b", ConfigTypes.INTEGER.getSerializedType());
+
+		SettingsSnapshot<SubNodePojo> snapshot = this.annotatedSettings.makeSnapshot(new SubNodePojo(), tree);
+		SubNodePojo first = snapshot.get();
+		assertEquals(5, first.node.b);
+
+		leaf.setValue(BigDecimal.TEN);
+		SubNodePojo second = snapshot.get();
+		assertNotSame(first, second, "A new snapshot is published on change");
+		assertEquals(5, first.node.b, "Published snapshots are never modified");
+		assertEquals(10, second.node.b);
+
+		snapshot.close();
+		leaf.setValue(BigDecimal.ONE);
+		assertSame(second, snapshot.get(), "Closed snapshots are no longer updated");
+	}
+
+	@Test
+	@DisplayName("Snapshot of a mismatched tree")
+	void testSnapshotMismatch() {
+		ConfigBranch tree = ConfigTree.builder().withValue("a", ConfigTypes.STRING, "5").build();
+		assertThrows(FiberException.class, () -> this.annotatedSettings.makeSnapshot(new OneFieldPojo(), tree));
+	}
+
+	@Test
+	@DisplayName("Interface view")
+	void testView() throws FiberException {
+		ConfigTree tree = ConfigTree.builder()
+				.withValue("count", ConfigTypes.INTEGER, 5)
+				.withValue("enabled", ConfigTypes.BOOLEAN, true)
+				.withValue("tag_name", ConfigTypes.STRING, "a")
+				.build();
+		AnnotatedSettings settings = AnnotatedSettings.builder().useNamingConvention(SettingNamingConvention.SNAKE_CASE).build();
+		ExampleView view = settings.makeView(ExampleView.class, tree);
+
+		assertEquals(5, view.getCount());
+		assertTrue(view.isEnabled());
+		assertEquals("a", view.tagName());
+		assertEquals(6, view.next());
+
+		view.setCount(42);
+		assertTrue(view.setTagName("b"));
+		assertEquals(BigDecimal.valueOf(42), tree.lookupLeaf("count", ConfigTypes.INTEGER.getSerializedType()).getValue());
+		assertEquals(43, view.next());
+		assertEquals("b", view.tagName());
+
+		tree.lookupLeaf("enabled", ConfigTypes.BOOLEAN.getSerializedType()).setValue(false);
+		assertFalse(view.isEnabled(), "Views read through to the tree");
+
+		ExampleView other = settings.makeView(ExampleView.class, tree);
+		assertEquals(view, view);
+		assertNotSame(view, other);
+		assertFalse(view.equals(other), "Views use identity");
+		assertFalse(Proxy.isProxyClass(view.getClass()));
+		assertSame(view.getClass(), other.getClass(), "View classes are generated once per interface");
+	}
+
+	@Test
+	@DisplayName("Invalid interface view")
+	void testInvalidView() {
+		ConfigTree tree = ConfigTree.builder().withValue("count", ConfigTypes.STRING, "5").build();
+		assertThrows(FiberException.class, () -> this.annotatedSettings.makeView(ExampleView.class, tree), "Leaf type mismatch");
+		assertThrows(FiberException.class, () -> this.annotatedSettings.makeView(Runnable.class, tree), "Not a getter or setter");
+	}
+
+	public interface ExampleView {
+		int getCount();
+
+		void setCount(int count);
+
+		boolean isEnabled();
+
+		String tagName();
+
+		boolean setTagName(String tagName);
+
+		default int next() {
+			return this.getCount() + 1;
+		}
+	}
+
 	private static class FinalSettingPojo {
 		private final int a = 5;
 	}
@@ -0,0 +1,151 @@
+package io.github.fablabsmc.fablabs.api.fiber.v1.schema;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.ListSerializableType;
+import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.derived.ConfigTypes;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigBranch;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigTree;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ConfigColumnStoreTest {
+	private static final ConfigSchema SCHEMA = ConfigSchema.compile(ConfigTree.builder()
+			.withValue("pvp", ConfigTypes.BOOLEAN, true)
+			.withValue("name", ConfigTypes.STRING, "player")
+			.fork("limits")
+			.withValue("homes", ConfigTypes.INTEGER.withMinimum(0).withMaximum(10), 3)
+			.withValue("speed", ConfigTypes.DOUBLE, 1.0)
+			.finishBranch()
+			.build());
+	private static final ConfigSchema.Slot<Boolean> PVP = SCHEMA.slot(ConfigTypes.BOOLEAN.getSerializedType(), "pvp");
+	private static final ConfigSchema.Slot<BigDecimal> HOMES = SCHEMA.slot(ConfigTypes.INTEGER.withMinimum(0).withMaximum(10).getSerializedType(), "limits", "homes");
+	private static final ConfigSchema.Slot<BigDecimal> SPEED = SCHEMA.slot(ConfigTypes.DOUBLE.getSerializedType(), "limits", "speed");
+
+	@DisplayName("Test column values")
+	@Test
+	void testColumns() {
+		ConfigColumnStore store = new ConfigColumnStore(SCHEMA);
+
+		for (int i = 0; i < 100; i++) {
+			assertEquals(i, store.addRow());
+		}
+
+		assertEquals(100, store.size());
+		assertEquals(100, store.countTrue(PVP));
+
+		for (int row = 0; row < 100; row += 3) {
+			store.setValue(row, PVP, false);
+		}
+
+		assertEquals(66, store.countTrue(PVP));
+		assertTrue(store.setValue(5, HOMES, BigDecimal.valueOf(50)), "Values are corrected");
+		assertEquals(BigDecimal.TEN, store.getValue(5, HOMES));
+		assertEquals(1, store.count(HOMES, homes -> homes.intValue() > 3));
+
+		store.setValue(7, SPEED, new BigDecimal("2"));
+		store.setValue(8, SPEED, new BigDecimal("2.5"));
+		assertEquals(new BigDecimal("2"), store.getValue(7, SPEED), "Integral values survive column promotion");
+		assertEquals(new BigDecimal("2.5"), store.getValue(8, SPEED));
+		assertEquals(BigDecimal.valueOf(3), store.getValue(99, HOMES));
+		assertThrows(IndexOutOfBoundsException.class, () -> store.getValue(100, PVP));
+	}
+
+	@DisplayName("Test integer scans")
+	@Test
+	void testIntegerScans() {
+		ConfigColumnStore store = new ConfigColumnStore(SCHEMA);
+
+		for (int i = 0; i < 10; i++) {
+			store.setValue(store.addRow(), HOMES, BigDecimal.valueOf(i));
+		}
+
+		assertEquals(6, store.countIntegers(HOMES, homes -> homes > 3));
+		assertEquals(10, store.countIntegers(SPEED, speed -> speed == 1));
+
+		store.setValue(0, SPEED, new BigDecimal("1.5"));
+		assertEquals(9, store.countIntegers(SPEED, speed -> speed == 1), "Fractional values never match");
+	}
+
+	@DisplayName("Test row removal")
+	@Test
+	void testRemoveRow() {
+		ConfigColumnStore store = new ConfigColumnStore(SCHEMA);
+
+		for (int i = 0; i < 4; i++) {
+			store.setValue(store.addRow(), HOMES, BigDecimal.valueOf(i));
+		}
+
+		store.setValue(3, PVP, false);
+		List<Boolean> removed = new ArrayList<>();
+		List<Boolean> moved = new ArrayList<>();
+		store.row(1).addChangeListener(PVP, (oldValue, newValue) -> removed.add(newValue));
+		store.row(3).addChangeListener(PVP, (oldValue, newValue) -> moved.add(newValue));
+
+		store.removeRow(1);
+		assertEquals(3, store.size());
+		assertEquals(BigDecimal.valueOf(3), store.getValue(1, HOMES), "The last row takes the place of the removed one");
+		assertFalse(store.getValue(1, PVP));
+		assertEquals(2, store.countTrue(PVP));
+		assertThrows(IndexOutOfBoundsException.class, () -> store.getValue(3, HOMES));
+
+		store.setValue(1, PVP, true);
+		assertEquals(Arrays.asList(true), moved, "Listeners follow moved rows");
+		assertTrue(removed.isEmpty(), "Listeners of removed rows are discarded");
+
+		store.removeRow(2);
+		assertEquals(2, store.size());
+		assertEquals(2, store.countTrue(PVP));
+		assertEquals(BigDecimal.valueOf(3), store.getValue(store.addRow(), HOMES), "New rows hold default values");
+	}
+
+	@DisplayName("Test row views")
+	@Test
+	void testRows() {
+		ConfigColumnStore store = new ConfigColumnStore(SCHEMA);
+		ConfigInstance first = store.row(store.addRow());
+		ConfigInstance second = store.row(store.addRow());
+		List<Boolean> changes = new ArrayList<>();
+		first.addChangeListener(PVP, (oldValue, newValue) -> changes.add(newValue));
+
+		first.setValue(PVP, false);
+		first.setValue(PVP, false);
+		second.setValue(PVP, false);
+		assertEquals(Arrays.asList(false), changes, "Listeners are per row");
+		assertFalse(store.getValue(0, PVP));
+
+		ConfigBranch tree = second.toTree();
+		assertEquals(false, tree.lookupLeaf("pvp", ConfigTypes.BOOLEAN.getSerializedType()).getValue());
+	}
+
+	@DisplayName("Test column trees")
+	@Test
+	void testColumnTrees() {
+		ConfigColumnStore store = new ConfigColumnStore(SCHEMA);
+		store.addRow();
+		store.addRow();
+		store.setValue(1, HOMES, BigDecimal.ONE);
+
+		ConfigBranch tree = store.toColumnTree();
+		ConfigBranch limits = tree.lookupBranch("limits");
+		assertEquals(Arrays.asList(BigDecimal.valueOf(3), BigDecimal.ONE), limits.lookupLeaf("homes", new ListSerializableType<>(HOMES.getType())).getValue());
+
+		ConfigColumnStore loaded = new ConfigColumnStore(SCHEMA);
+		List<Boolean> changes = new ArrayList<>();
+		loaded.row(loaded.addRow()).addChangeListener(PVP, (oldValue, newValue) -> changes.add(newValue));
+		loaded.loadColumnTree(tree);
+		assertEquals(2, loaded.size());
+		loaded.setValue(0, PVP, false);
+		assertTrue(changes.isEmpty(), "Loading replaces the rows listened to");
+		assertEquals(BigDecimal.ONE, loaded.getValue(1, HOMES));
+		assertEquals("player", loaded.getValue(1, SCHEMA.slot(ConfigTypes.STRING.getSerializedType(), "name")));
+	}
+}
@@ -0,0 +1,72 @@
+package io.github.fablabsmc.fablabs.api.fiber.v1.schema;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.derived.ConfigTypes;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigBranch;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigLeaf;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigTree;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ConfigSchemaTest {
+	private static final ConfigSchema SCHEMA = ConfigSchema.compile(ConfigTree.builder()
+			.beginValue("pvp", ConfigTypes.BOOLEAN, true).withComment("Whether players can fight").finishValue()
+			.fork("limits")
+			.withValue("homes", ConfigTypes.INTEGER.withMinimum(0).withMaximum(10), 3)
+			.finishBranch()
+			.build());
+
+	@DisplayName("Test instance values")
+	@Test
+	void testInstances() {
+		ConfigSchema.Slot<Boolean> pvp = SCHEMA.slot(ConfigTypes.BOOLEAN.getSerializedType(), "pvp");
+		ConfigSchema.Slot<BigDecimal> homes = SCHEMA.slot(ConfigTypes.INTEGER.withMinimum(0).withMaximum(10).getSerializedType(), "limits", "homes");
+		assertNotNull(pvp);
+		assertNotNull(homes);
+		assertNull(SCHEMA.slot(ConfigTypes.STRING.getSerializedType(), "pvp"), "Slots are typed");
+		assertEquals(2, SCHEMA.getSlotCount());
+
+		ConfigInstance first = SCHEMA.newInstance();
+		ConfigInstance second = SCHEMA.newInstance();
+		List<Boolean> changes = new ArrayList<>();
+		first.addChangeListener(pvp, (oldValue, newValue) -> changes.add(newValue));
+
+		assertTrue(first.setValue(pvp, false));
+		assertTrue(first.setValue(pvp, false));
+		assertTrue(first.setValue(homes, BigDecimal.valueOf(50)), "Values are corrected");
+		assertEquals(BigDecimal.TEN, first.getValue(homes));
+		assertEquals(true, second.getValue(pvp), "Instances are independent");
+		assertEquals(1, changes.size(), "Equal values do not notify listeners");
+
+		ConfigInstance other = ConfigSchema.compile(ConfigTree.builder().withValue("pvp", ConfigTypes.BOOLEAN, true).build()).newInstance();
+		assertThrows(IllegalArgumentException.class, () -> other.getValue(pvp));
+	}
+
+	@DisplayName("Test tree conversion")
+	@Test
+	void testTrees() {
+		ConfigSchema.Slot<Boolean> pvp = SCHEMA.slot(ConfigTypes.BOOLEAN.getSerializedType(), "pvp");
+		ConfigInstance instance = SCHEMA.newInstance();
+		instance.setValue(pvp, false);
+
+		ConfigBranch tree = instance.toTree();
+		assertEquals(false, tree.lookupLeaf("pvp", ConfigTypes.BOOLEAN.getSerializedType()).getValue());
+		assertEquals("Whether players can fight", ((ConfigLeaf<?>) tree.lookup("pvp")).getComment());
+		assertNotNull(tree.lookupBranch("limits"));
+
+		tree.lookupLeaf("pvp", ConfigTypes.BOOLEAN.getSerializedType()).setValue(true);
+		assertFalse(instance.getValue(pvp), "Trees are standalone copies");
+		instance.load(tree);
+		assertTrue(instance.getValue(pvp));
+	}
+}
@@ -1,10 +1,21 @@
 package io.github.fablabsmc.fablabs.api.fiber.v1.schema.type;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -46,4 +57,51 @@ class SerializableTypesTest {
 		assertTrue(typeF.isAssignableFrom(typeG));
 		assertTrue(typeG.isAssignableFrom(typeF));
 	}
+
+	@DisplayName("Test type interning")
+	@Test
+	void testIntern() {
+		ListSerializableType<BigDecimal> listA = new ListSerializableType<>(new DecimalSerializableType(BigDecimal.ZERO, BigDecimal.TEN, null));
+		ListSerializableType<BigDecimal> listB = new ListSerializableType<>(new DecimalSerializableType(BigDecimal.ZERO, BigDecimal.TEN, null));
+		assertNotSame(listA, listB);
+		assertEquals(listA, listB);
+		assertSame(SerializableType.intern(listA), SerializableType.intern(listB));
+		assertSame(listA.getElementType(), listB.getElementType(), "Component types are interned");
+		assertTrue(listA.isAssignableFrom(listB));
+
+		Map<String, SerializableType<?>> fields = new HashMap<>();
+		fields.put("list", listA);
+		fields.put("flag", BooleanSerializableType.BOOLEAN);
+		RecordSerializableType recordA = new RecordSerializableType(fields);
+		fields.put("flag", StringSerializableType.DEFAULT_STRING);
+		RecordSerializableType recordB = new RecordSerializableType(fields);
+		assertNotEquals(recordA, recordB, "Record fields are copied on construction");
+		assertNotSame(SerializableType.intern(recordA), SerializableType.intern(recordB));
+
+		MapSerializableType<Boolean> mapA = new MapSerializableType<>(BooleanSerializableType.BOOLEAN);
+		MapSerializableType<Boolean> mapB = new MapSerializableType<>(new StringSerializableType(1, 5, null), BooleanSerializableType.BOOLEAN);
+		assertNotEquals(mapA, mapB, "Map key constraints take part in equality");
+	}
+
+	@DisplayName("Test concurrent type interning")
+	@Test
+	void testConcurrentIntern() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+
+		try {
+			List<Future<SerializableType<?>>> results = new ArrayList<>();
+
+			for (int i = 0; i < 64; i++) {
+				results.add(executor.submit(() -> SerializableType.intern(new StringSerializableType(0, 42, null))));
+			}
+
+			SerializableType<?> canonical = results.get(0).get();
+
+			for (Future<SerializableType<?>> result : results) {
+				assertSame(canonical, result.get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
 }
@@ -3,6 +3,8 @@ package io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.derived;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -10,6 +12,7 @@ import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -17,6 +20,7 @@ import io.github.fablabsmc.fablabs.api.fiber.v1.builder.ConfigLeafBuilder;
 import io.github.fablabsmc.fablabs.api.fiber.v1.exception.FiberConversionException;
 import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.DecimalSerializableType;
 import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.ListSerializableType;
+import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.StringSerializableType;
 import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigLeaf;
 import io.github.fablabsmc.fablabs.api.fiber.v1.tree.PropertyMirror;
 import org.junit.jupiter.api.Assertions;
@@ -112,6 +116,25 @@ class ConfigTypesTest {
 		assertArrayEquals(arr, type.toRuntimeType(ls), "Convert List<Boolean> -> boolean[]");
 	}
 
+	@Test
+	void testLongArray() {
+		ListConfigType<long[], BigDecimal> type = ConfigTypes.makeLongArray(ConfigTypes.LONG);
+		long[] arr = {Long.MIN_VALUE, -1L, 0L, Long.MAX_VALUE};
+		List<BigDecimal> ls = Arrays.stream(arr).mapToObj(BigDecimal::valueOf).collect(Collectors.toList());
+		assertEquals(ls, type.toSerializedType(arr), "Convert long[] -> List<BigDecimal>");
+		assertArrayEquals(arr, type.toRuntimeType(ls), "Convert List<BigDecimal> -> long[]");
+		assertArrayEquals(new long[0], type.toRuntimeType(Collections.emptyList()), "Convert empty List<BigDecimal> -> long[]");
+	}
+
+	@Test
+	void testDoubleArray() {
+		ListConfigType<double[], BigDecimal> type = ConfigTypes.makeDoubleArray(ConfigTypes.DOUBLE);
+		double[] arr = {-1.5, 0.0, 0.25, 1e10};
+		List<BigDecimal> ls = type.toSerializedType(arr);
+		assertEquals(arr.length, ls.size(), "Convert double[] -> List<BigDecimal>");
+		assertArrayEquals(arr, type.toRuntimeType(ls), "Convert List<BigDecimal> -> double[]");
+	}
+
 	@Test
 	void testObjArray() {
 		ListConfigType<String[], String> type = ConfigTypes.makeArray(ConfigTypes.STRING);
@@ -140,4 +163,23 @@ class ConfigTypesTest {
 		assertFalse(constraint.test(TestEnum.A), "Constrained enum 2 does not accept A");
 		assertTrue(constraint.test(TestEnum.B), "Constrained enum 2 accepts B");
 	}
+
+	@Test
+	void testConversionCache() {
+		AtomicInteger conversions = new AtomicInteger();
+		ConfigType<StringBuilder, String, StringSerializableType> type = ConfigTypes.STRING.withMaxLength(5).derive(StringBuilder.class, s -> {
+			conversions.incrementAndGet();
+			return new StringBuilder(s);
+		}, StringBuilder::toString).withConversionCache(2);
+		StringBuilder a = type.toRuntimeType("a");
+		assertSame(a, type.toRuntimeType("a"), "Cached conversion returns the same instance");
+		assertEquals(1, conversions.get());
+		type.toRuntimeType("b");
+		type.toRuntimeType("c");
+		assertEquals(3, conversions.get());
+		assertNotSame(a, type.toRuntimeType("a"), "Least recently used conversion is evicted");
+		assertEquals(4, conversions.get());
+		assertThrows(FiberConversionException.class, () -> type.toRuntimeType("too long"), "Cached type still checks constraints");
+		assertThrows(IllegalArgumentException.class, () -> type.withConversionCache(0));
+	}
 }
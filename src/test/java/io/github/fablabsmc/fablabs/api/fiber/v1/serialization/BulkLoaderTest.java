@@ -0,0 +1,134 @@
+package io.github.fablabsmc.fablabs.api.fiber.v1.serialization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import io.github.fablabsmc.fablabs.api.fiber.v1.exception.BulkLoadException;
+import io.github.fablabsmc.fablabs.api.fiber.v1.exception.FiberException;
+import io.github.fablabsmc.fablabs.api.fiber.v1.exception.ValueDeserializationException;
+import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.SerializableType;
+import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.derived.ConfigTypes;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigBranch;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigLeaf;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigNode;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigTree;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.NodeCollection;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.PropertyMirror;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class BulkLoaderTest {
+	@DisplayName("Test bulk loading")
+	@Test
+	void testLoad(@TempDir Path dir) throws IOException, FiberException {
+		JanksonValueSerializer jk = new JanksonValueSerializer(true);
+		List<String> changes = new ArrayList<>();
+		List<ConfigBranch> trees = new ArrayList<>();
+		BulkLoader loader = new BulkLoader();
+
+		for (int i = 0; i < 8; i++) {
+			Path file = dir.resolve("config" + i + ".json5");
+			Files.write(file, ("{ \"a\": " + i + " }").getBytes(StandardCharsets.UTF_8));
+			String name = "tree" + i;
+			ConfigBranch tree = ConfigTree.builder()
+					.beginValue("a", ConfigTypes.INTEGER, -1)
+					.withListener((oldValue, newValue) -> changes.add(name))
+					.finishValue()
+					.build();
+			trees.add(tree);
+			loader.add(tree, file, jk);
+		}
+
+		changes.clear();
+		loader.add(ConfigTree.builder().build(), dir.resolve("missing.json5"), jk);
+		Path malformed = dir.resolve("malformed.json5");
+		Files.write(malformed, "{ \"a\": ".getBytes(StandardCharsets.UTF_8));
+		loader.add(ConfigTree.builder().build(), malformed, jk);
+		Path broken = dir.resolve("broken.json5");
+		Files.write(broken, "{ \"a\": 1 }".getBytes(StandardCharsets.UTF_8));
+		loader.add(new BrokenTree(), broken, jk);
+
+		BulkLoadException e = assertThrows(BulkLoadException.class, loader::load);
+		List<BulkLoadException.Failure> failures = e.getFailures();
+		assertEquals(Arrays.asList(dir.resolve("missing.json5"), malformed, broken), failures.stream().map(BulkLoadException.Failure::getPath).collect(Collectors.toList()));
+		assertTrue(failures.get(0).getException() instanceof IOException);
+		assertTrue(failures.get(1).getException() instanceof ValueDeserializationException);
+		assertTrue(failures.get(2).getException() instanceof IllegalStateException, "Runtime failures are collected");
+
+		assertEquals(Arrays.asList("tree0", "tree1", "tree2", "tree3", "tree4", "tree5", "tree6", "tree7"), changes, "Files are applied in order");
+
+		for (int i = 0; i < 8; i++) {
+			assertEquals(BigDecimal.valueOf(i), trees.get(i).lookupLeaf("a", ConfigTypes.INTEGER.getSerializedType()).getValue());
+		}
+	}
+
+	@DisplayName("Test repeated failures for one file")
+	@Test
+	void testSameFileFailures(@TempDir Path dir) throws IOException, ClassNotFoundException {
+		JanksonValueSerializer jk = new JanksonValueSerializer(true);
+		Path malformed = dir.resolve("malformed.json5");
+		Files.write(malformed, "{ \"a\": ".getBytes(StandardCharsets.UTF_8));
+		BulkLoader loader = new BulkLoader();
+		loader.add(ConfigTree.builder().build(), malformed, jk);
+		loader.add(ConfigTree.builder().build(), malformed, jk);
+
+		BulkLoadException e = assertThrows(BulkLoadException.class, loader::load);
+		assertEquals(2, e.getFailures().size(), "Every failed load is reported");
+		assertEquals(2, e.getSuppressed().length);
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(e);
+		}
+
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			BulkLoadException read = (BulkLoadException) in.readObject();
+			assertEquals(e.getMessage(), read.getMessage());
+			assertEquals(2, read.getSuppressed().length, "Causes survive serialization");
+		}
+	}
+
+	private static final class BrokenTree implements ConfigTree {
+		@Override
+		public NodeCollection getItems() {
+			throw new IllegalStateException();
+		}
+
+		@Override
+		public ConfigNode lookup(String name) {
+			throw new IllegalStateException();
+		}
+
+		@Override
+		public ConfigBranch lookupBranch(String name) {
+			throw new IllegalStateException();
+		}
+
+		@Override
+		public <T> ConfigLeaf<T> lookupLeaf(String name, SerializableType<T> type) {
+			throw new IllegalStateException();
+		}
+
+		@Override
+		public boolean lookupAndBind(String name, PropertyMirror<?> mirror) {
+			throw new IllegalStateException();
+		}
+	}
+}
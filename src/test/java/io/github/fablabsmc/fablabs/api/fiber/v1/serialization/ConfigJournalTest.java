@@ -0,0 +1,117 @@
+package io.github.fablabsmc.fablabs.api.fiber.v1.serialization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import io.github.fablabsmc.fablabs.api.fiber.v1.exception.FiberException;
+import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.derived.ConfigTypes;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ChangeBatch;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigBranch;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigTree;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ConfigJournalTest {
+	private static ConfigBranch makeTree() {
+		return ConfigTree.builder()
+				.withValue("a", ConfigTypes.INTEGER, 1)
+				.fork("child")
+				.withValue("b", ConfigTypes.STRING, "default")
+				.finishBranch()
+				.build();
+	}
+
+	private static BigDecimal getA(ConfigBranch tree) throws FiberException {
+		return tree.lookupLeaf("a", ConfigTypes.INTEGER.getSerializedType()).getValue();
+	}
+
+	private static String getB(ConfigBranch tree) throws FiberException {
+		return tree.lookupBranch("child").lookupLeaf("b", ConfigTypes.STRING.getSerializedType()).getValue();
+	}
+
+	@DisplayName("Test journals of trees without subtree listeners")
+	@Test
+	void testUnsupportedTree(@TempDir Path dir) {
+		ConfigBranch delegate = makeTree();
+		// a branch of another implementation, which does not notify changes
+		ConfigBranch tree = (ConfigBranch) Proxy.newProxyInstance(ConfigBranch.class.getClassLoader(), new Class<?>[] {ConfigBranch.class},
+				(proxy, method, args) -> method.getName().equals("addSubtreeListener") ? false : method.invoke(delegate, args));
+
+		assertThrows(IllegalArgumentException.class, () -> ConfigJournal.open(tree, dir.resolve("config.json5"), new JanksonValueSerializer(true)));
+	}
+
+	@DisplayName("Test journal replay")
+	@Test
+	void testReplay(@TempDir Path dir) throws IOException, FiberException {
+		Path snapshot = dir.resolve("config.json5");
+		Path journalFile = dir.resolve("config.json5.journal");
+		JanksonValueSerializer jk = new JanksonValueSerializer(true);
+		ConfigBranch tree = makeTree();
+
+		try (ConfigJournal journal = ConfigJournal.open(tree, snapshot, jk)) {
+			tree.lookupLeaf("a", ConfigTypes.INTEGER.getSerializedType()).setValue(BigDecimal.TEN);
+			assertEquals(0, Files.size(journalFile), "Records are buffered until flushed");
+			journal.flush();
+			assertTrue(Files.size(journalFile) > 0);
+
+			try (ChangeBatch batch = ChangeBatch.begin()) {
+				tree.lookupLeaf("a", ConfigTypes.INTEGER.getSerializedType()).setValue(BigDecimal.ONE);
+				tree.lookupBranch("child").lookupLeaf("b", ConfigTypes.STRING.getSerializedType()).setValue("changed");
+			}
+
+			assertTrue(journal.getJournalSize() > Files.size(journalFile));
+		}
+
+		assertFalse(Files.exists(snapshot), "Changes are only journaled");
+		// simulate a crash in the middle of an append
+		Files.write(journalFile, new byte[] {0, 0, 0, 42, 1, 2, 3}, StandardOpenOption.APPEND);
+		long tornSize = Files.size(journalFile);
+
+		ConfigBranch reloaded = makeTree();
+
+		try (ConfigJournal journal = ConfigJournal.open(reloaded, snapshot, jk)) {
+			assertEquals(BigDecimal.ONE, getA(reloaded));
+			assertEquals("changed", getB(reloaded));
+			assertEquals(tornSize - 7, journal.getJournalSize(), "The torn record is dropped");
+
+			journal.compact();
+			assertEquals(0, journal.getJournalSize());
+			assertTrue(Files.exists(snapshot));
+		}
+
+		reloaded = makeTree();
+		ConfigJournal.open(reloaded, snapshot, jk).close();
+		assertEquals(BigDecimal.ONE, getA(reloaded));
+		assertEquals("changed", getB(reloaded));
+	}
+
+	@DisplayName("Test automatic compaction")
+	@Test
+	void testCompaction(@TempDir Path dir) throws IOException, FiberException {
+		Path snapshot = dir.resolve("config.json5");
+		JanksonValueSerializer jk = new JanksonValueSerializer(true);
+		ConfigBranch tree = makeTree();
+
+		try (ConfigJournal journal = ConfigJournal.open(tree, snapshot, jk, 64)) {
+			for (int i = 0; i < 10; i++) {
+				tree.lookupLeaf("a", ConfigTypes.INTEGER.getSerializedType()).setValue(BigDecimal.valueOf(i));
+				assertTrue(journal.getJournalSize() < 64);
+			}
+		}
+
+		assertTrue(Files.exists(snapshot), "The journal was compacted into a snapshot");
+		ConfigBranch reloaded = makeTree();
+		ConfigJournal.open(reloaded, snapshot, jk).close();
+		assertEquals(BigDecimal.valueOf(9), getA(reloaded));
+	}
+}
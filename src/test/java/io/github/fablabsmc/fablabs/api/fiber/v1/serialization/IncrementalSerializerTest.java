@@ -0,0 +1,89 @@
+package io.github.fablabsmc.fablabs.api.fiber.v1.serialization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+
+import io.github.fablabsmc.fablabs.api.fiber.v1.builder.ConfigLeafBuilder;
+import io.github.fablabsmc.fablabs.api.fiber.v1.exception.FiberException;
+import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.derived.ConfigTypes;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigBranch;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigTree;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class IncrementalSerializerTest {
+	private static String save(IncrementalSerializer<?, ?> serializer) throws IOException {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		serializer.serialize(bos);
+		return bos.toString("UTF-8");
+	}
+
+	@DisplayName("Test incremental saves")
+	@Test
+	void testIncrementalSave() throws IOException, FiberException {
+		JanksonValueSerializer jk = new JanksonValueSerializer(true);
+		ConfigBranch tree = ConfigTree.builder()
+				.withValue("a", ConfigTypes.INTEGER, 1)
+				.fork("child")
+				.withValue("b", ConfigTypes.STRING, "b")
+				.finishBranch()
+				.build();
+		IncrementalSerializer<?, ?> serializer = new IncrementalSerializer<>(tree, jk);
+
+		assertEquals("{ \"a\": 1, \"child\": { \"b\": \"b\" } }", save(serializer));
+		assertEquals("{ \"a\": 1, \"child\": { \"b\": \"b\" } }", save(serializer));
+
+		tree.lookupBranch("child").lookupLeaf("b", ConfigTypes.STRING.getSerializedType()).setValue("changed");
+		assertEquals("{ \"a\": 1, \"child\": { \"b\": \"changed\" } }", save(serializer));
+
+		tree.lookupBranch("child").getItems().add(ConfigLeafBuilder.create(null, "c", ConfigTypes.INTEGER, 3).build());
+		tree.lookupLeaf("a", ConfigTypes.INTEGER.getSerializedType()).setValue(BigDecimal.TEN);
+		assertEquals("{ \"a\": 10, \"child\": { \"b\": \"changed\", \"c\": 3 } }", save(serializer), "Structural changes are picked up");
+	}
+
+	@DisplayName("Test saves of trees holding foreign branches")
+	@Test
+	void testForeignBranch() throws IOException, FiberException {
+		JanksonValueSerializer jk = new JanksonValueSerializer(true);
+		ConfigBranch tree = ConfigTree.builder()
+				.withValue("a", ConfigTypes.INTEGER, 1)
+				.fork("child")
+				.withValue("b", ConfigTypes.STRING, "b")
+				.finishBranch()
+				.build();
+		ConfigBranch child = tree.lookupBranch("child");
+		tree.getItems().remove(child);
+		tree.getItems().add(foreignBranch(child));
+		IncrementalSerializer<?, ?> serializer = new IncrementalSerializer<>(tree, jk);
+
+		assertEquals("{ \"a\": 1, \"child\": { \"b\": \"b\" } }", save(serializer));
+
+		child.getItems().add(ConfigLeafBuilder.create(null, "c", ConfigTypes.INTEGER, 3).build());
+		assertEquals("{ \"a\": 1, \"child\": { \"b\": \"b\", \"c\": 3 } }", save(serializer), "Structural changes below foreign branches are picked up");
+	}
+
+	/**
+	 * Wraps a detached branch into a branch of another implementation, which does not notify its parent of changes.
+	 */
+	private static ConfigBranch foreignBranch(ConfigBranch delegate) {
+		ConfigBranch[] parent = new ConfigBranch[1];
+		return (ConfigBranch) Proxy.newProxyInstance(ConfigBranch.class.getClassLoader(), new Class<?>[] {ConfigBranch.class}, (proxy, method, args) -> {
+			switch (method.getName()) {
+			case "getParent":
+				return parent[0];
+			case "attachTo":
+				parent[0] = (ConfigBranch) args[0];
+				return null;
+			case "detach":
+				parent[0] = null;
+				return null;
+			default:
+				return method.invoke(delegate, args);
+			}
+		});
+	}
+}
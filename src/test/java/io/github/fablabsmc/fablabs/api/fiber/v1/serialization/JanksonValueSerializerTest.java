@@ -1,20 +1,29 @@
 package io.github.fablabsmc.fablabs.api.fiber.v1.serialization;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 
+import blue.endless.jankson.JsonElement;
 import io.github.fablabsmc.fablabs.api.fiber.v1.NodeOperationsTest;
 import io.github.fablabsmc.fablabs.api.fiber.v1.builder.ConfigTreeBuilder;
 import io.github.fablabsmc.fablabs.api.fiber.v1.exception.FiberException;
+import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.ListSerializableType;
 import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.RecordSerializableType;
 import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.SerializableType;
 import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.derived.ConfigType;
@@ -23,8 +32,10 @@ import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.derived.NumberConfig
 import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.derived.RecordConfigType;
 import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigTree;
 import io.github.fablabsmc.fablabs.api.fiber.v1.tree.PropertyMirror;
+import io.github.fablabsmc.fablabs.impl.fiber.serialization.ByteBufferOutputStream;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 class JanksonValueSerializerTest {
 	public static final NumberConfigType<Integer> INT_TYPE = ConfigTypes.INTEGER.derive(int.class, Function.identity(), Function.identity());
@@ -50,6 +61,72 @@ class JanksonValueSerializerTest {
 		assertEquals("{\n\t// An int\n\t\"A\": 10\n}", bos.toString("UTF-8"));
 	}
 
+	@Test
+	@DisplayName("File -> Node")
+	void pathDeserialization(@TempDir Path dir) throws IOException, FiberException {
+		Path file = dir.resolve("config.json5");
+		Files.write(file, "{\n\t// An int\n\t\"A\": 10\n}".getBytes("UTF-8"));
+		ConfigTree node = ConfigTree.builder()
+				.withValue("A", ConfigTypes.INTEGER, 20)
+				.build();
+
+		FiberSerialization.deserialize(node, file, new JanksonValueSerializer(false));
+		NodeOperationsTest.testNodeFor(node, "A", ConfigTypes.INTEGER.getSerializedType(), BigDecimal.TEN);
+	}
+
+	@Test
+	@DisplayName("Large File -> Node")
+	void largePathDeserialization(@TempDir Path dir) throws IOException, FiberException {
+		// large enough to be memory-mapped
+		char[] padding = new char[1 << 21];
+		Arrays.fill(padding, 'x');
+		Path file = dir.resolve("config.json5");
+		Files.write(file, ("{\n\t// " + new String(padding) + "\n\t\"A\": 10\n}").getBytes("UTF-8"));
+		ConfigTree node = ConfigTree.builder()
+				.withValue("A", ConfigTypes.INTEGER, 20)
+				.build();
+
+		FiberSerialization.deserialize(node, file, new JanksonValueSerializer(false));
+		NodeOperationsTest.testNodeFor(node, "A", ConfigTypes.INTEGER.getSerializedType(), BigDecimal.TEN);
+	}
+
+	@Test
+	@DisplayName("Node -> Buffer -> Node")
+	void bufferSerialization() throws IOException, FiberException {
+		JanksonValueSerializer jk = new JanksonValueSerializer(true);
+		ConfigTree nodeOne = ConfigTree.builder()
+				.withValue("A", ConfigTypes.INTEGER, 10)
+				.withValue("B", ConfigTypes.STRING, "\u00e9t\u00e9")
+				.build();
+
+		ByteBuffer buffer = FiberSerialization.serialize(nodeOne, ByteBuffer.allocateDirect(4), jk);
+		assertTrue(buffer.isDirect(), "Grown buffers keep their kind");
+
+		ByteBuffer small = ByteBuffer.allocate(3);
+		small.put((byte) 1);
+		ByteBuffer grown = ByteBufferOutputStream.ensureRemaining(small, 8);
+		assertEquals(1, grown.position());
+		assertEquals(1, small.position(), "Outgrown buffers are not flipped");
+		assertEquals(3, small.limit());
+		buffer.flip();
+
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		FiberSerialization.serialize(nodeOne, Channels.newChannel(bos), jk);
+		assertEquals("{ \"A\": 10, \"B\": \"\u00e9t\u00e9\" }", bos.toString("UTF-8"));
+		assertEquals(ByteBuffer.wrap(bos.toByteArray()), buffer);
+
+		ConfigTree nodeTwo = ConfigTree.builder()
+				.withValue("A", ConfigTypes.INTEGER, 20)
+				.withValue("B", ConfigTypes.STRING, "")
+				.build();
+		FiberSerialization.deserialize(nodeTwo, buffer, jk);
+		NodeOperationsTest.testNodeFor(nodeTwo, "A", ConfigTypes.INTEGER.getSerializedType(), BigDecimal.TEN);
+		NodeOperationsTest.testNodeFor(nodeTwo, "B", ConfigTypes.STRING.getSerializedType(), "\u00e9t\u00e9");
+
+		buffer.clear();
+		assertSame(buffer, FiberSerialization.serialize(nodeTwo, buffer, jk), "Large enough buffers are reused");
+	}
+
 	@Test
 	@DisplayName("List<Integer> -> List<Integer>")
 	void nodeSerializationList() throws IOException, FiberException {
@@ -221,4 +298,26 @@ class JanksonValueSerializerTest {
 		NodeOperationsTest.testNodeFor(childTwo, "A", ConfigTypes.INTEGER.getSerializedType(), BigDecimal.valueOf(20));
 		assertEquals("{ }", bos.toString("UTF-8"));
 	}
+
+	@Test
+	@DisplayName("Codecs")
+	void codecs() throws FiberException {
+		JanksonValueSerializer jk = new JanksonValueSerializer(true);
+		Map<String, SerializableType<?>> fields = new LinkedHashMap<>();
+		fields.put("I", ConfigTypes.INTEGER.getSerializedType());
+		fields.put("L", ConfigTypes.makeList(ConfigTypes.STRING).getSerializedType());
+		RecordSerializableType recordType = new RecordSerializableType(fields);
+		ListSerializableType<Map<String, Object>> type = new ListSerializableType<>(recordType);
+		ValueCodec<List<Map<String, Object>>, JsonElement> codec = jk.getCodec(type);
+		assertSame(codec, jk.getCodec(new ListSerializableType<>(new RecordSerializableType(fields))), "Codecs are cached");
+
+		Map<String, Object> record = new LinkedHashMap<>();
+		record.put("I", BigDecimal.ONE);
+		record.put("L", Collections.singletonList("x"));
+		List<Map<String, Object>> value = Collections.singletonList(record);
+		JsonElement encoded = codec.encode(value);
+		assertEquals("[ { \"I\": 1, \"L\": [ \"x\" ] } ]", encoded.toJson(false, false));
+		assertEquals(encoded.toJson(false, false), type.serializeValue(value, jk).toJson(false, false));
+		assertEquals(value, codec.decode(encoded));
+	}
 }
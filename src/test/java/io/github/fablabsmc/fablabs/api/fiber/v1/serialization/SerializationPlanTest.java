@@ -0,0 +1,105 @@
+package io.github.fablabsmc.fablabs.api.fiber.v1.serialization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import io.github.fablabsmc.fablabs.api.fiber.v1.builder.ConfigLeafBuilder;
+import io.github.fablabsmc.fablabs.api.fiber.v1.exception.FiberException;
+import io.github.fablabsmc.fablabs.api.fiber.v1.exception.IllegalTreeStateException;
+import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.SerializableType;
+import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.derived.ConfigTypes;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigBranch;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigLeaf;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigNode;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigTree;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.NodeCollection;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.PropertyMirror;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SerializationPlanTest {
+	@DisplayName("Test precompiled serialization plans")
+	@Test
+	void testPlan() throws IOException, FiberException {
+		JanksonValueSerializer jk = new JanksonValueSerializer(false);
+		ConfigBranch tree = ConfigTree.builder()
+				.beginValue("a", ConfigTypes.INTEGER, 1).withComment("An int").finishValue()
+				.fork("child")
+				.withComment("A branch")
+				.withValue("b", ConfigTypes.BOOLEAN, true)
+				.fork("grandchild")
+				.withValue("c", ConfigTypes.makeList(ConfigTypes.STRING), Arrays.asList("x", "y"))
+				.finishBranch()
+				.finishBranch()
+				.fork("separate")
+				.withSeparateSerialization(true)
+				.withValue("d", ConfigTypes.STRING, "d")
+				.finishBranch()
+				.build();
+		SerializationPlan<?, ?> plan = SerializationPlan.compile(tree, jk);
+		tree.lookupLeaf("a", ConfigTypes.INTEGER.getSerializedType()).setValue(BigDecimal.TEN);
+
+		ByteArrayOutputStream expected = new ByteArrayOutputStream();
+		FiberSerialization.serialize(tree, expected, jk);
+		ByteArrayOutputStream actual = new ByteArrayOutputStream();
+		plan.serialize(actual);
+		assertEquals(expected.toString("UTF-8"), actual.toString("UTF-8"));
+
+		assertTrue(plan.isValid());
+		tree.lookupBranch("child").getItems().add(ConfigLeafBuilder.create(null, "e", ConfigTypes.INTEGER, 3).build());
+		assertFalse(plan.isValid(), "Adding a node invalidates the plan");
+		assertThrows(IllegalTreeStateException.class, plan::execute);
+	}
+
+	@DisplayName("Test plans of untracked trees")
+	@Test
+	void testUntrackedPlan() {
+		JanksonValueSerializer jk = new JanksonValueSerializer(false);
+		ConfigBranch tree = ConfigTree.builder()
+				.withValue("a", ConfigTypes.INTEGER, 1)
+				.build();
+		SerializationPlan<?, ?> plan = SerializationPlan.compile(new ForwardingTree(tree), jk);
+		assertFalse(plan.isValid(), "Structure changes of other tree implementations cannot be tracked");
+		assertThrows(IllegalTreeStateException.class, plan::execute);
+	}
+
+	private static final class ForwardingTree implements ConfigTree {
+		private final ConfigTree delegate;
+
+		ForwardingTree(ConfigTree delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public NodeCollection getItems() {
+			return this.delegate.getItems();
+		}
+
+		@Override
+		public ConfigNode lookup(String name) {
+			return this.delegate.lookup(name);
+		}
+
+		@Override
+		public ConfigBranch lookupBranch(String name) {
+			return this.delegate.lookupBranch(name);
+		}
+
+		@Override
+		public <T> ConfigLeaf<T> lookupLeaf(String name, SerializableType<T> type) {
+			return this.delegate.lookupLeaf(name, type);
+		}
+
+		@Override
+		public boolean lookupAndBind(String name, PropertyMirror<?> mirror) {
+			return this.delegate.lookupAndBind(name, mirror);
+		}
+	}
+}
@@ -0,0 +1,110 @@
+package io.github.fablabsmc.fablabs.api.fiber.v1.tree;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+
+import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.derived.ConfigTypes;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ConfigDiffTest {
+	private static ConfigBranch create() {
+		return ConfigTree.builder()
+				.withValue("pvp", ConfigTypes.BOOLEAN, true)
+				.fork("limits")
+				.withValue("homes", ConfigTypes.INTEGER, 3)
+				.withValue("speed", ConfigTypes.DOUBLE, 1.0)
+				.finishBranch()
+				.fork("chat")
+				.withValue("prefix", ConfigTypes.STRING, "> ")
+				.withValue("channels", ConfigTypes.makeList(ConfigTypes.STRING), Arrays.asList("global", "local"))
+				.finishBranch()
+				.build();
+	}
+
+	@DisplayName("Test content hashes")
+	@Test
+	void testHashes() {
+		ConfigBranch server = create();
+		ConfigBranch client = create();
+		assertTrue(ConfigDiff.contentEquals(server, client));
+
+		ConfigLeaf<BigDecimal> homes = server.lookupBranch("limits").lookupLeaf("homes", ConfigTypes.INTEGER.getSerializedType());
+		long before = ConfigDiff.contentHash(server);
+		homes.setValue(BigDecimal.valueOf(4));
+		assertNotEquals(before, ConfigDiff.contentHash(server), "Hashes follow value changes");
+		assertNotEquals(ConfigDiff.contentHash(server.lookupBranch("limits")), ConfigDiff.contentHash(client.lookupBranch("limits")));
+		assertEquals(ConfigDiff.contentHash(server.lookupBranch("chat")), ConfigDiff.contentHash(client.lookupBranch("chat")));
+
+		homes.setValue(BigDecimal.valueOf(3));
+		assertEquals(before, ConfigDiff.contentHash(server));
+
+		ConfigLeaf<BigDecimal> speed = client.lookupBranch("limits").lookupLeaf("speed", ConfigTypes.DOUBLE.getSerializedType());
+		speed.setValue(new BigDecimal("1.000"));
+		assertTrue(ConfigDiff.contentEquals(server, client), "Numbers are compared in canonical form");
+	}
+
+	@DisplayName("Test diffs")
+	@Test
+	void testDiff() {
+		ConfigBranch server = create();
+		ConfigBranch client = create();
+		assertEquals(Collections.emptyList(), ConfigDiff.diff(server, client));
+
+		client.lookupBranch("chat").lookupLeaf("channels", ConfigTypes.makeList(ConfigTypes.STRING).getSerializedType()).setValue(Collections.singletonList("global"));
+		client.lookupBranch("limits").getItems().remove(client.lookupBranch("limits").lookup("speed"));
+		ConfigTree.builder(server, "extra").build();
+
+		assertEquals(Arrays.asList(
+				Arrays.asList("limits", "speed"),
+				Arrays.asList("chat", "channels"),
+				Collections.singletonList("extra")
+		), ConfigDiff.diff(server, client));
+		assertFalse(ConfigDiff.contentEquals(server, client));
+	}
+
+	@DisplayName("Test hashes of trees holding foreign nodes")
+	@Test
+	void testForeignDescendants() {
+		ConfigBranch root = create();
+		ConfigBranch inner = ConfigTree.builder(root.lookupBranch("limits"), "inner").build();
+		ConfigLeaf<BigDecimal> level = ConfigTree.builder().withValue("level", ConfigTypes.INTEGER, 1).build().lookupLeaf("level", ConfigTypes.INTEGER.getSerializedType());
+		level.detach();
+		ConfigLeaf<BigDecimal> foreign = foreignLeaf(level);
+		inner.getItems().add(foreign);
+		long before = ConfigDiff.contentHash(root);
+
+		foreign.setValue(BigDecimal.valueOf(2));
+		assertNotEquals(before, ConfigDiff.contentHash(root), "Changes deep below the root are not hidden by cached hashes");
+		assertNotEquals(ConfigDiff.contentHash(create().lookupBranch("limits")), ConfigDiff.contentHash(root.lookupBranch("limits")));
+	}
+
+	/**
+	 * Wraps a detached leaf into a leaf of another implementation, which does not notify its parent of changes.
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T> ConfigLeaf<T> foreignLeaf(ConfigLeaf<T> delegate) {
+		ConfigBranch[] parent = new ConfigBranch[1];
+		return (ConfigLeaf<T>) Proxy.newProxyInstance(ConfigLeaf.class.getClassLoader(), new Class<?>[] {ConfigLeaf.class}, (proxy, method, args) -> {
+			switch (method.getName()) {
+			case "getParent":
+				return parent[0];
+			case "attachTo":
+				parent[0] = (ConfigBranch) args[0];
+				return null;
+			case "detach":
+				parent[0] = null;
+				return null;
+			default:
+				return method.invoke(delegate, args);
+			}
+		});
+	}
+}
@@ -0,0 +1,125 @@
+package io.github.fablabsmc.fablabs.api.fiber.v1.tree;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+
+import io.github.fablabsmc.fablabs.api.fiber.v1.exception.FiberQueryException;
+import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.derived.ConfigTypes;
+import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.derived.StringConfigType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ConfigOverlayTest {
+	private static final ConfigQuery<ConfigLeaf<BigDecimal>> DISTANCE = ConfigQuery.leaf(ConfigTypes.INTEGER.getSerializedType(), "view", "distance");
+	private static final ConfigQuery<ConfigLeaf<String>> MOTD = ConfigQuery.leaf(ConfigTypes.STRING.getSerializedType(), "motd");
+	private static final ConfigQuery<ConfigLeaf<String>> MISSING = ConfigQuery.leaf(ConfigTypes.STRING.getSerializedType(), "missing");
+
+	@DisplayName("Test layered resolution")
+	@Test
+	void testOverlay() throws FiberQueryException {
+		ConfigBranch defaults = ConfigTree.builder()
+				.withValue("motd", ConfigTypes.STRING, "hello")
+				.fork("view")
+				.withValue("distance", ConfigTypes.INTEGER, 8)
+				.finishBranch()
+				.build();
+		ConfigBranch server = ConfigTree.builder()
+				.withValue("motd", ConfigTypes.STRING, "server")
+				.build();
+		ConfigBranch player = ConfigTree.builder().build();
+		ConfigOverlay overlay = ConfigOverlay.of(defaults, server, player);
+
+		assertEquals("server", overlay.getValue(MOTD));
+		assertEquals(BigDecimal.valueOf(8), overlay.getValue(DISTANCE));
+		assertThrows(FiberQueryException.class, () -> overlay.getValue(MISSING));
+
+		MOTD.run(server).setValue("changed");
+		assertEquals("changed", overlay.getValue(MOTD), "Values are read from the providing layer");
+
+		assertTrue(overlay.setValue(DISTANCE, BigDecimal.valueOf(12)));
+		assertEquals(BigDecimal.valueOf(12), overlay.getValue(DISTANCE));
+		assertEquals(BigDecimal.valueOf(8), DISTANCE.run(defaults).getValue(), "Writes only go to the top layer");
+		assertSame(DISTANCE.run(player), overlay.resolve(DISTANCE).orElse(null), "Resolutions follow new overrides");
+		assertNull(player.lookup("motd"), "The top layer only holds overrides");
+
+		assertTrue(overlay.clearOverride(DISTANCE));
+		assertFalse(overlay.clearOverride(DISTANCE));
+		assertEquals(BigDecimal.valueOf(8), overlay.getValue(DISTANCE), "Cleared overrides fall back to lower layers");
+	}
+
+	@DisplayName("Test rejected writes")
+	@Test
+	void testRejectedWrite() throws FiberQueryException {
+		StringConfigType<String> lowercase = ConfigTypes.STRING.withPattern("[a-z]+");
+		ConfigQuery<ConfigLeaf<String>> prefix = ConfigQuery.leaf(lowercase.getSerializedType(), "chat", "format", "prefix");
+		ConfigBranch defaults = ConfigTree.builder()
+				.fork("chat")
+				.fork("format")
+				.withValue("prefix", lowercase, "chat")
+				.finishBranch()
+				.finishBranch()
+				.build();
+		ConfigBranch player = ConfigTree.builder().build();
+		ConfigOverlay overlay = ConfigOverlay.of(defaults, player);
+
+		assertFalse(overlay.setValue(prefix, "NOT VALID"));
+		assertTrue(player.getItems().isEmpty(), "Rejected writes leave no branch behind");
+		assertEquals("chat", overlay.getValue(prefix));
+
+		assertEquals(prefix, ConfigQuery.leaf(lowercase.getSerializedType(), "chat", "format", "prefix"));
+		assertEquals(prefix.hashCode(), ConfigQuery.leaf(lowercase.getSerializedType(), "chat", "format", "prefix").hashCode());
+		assertNotEquals(prefix, ConfigQuery.branch("chat", "format", "prefix"));
+	}
+
+	@DisplayName("Test layers holding foreign branches")
+	@Test
+	void testForeignBranch() throws FiberQueryException {
+		ConfigBranch defaults = ConfigTree.builder()
+				.fork("view")
+				.withValue("distance", ConfigTypes.INTEGER, 8)
+				.finishBranch()
+				.build();
+		ConfigBranch player = ConfigTree.builder()
+				.fork("view")
+				.finishBranch()
+				.build();
+		ConfigBranch view = player.lookupBranch("view");
+		player.getItems().remove(view);
+		player.getItems().add(foreignBranch(view));
+		ConfigOverlay overlay = ConfigOverlay.of(defaults, player);
+
+		assertEquals(BigDecimal.valueOf(8), overlay.getValue(DISTANCE));
+		assertTrue(overlay.setValue(DISTANCE, BigDecimal.valueOf(12)));
+		assertEquals(BigDecimal.valueOf(12), view.lookupLeaf("distance", ConfigTypes.INTEGER.getSerializedType()).getValue());
+		assertEquals(BigDecimal.valueOf(12), overlay.getValue(DISTANCE), "Overrides created below foreign branches are resolved");
+	}
+
+	/**
+	 * Wraps a detached branch into a branch of another implementation, which does not notify its parent of changes.
+	 */
+	private static ConfigBranch foreignBranch(ConfigBranch delegate) {
+		ConfigBranch[] parent = new ConfigBranch[1];
+		return (ConfigBranch) Proxy.newProxyInstance(ConfigBranch.class.getClassLoader(), new Class<?>[] {ConfigBranch.class}, (proxy, method, args) -> {
+			switch (method.getName()) {
+			case "getParent":
+				return parent[0];
+			case "attachTo":
+				parent[0] = (ConfigBranch) args[0];
+				return null;
+			case "detach":
+				parent[0] = null;
+				return null;
+			default:
+				return method.invoke(delegate, args);
+			}
+		});
+	}
+}
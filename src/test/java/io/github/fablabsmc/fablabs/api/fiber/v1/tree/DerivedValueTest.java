@@ -0,0 +1,89 @@
+package io.github.fablabsmc.fablabs.api.fiber.v1.tree;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.derived.ConfigTypes;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class DerivedValueTest {
+	@DisplayName("Test memoization and invalidation")
+	@Test
+	void testDerivedValue() {
+		ConfigBranch tree = ConfigTree.builder()
+				.withValue("base", ConfigTypes.INTEGER, 10)
+				.withValue("multiplier", ConfigTypes.INTEGER, 2)
+				.build();
+		ConfigLeaf<BigDecimal> base = tree.lookupLeaf("base", ConfigTypes.INTEGER.getSerializedType());
+		ConfigLeaf<BigDecimal> multiplier = tree.lookupLeaf("multiplier", ConfigTypes.INTEGER.getSerializedType());
+		AtomicInteger computations = new AtomicInteger();
+		DerivedValue<BigDecimal> cap = DerivedValue.of(BigDecimal.class, base, multiplier, (a, b) -> {
+			computations.incrementAndGet();
+			return a.multiply(b);
+		});
+		DerivedValue<String> label = DerivedValue.of(String.class, cap, c -> "cap: " + c);
+
+		assertEquals(0, computations.get(), "Derived values are computed lazily");
+		assertEquals("cap: 20", label.getValue());
+		assertEquals(BigDecimal.valueOf(20), cap.getValue());
+		assertEquals(1, computations.get(), "Derived values are memoized");
+
+		multiplier.setValue(BigDecimal.valueOf(2));
+		assertEquals(BigDecimal.valueOf(20), cap.getValue());
+		assertEquals(1, computations.get(), "Setting an equal value does not invalidate");
+
+		try (ChangeBatch batch = ChangeBatch.begin()) {
+			base.setValue(BigDecimal.valueOf(5));
+			multiplier.setValue(BigDecimal.valueOf(3));
+		}
+
+		base.setValue(BigDecimal.valueOf(6));
+		assertEquals("cap: 18", label.getValue());
+		assertEquals(2, computations.get(), "Several changes cause a single recomputation");
+	}
+
+	@DisplayName("Test inputs that do not track their version")
+	@Test
+	void testUntrackedInput() {
+		ConfigBranch tree = ConfigTree.builder()
+				.withValue("base", ConfigTypes.INTEGER, 10)
+				.withValue("multiplier", ConfigTypes.INTEGER, 2)
+				.build();
+		ConfigLeaf<BigDecimal> base = tree.lookupLeaf("base", ConfigTypes.INTEGER.getSerializedType());
+		ConfigLeaf<BigDecimal> multiplier = tree.lookupLeaf("multiplier", ConfigTypes.INTEGER.getSerializedType());
+		AtomicInteger computations = new AtomicInteger();
+		DerivedValue<BigDecimal> cap = DerivedValue.of(BigDecimal.class, base, foreignLeaf(multiplier), (a, b) -> {
+			computations.incrementAndGet();
+			return a.multiply(b);
+		});
+		DerivedValue<String> label = DerivedValue.of(String.class, cap, c -> "cap: " + c);
+
+		assertEquals(-1, cap.getVersion());
+		assertEquals("cap: 20", label.getValue());
+
+		multiplier.setValue(BigDecimal.valueOf(3));
+		assertEquals("cap: 30", label.getValue(), "Untracked inputs are always considered changed");
+		assertEquals(2, computations.get());
+	}
+
+	@DisplayName("Test invalid inputs")
+	@Test
+	void testInvalidInput() {
+		PropertyMirror<Boolean> mirror = PropertyMirror.create(ConfigTypes.BOOLEAN);
+		assertThrows(IllegalArgumentException.class, () -> DerivedValue.of(Boolean.class, mirror, b -> !b));
+	}
+
+	/**
+	 * Wraps a leaf into a leaf of another implementation, which does not track its version.
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T> ConfigLeaf<T> foreignLeaf(ConfigLeaf<T> delegate) {
+		return (ConfigLeaf<T>) Proxy.newProxyInstance(ConfigLeaf.class.getClassLoader(), new Class<?>[] {ConfigLeaf.class},
+				(proxy, method, args) -> method.getName().equals("getVersion") ? -1L : method.invoke(delegate, args));
+	}
+}
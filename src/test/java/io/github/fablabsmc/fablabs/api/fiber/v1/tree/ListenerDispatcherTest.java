@@ -0,0 +1,72 @@
+package io.github.fablabsmc.fablabs.api.fiber.v1.tree;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.function.BiConsumer;
+
+import io.github.fablabsmc.fablabs.api.fiber.v1.builder.ConfigLeafBuilder;
+import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.derived.ConfigTypes;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ListenerDispatcherTest {
+	@DisplayName("Test serialized dispatch overflow policies")
+	@Test
+	void testSerialized() {
+		assertEquals(Arrays.asList("0->1", "1->2", "2->3", "3->4"), this.runOverflow(Integer.MAX_VALUE, ListenerDispatcher.Overflow.BLOCK));
+		assertEquals(Arrays.asList("0->1", "1->2"), this.runOverflow(2, ListenerDispatcher.Overflow.DROP_NEWEST));
+		assertEquals(Arrays.asList("2->3", "3->4"), this.runOverflow(2, ListenerDispatcher.Overflow.DROP_OLDEST));
+		assertEquals(Collections.singletonList("0->4"), this.runOverflow(2, ListenerDispatcher.Overflow.COALESCE));
+	}
+
+	private List<String> runOverflow(int capacity, ListenerDispatcher.Overflow overflow) {
+		Queue<Runnable> tasks = new ArrayDeque<>();
+		List<String> received = new ArrayList<>();
+		BiConsumer<Integer, Integer> listener = ListenerDispatcher.serialized(tasks::add, capacity, overflow)
+				.dispatch((Integer a, Integer b) -> received.add(a + "->" + b));
+
+		for (int i = 0; i < 4; i++) {
+			listener.accept(i, i + 1);
+		}
+
+		assertEquals(1, tasks.size(), "A single drain task is scheduled");
+		assertTrue(received.isEmpty(), "Listener is not called synchronously");
+		tasks.poll().run();
+		return received;
+	}
+
+	@DisplayName("Test synchronous dispatch")
+	@Test
+	void testSynchronous() {
+		List<Integer> received = new ArrayList<>();
+		ListenerDispatcher.synchronous().dispatch((Integer a, Integer b) -> received.add(b)).accept(0, 1);
+		assertEquals(Collections.singletonList(1), received, "Listener is called synchronously");
+		assertSame(ListenerDispatcher.synchronous(), ListenerDispatcher.synchronous(), "The synchronous policy can be recognized by identity");
+	}
+
+	@DisplayName("Test dispatched leaf listeners")
+	@Test
+	void testLeafListener() {
+		Queue<Runnable> tasks = new ArrayDeque<>();
+		List<Integer> received = new ArrayList<>();
+		ConfigLeaf<BigDecimal> leaf = ConfigLeafBuilder.create(null, "leaf", ConfigTypes.INTEGER, 0)
+				.withListener(ListenerDispatcher.async(tasks::add), (a, b) -> received.add(b))
+				.build();
+		assertEquals(1, tasks.size(), "Initial value is dispatched");
+		tasks.clear();
+
+		leaf.setValue(BigDecimal.TEN);
+		assertTrue(received.isEmpty());
+		tasks.forEach(Runnable::run);
+		assertEquals(Collections.singletonList(10), received);
+	}
+}
@@ -0,0 +1,116 @@
+package io.github.fablabsmc.fablabs.api.fiber.v1.tree;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+
+import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.derived.ConfigTypes;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SubtreeListenerTest {
+	@DisplayName("Test subtree listeners and change batches")
+	@Test
+	void testSubtreeListener() {
+		AtomicReference<ConfigLeaf<BigDecimal>> a = new AtomicReference<>();
+		AtomicReference<ConfigLeaf<BigDecimal>> b = new AtomicReference<>();
+		ConfigBranch root = ConfigTree.builder()
+				.fork("child")
+				.beginValue("a", ConfigTypes.INTEGER, 1).finishValue(a::set)
+				.beginValue("b", ConfigTypes.INTEGER, 2).finishValue(b::set)
+				.finishBranch()
+				.build();
+		ConfigBranch child = root.lookupBranch("child");
+		List<Set<ConfigLeaf<?>>> rootEvents = new ArrayList<>();
+		List<Set<ConfigLeaf<?>>> childEvents = new ArrayList<>();
+		SubtreeListener rootListener = (branch, changed) -> {
+			assertSame(root, branch);
+			rootEvents.add(new HashSet<>(changed));
+		};
+		root.addSubtreeListener(rootListener);
+		child.addSubtreeListener((branch, changed) -> childEvents.add(new HashSet<>(changed)));
+
+		a.get().setValue(BigDecimal.TEN);
+		assertEquals(1, rootEvents.size(), "Unbatched changes are delivered immediately");
+		assertEquals(1, childEvents.size());
+
+		try (ChangeBatch batch = ChangeBatch.begin()) {
+			ChangeBatch nested = ChangeBatch.begin();
+			a.get().setValue(BigDecimal.ONE);
+			b.get().setValue(BigDecimal.ONE);
+			nested.close();
+			nested.close();
+
+			a.get().setValue(BigDecimal.ZERO);
+			assertEquals(1, rootEvents.size(), "Batched changes are delayed, even if a nested batch is closed twice");
+		}
+
+		assertEquals(2, rootEvents.size(), "A batch is delivered as a single event");
+		assertEquals(new HashSet<>(Arrays.asList(a.get(), b.get())), rootEvents.get(1));
+		assertEquals(rootEvents, childEvents);
+
+		assertTrue(root.removeSubtreeListener(rootListener));
+		assertFalse(root.removeSubtreeListener(rootListener));
+		b.get().setValue(BigDecimal.TEN);
+		assertEquals(2, rootEvents.size(), "Removed listeners are not notified");
+		assertEquals(3, childEvents.size());
+	}
+
+	@DisplayName("Test leaf listener removal")
+	@Test
+	void testRemoveChangeListener() {
+		ConfigLeaf<BigDecimal> leaf = ConfigTree.builder()
+				.withValue("a", ConfigTypes.INTEGER, 1)
+				.build()
+				.lookupLeaf("a", ConfigTypes.INTEGER.getSerializedType());
+		AtomicInteger calls = new AtomicInteger();
+		BiConsumer<BigDecimal, BigDecimal> listener = (oldValue, newValue) -> calls.incrementAndGet();
+		leaf.addChangeListener(listener);
+		leaf.setValue(BigDecimal.TEN);
+		assertEquals(1, calls.get());
+		assertTrue(leaf.removeChangeListener(listener));
+		leaf.setValue(BigDecimal.ONE);
+		assertEquals(1, calls.get());
+	}
+
+	@DisplayName("Test versions and equal value suppression")
+	@Test
+	void testVersions() {
+		ConfigBranch root = ConfigTree.builder()
+				.fork("child")
+				.withValue("a", ConfigTypes.INTEGER, 1)
+				.finishBranch()
+				.build();
+		ConfigBranch child = root.lookupBranch("child");
+		ConfigLeaf<BigDecimal> leaf = child.lookupLeaf("a", ConfigTypes.INTEGER.getSerializedType());
+		AtomicInteger calls = new AtomicInteger();
+		leaf.addChangeListener((oldValue, newValue) -> calls.incrementAndGet());
+		long leafVersion = leaf.getVersion();
+		long rootVersion = root.getVersion();
+
+		assertTrue(leaf.setValue(BigDecimal.ONE), "Setting an equal value succeeds");
+		assertEquals(leafVersion, leaf.getVersion(), "Equal values are not a change");
+		assertEquals(rootVersion, root.getVersion());
+		assertEquals(0, calls.get(), "Equal values do not notify listeners");
+
+		leaf.setValue(BigDecimal.TEN);
+		assertTrue(leaf.getVersion() > leafVersion);
+		assertTrue(root.getVersion() > rootVersion, "Ancestors see descendant changes");
+		assertEquals(1, calls.get());
+
+		rootVersion = root.getVersion();
+		child.getItems().remove(leaf);
+		assertTrue(root.getVersion() > rootVersion, "Structural changes bump versions");
+	}
+}
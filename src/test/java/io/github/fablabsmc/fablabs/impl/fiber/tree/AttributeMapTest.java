@@ -0,0 +1,69 @@
+package io.github.fablabsmc.fablabs.impl.fiber.tree;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import io.github.fablabsmc.fablabs.api.fiber.v1.FiberId;
+import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.derived.ConfigTypes;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigAttribute;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class AttributeMapTest {
+	@DisplayName("Test attribute map ordering")
+	@Test
+	void testOrdering() {
+		Map<FiberId, ConfigAttribute<?>> expected = new TreeMap<>(Comparator.comparing(FiberId::toString));
+		Map<FiberId, ConfigAttribute<?>> actual = new AttributeMap();
+		String[][] ids = {{"a", "z"}, {"a0", "b"}, {"ab", "c"}, {"a", "b"}, {"fiber", "x"}, {"a", ""}, {"", "a"}};
+
+		for (String[] id : ids) {
+			FiberId key = new FiberId(id[0], id[1]);
+			ConfigAttribute<String> attribute = ConfigAttribute.create(key, ConfigTypes.STRING, key.toString());
+			assertEquals(expected.put(key, attribute), actual.put(key, attribute));
+			assertEquals(expected, actual);
+			assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(actual.keySet()), "Iteration order matches a sorted map");
+		}
+	}
+
+	@DisplayName("Test attribute map mutation")
+	@Test
+	void testMutation() {
+		AttributeMap map = new AttributeMap();
+		FiberId a = new FiberId("test", "a");
+		FiberId b = new FiberId("test", "b");
+		ConfigAttribute<String> attrA = ConfigAttribute.create(a, ConfigTypes.STRING, "a");
+		ConfigAttribute<String> attrB = ConfigAttribute.create(b, ConfigTypes.STRING, "b");
+
+		assertNull(map.put(a, attrA));
+		assertSame(attrA, map.get(new FiberId("test", "a")), "Lookup by equal identifier");
+		assertSame(attrA, map.put(a, attrB), "Replacing a single attribute");
+		assertSame(attrB, map.put(a, attrA));
+		assertNull(map.put(b, attrB));
+		assertEquals(2, map.size());
+
+		for (Iterator<Map.Entry<FiberId, ConfigAttribute<?>>> it = map.entrySet().iterator(); it.hasNext(); ) {
+			if (it.next().getKey().equals(a)) {
+				it.remove();
+			}
+		}
+
+		assertFalse(map.containsKey(a));
+		assertTrue(map.containsKey(b));
+		List<Map.Entry<FiberId, ConfigAttribute<?>>> entries = new ArrayList<>(map.entrySet());
+		entries.get(0).setValue(attrA);
+		assertSame(attrA, map.get(b), "Entries write through");
+		assertSame(attrA, map.remove(b));
+		assertTrue(map.isEmpty());
+	}
+}
@@ -0,0 +1,87 @@
+package io.github.fablabsmc.fablabs.impl.fiber.tree;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import io.github.fablabsmc.fablabs.api.fiber.v1.exception.DuplicateChildException;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigBranch;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigNode;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.NodeCollection;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class IndexedNodeCollectionTest {
+	@DisplayName("Test small and large node collections")
+	@Test
+	void testGrowAndShrink() {
+		ConfigBranch owner = new ConfigBranchImpl("owner", null);
+		NodeCollection items = owner.getItems();
+		List<ConfigNode> nodes = new ArrayList<>();
+
+		for (int i = 0; i < 20; i++) {
+			ConfigNode node = new ConfigBranchImpl("node" + i, null);
+			nodes.add(node);
+			items.add(node);
+			assertSame(owner, node.getParent());
+		}
+
+		assertEquals(nodes, new ArrayList<>(items), "Insertion order is preserved");
+		assertThrows(DuplicateChildException.class, () -> items.add(new ConfigBranchImpl("node3", null)));
+		assertSame(nodes.get(15), items.getByName("node15"));
+		assertNull(items.getByName("node20"));
+
+		for (Iterator<ConfigNode> it = items.iterator(); it.hasNext(); ) {
+			ConfigNode node = it.next();
+
+			if (!node.getName().endsWith("7")) {
+				it.remove();
+				assertNull(node.getParent(), "Removed nodes are detached");
+			}
+		}
+
+		assertEquals(2, items.size());
+		assertEquals(nodes.get(7), items.getByName("node7"));
+		assertSame(nodes.get(17), items.removeByName("node17"));
+		assertFalse(items.contains(nodes.get(17)));
+
+		ConfigNode replacement = new ConfigBranchImpl("node7", null);
+		items.add(replacement, true);
+		assertNull(nodes.get(7).getParent());
+		assertTrue(items.contains(replacement));
+		assertEquals(1, items.stream().collect(Collectors.toList()).size());
+	}
+
+	@DisplayName("Test indexed removals")
+	@Test
+	void testIndexedRemovals() {
+		ConfigBranch owner = new ConfigBranchImpl("owner", null);
+		NodeCollection items = owner.getItems();
+		List<ConfigNode> nodes = new ArrayList<>();
+
+		for (int i = 0; i < 20; i++) {
+			ConfigNode node = new ConfigBranchImpl("node" + i, null);
+			nodes.add(node);
+			items.add(node);
+		}
+
+		assertTrue(items.remove(nodes.get(5)));
+		assertSame(nodes.get(10), items.getByName("node10"), "Positions after a removal are updated");
+		assertSame(nodes.get(19), items.removeByName("node19"));
+		assertFalse(items.remove(nodes.get(5)));
+
+		ConfigNode replacement = new ConfigBranchImpl("node12", null);
+		items.add(replacement, true);
+		assertSame(replacement, items.getByName("node12"));
+		assertSame(nodes.get(13), items.getByName("node13"));
+		assertEquals(18, items.size());
+	}
+}
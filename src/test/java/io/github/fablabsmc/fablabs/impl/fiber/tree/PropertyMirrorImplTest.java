@@ -1,10 +1,20 @@
 package io.github.fablabsmc.fablabs.impl.fiber.tree;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.lang.invoke.MethodHandle;
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
 import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.derived.ConfigTypes;
+import io.github.fablabsmc.fablabs.api.fiber.v1.schema.type.derived.NumberConfigType;
 import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigAttribute;
+import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigLeaf;
 import io.github.fablabsmc.fablabs.api.fiber.v1.tree.ConfigTree;
 import io.github.fablabsmc.fablabs.api.fiber.v1.tree.PropertyMirror;
 import org.junit.jupiter.api.DisplayName;
@@ -34,12 +44,13 @@ class PropertyMirrorImplTest {
 	}
 
 	@Test
-	@DisplayName("Actively invalidated values are correct")
-	public void testActiveInvalidation() {
-		// Attributes aren't ConfigLeafs, so they will use active invalidation.
+	@DisplayName("Attribute mirror values are correct")
+	public void testAttributeInvalidation() {
 		ConfigAttribute<Boolean> attribute = ConfigAttribute.create(null, ConfigTypes.BOOLEAN, false);
 		PropertyMirror<Boolean> mirror = PropertyMirror.create(ConfigTypes.BOOLEAN);
 		mirror.mirror(attribute);
+		AtomicInteger calls = new AtomicInteger();
+		attribute.addChangeListener((oldValue, newValue) -> calls.incrementAndGet());
 
 		assertFalse(mirror.getValue());
 
@@ -48,8 +59,94 @@ class PropertyMirrorImplTest {
 
 		assertTrue(mirror.setValue(true));
 		assertTrue(mirror.getValue());
+		assertEquals(1, calls.get(), "Equal values do not notify listeners");
 
-		assertTrue(mirror.setValue(false));
+		attribute.setValue(false);
+		assertFalse(mirror.getValue(), "Attribute changes invalidate mirrors");
+		assertEquals(2, calls.get());
+	}
+
+	@Test
+	@DisplayName("Mirroring another property unregisters listeners")
+	public void testRemirror() {
+		CountingAttribute first = new CountingAttribute(false);
+		CountingAttribute second = new CountingAttribute(true);
+		PropertyMirror<Boolean> mirror = PropertyMirror.create(ConfigTypes.BOOLEAN);
+		mirror.mirror(first);
+		assertEquals(1, first.listenerCount);
+		assertFalse(mirror.getValue());
+
+		mirror.mirror(second);
+		assertEquals(0, first.listenerCount, "The previous delegate no longer invalidates the mirror");
+		assertEquals(1, second.listenerCount);
+		assertTrue(mirror.getValue());
+
+		first.setValue(true);
+		second.setValue(false);
+		assertFalse(mirror.getValue());
+	}
+
+	@Test
+	@DisplayName("Actively invalidated values are correct")
+	public void testActiveInvalidation() {
+		// mirrors do not notify changes, so a mirror of a mirror uses active invalidation
+		PropertyMirror<Boolean> inner = PropertyMirror.create(ConfigTypes.BOOLEAN);
+		inner.mirror(ConfigAttribute.create(null, ConfigTypes.BOOLEAN, false));
+		PropertyMirror<Boolean> mirror = PropertyMirror.create(ConfigTypes.BOOLEAN);
+		mirror.mirror(inner);
+
+		assertFalse(mirror.getValue());
+
+		assertTrue(mirror.setValue(true));
+		assertTrue(mirror.getValue());
+
+		assertTrue(inner.setValue(false));
 		assertFalse(mirror.getValue());
 	}
+
+	@Test
+	@DisplayName("Value handles follow changes")
+	public void testValueHandles() throws Throwable {
+		NumberConfigType<Integer> intType = ConfigTypes.INTEGER.derive(int.class, Function.identity(), Function.identity());
+		PropertyMirror<Integer> mirror = PropertyMirror.create(intType);
+		ConfigLeaf<BigDecimal> leaf = ConfigTree.builder()
+				.beginValue("mirrored", intType, 1)
+				.finishValue(mirror::mirror)
+				.lookupLeaf("mirrored", intType.getSerializedType());
+		MethodHandle leafHandle = leaf.getValueHandle();
+		MethodHandle mirrorHandle = mirror.getValueHandle();
+
+		assertEquals(BigDecimal.ONE, (BigDecimal) leafHandle.invokeExact());
+		assertEquals(1, (int) mirrorHandle.invokeExact());
+
+		mirror.setValue(10);
+		assertEquals(BigDecimal.TEN, (BigDecimal) leafHandle.invokeExact());
+		assertEquals(10, (int) mirrorHandle.invokeExact());
+
+		PropertyMirror<Boolean> attributeMirror = PropertyMirror.create(ConfigTypes.BOOLEAN);
+		attributeMirror.mirror(ConfigAttribute.create(null, ConfigTypes.BOOLEAN, false));
+		assertThrows(IllegalStateException.class, attributeMirror::getValueHandle);
+	}
+
+	private static final class CountingAttribute extends ConfigAttributeImpl<Boolean> {
+		int listenerCount;
+
+		CountingAttribute(boolean value) {
+			super(null, ConfigTypes.BOOLEAN.getSerializedType(), value);
+		}
+
+		@Override
+		public synchronized boolean addChangeListener(BiConsumer<Boolean, Boolean> listener) {
+			this.listenerCount++;
+			return super.addChangeListener(listener);
+		}
+
+		@Override
+		public synchronized boolean removeChangeListener(BiConsumer<Boolean, Boolean> listener) {
+			if (!super.removeChangeListener(listener)) return false;
+
+			this.listenerCount--;
+			return true;
+		}
+	}
 }